@@ -0,0 +1,179 @@
+package org.neo4j.tutorial;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.cypher.ExecutionEngine;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.impl.util.StringLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The Cypher queries of Koans 08a to 08g, run through one engine so that each is planned once and only its
+ * execution is measured. The writes of 08a and 08d are rolled back, so every run sees the same universe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CypherBenchmark
+{
+    static final String CREATE_NODE = "create n return n";
+
+    static final String THE_DOCTOR = "start doctor=node:characters(character='Doctor') return doctor";
+
+    static final String CYBERMEN_EPISODES = "start c=node:species(species='Cyberman') "
+            + "match (c)-[:APPEARED_IN]->episode return episode";
+
+    static final String COMPANIONS_AND_ENEMIES = "start doctor=node:characters(character='Doctor') "
+            + "match (eoc)-[:ENEMY_OF|COMPANION_OF]->(doctor) where has(eoc.character) return distinct eoc";
+
+    static final String REGENERATION_YEARS = "start doc=node:characters(character='Doctor') "
+            + "match ()-[regen:REGENERATED_TO]->()-[:PLAYED]->(doc) "
+            + "return min(regen.year) as earliest, max(regen.year) as latest";
+
+    static final String ENEMY_SPECIES_ROSE_FOUGHT = "start rose=node:characters(character='Rose Tyler'), "
+            + "doc=node:characters(character='Doctor') "
+            + "match (rose)-[:APPEARED_IN]->(episode)<-[:APPEARED_IN]-(enemy)-[:ENEMY_OF]->(doc) "
+            + "return distinct(enemy.species?) as enemySpecies";
+
+    static final String REMOVE_SALARIES = "start doctor=node:characters(character='Doctor') "
+            + "match doctor<-[:PLAYED]-actor where has(actor.salary) delete actor.salary "
+            + "return count(actor)";
+
+    static final String HARDEST_WORKING_PROP_PART = "start daleks=node:species(species='Dalek') "
+            + "match daleks-[:APPEARED_IN]->episode<-[:USED_IN]-()<-[:MEMBER_OF]-()-[:COMPOSED_OF]->part"
+            + "-[:ORIGINAL_PROP]->originalprop "
+            + "return originalprop.prop, part.part, count(episode.title) "
+            + "order by count(episode.title) desc limit 1";
+
+    static final String REGENERATIONS_FROM_BAKER_TO_ECCLESTON = "start tom=node:actors(actor='Tom Baker'), "
+            + "chris=node:actors(actor='Christopher Eccleston') "
+            + "match p=tom-[:REGENERATED_TO*]->chris return length(p) as regenerations";
+
+    static final String LONGEST_STORY_ARC_WITH_THE_MASTER = "start master=node:characters(character='Master') "
+            + "match p=master-[:APPEARED_IN]->first-[:NEXT*..10]->last "
+            + "where all(e in tail(nodes(p)) where e<-[:APPEARED_IN]-master) "
+            + "return length(p) - 1 as noOfPathHops order by noOfPathHops desc limit 1";
+
+    static final String EPISODES_BY_SHORTEST_PATH = "start first=node:episodes(episode='1'), "
+            + "last=node:episodes(episode='231') "
+            + "match p=shortestPath(first-[:NEXT*..300]->last) return length(p) as episodes";
+
+    private UniverseState universe;
+    private ExecutionEngine engine;
+
+    @Setup
+    public void createTheEngine( UniverseState universe )
+    {
+        this.universe = universe;
+        engine = new ExecutionEngine( universe.getDatabase(), StringLogger.DEV_NULL );
+    }
+
+    @Benchmark
+    public int createANode()
+    {
+        return rolledBack( CREATE_NODE );
+    }
+
+    @Benchmark
+    public int theDoctor()
+    {
+        return rows( THE_DOCTOR );
+    }
+
+    @Benchmark
+    public int cybermenEpisodes()
+    {
+        return rows( CYBERMEN_EPISODES );
+    }
+
+    @Benchmark
+    public int companionsAndEnemies()
+    {
+        return rows( COMPANIONS_AND_ENEMIES );
+    }
+
+    @Benchmark
+    public int regenerationYears()
+    {
+        return rows( REGENERATION_YEARS );
+    }
+
+    @Benchmark
+    public int enemySpeciesRoseFought()
+    {
+        return rows( ENEMY_SPECIES_ROSE_FOUGHT );
+    }
+
+    @Benchmark
+    public int removeSalaries()
+    {
+        return rolledBack( REMOVE_SALARIES );
+    }
+
+    @Benchmark
+    public int hardestWorkingPropPart()
+    {
+        return rows( HARDEST_WORKING_PROP_PART );
+    }
+
+    @Benchmark
+    public int regenerationsFromBakerToEccleston()
+    {
+        return rows( REGENERATIONS_FROM_BAKER_TO_ECCLESTON );
+    }
+
+    @Benchmark
+    public int longestStoryArcWithTheMaster()
+    {
+        return rows( LONGEST_STORY_ARC_WITH_THE_MASTER );
+    }
+
+    @Benchmark
+    public int episodesByShortestPath()
+    {
+        return rows( EPISODES_BY_SHORTEST_PATH );
+    }
+
+    int rows( String query )
+    {
+        int rows = 0;
+        for ( Iterator<Map<String, Object>> result = engine.execute( query ).javaIterator(); result.hasNext(); )
+        {
+            result.next();
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Runs the query in a transaction which is then rolled back.
+     */
+    private int rolledBack( String query )
+    {
+        Transaction tx = universe.getDatabase().beginTx();
+        try
+        {
+            int rows = rows( query );
+            tx.failure();
+            return rows;
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+}
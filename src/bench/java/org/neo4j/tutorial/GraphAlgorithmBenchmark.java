@@ -0,0 +1,80 @@
+package org.neo4j.tutorial;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphalgo.GraphAlgoFactory;
+import org.neo4j.graphalgo.PathFinder;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Path;
+import org.neo4j.kernel.Traversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The path finding of Koan09, with the finders built once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphAlgorithmBenchmark
+{
+    private final PathFinder<Path> sharedEpisodes = GraphAlgoFactory.allSimplePaths(
+            Traversal.expanderForTypes( DoctorWhoRelationships.APPEARED_IN, Direction.BOTH ), 2 );
+    private final PathFinder<Path> regenerations = GraphAlgoFactory.shortestPath(
+            Traversal.expanderForTypes( DoctorWhoRelationships.REGENERATED_TO, Direction.OUTGOING ), 10 );
+    private final PathFinder<Path> sharedEpisode = GraphAlgoFactory.shortestPath(
+            Traversal.expanderForTypes( DoctorWhoRelationships.APPEARED_IN, Direction.BOTH ), 2 );
+
+    private Node rose;
+    private Node daleks;
+    private Node delgado;
+    private Node simm;
+    private Node tennant;
+    private Node smith;
+
+    @Setup
+    public void findTheEnds( UniverseState universe )
+    {
+        rose = universe.indexed( "characters", "character", "Rose Tyler" );
+        daleks = universe.indexed( "species", "species", "Dalek" );
+        delgado = universe.indexed( "actors", "actor", "Roger Delgado" );
+        simm = universe.indexed( "actors", "actor", "John Simm" );
+        tennant = universe.indexed( "actors", "actor", "David Tennant" );
+        smith = universe.indexed( "actors", "actor", "Matt Smith" );
+    }
+
+    @Benchmark
+    public int allSimplePathsFromRoseToTheDaleks()
+    {
+        int paths = 0;
+        for ( Path ignored : sharedEpisodes.findAllPaths( rose, daleks ) )
+        {
+            paths++;
+        }
+        return paths;
+    }
+
+    @Benchmark
+    public Path shortestPathThroughTheMasterRegenerations()
+    {
+        return regenerations.findSinglePath( delgado, simm );
+    }
+
+    @Benchmark
+    public Path shortestPathFromTennantToSmith()
+    {
+        return sharedEpisode.findSinglePath( tennant, smith );
+    }
+}
@@ -0,0 +1,95 @@
+package org.neo4j.tutorial;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.cypher.ExecutionEngine;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.kernel.impl.util.StringLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares rating a character of the universe by a Cypher shortest path query with rating it by a bidirectional
+ * search through the core API, with reading the distances kept for the database, and with answering from a
+ * cache of ratings. The query is also run the way the original engine ran it, with an engine built for every
+ * call and the node id written into the query, so that every call is parsed and planned afresh. Rating every
+ * node at once from the kept distances does not depend on the character, but is measured alongside them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HopsToTheDoctorBenchmark
+{
+    @Param({ "Doctor", "Rose Tyler", "Master", "Davros", "Amy Pond", "Sarah Jane Smith" })
+    public String character;
+
+    private GraphDatabaseService db;
+    private long node;
+
+    private final AwesomenessRatingEngine cypher = new AwesomenessRatingEngine( AwesomenessRatingEngine.Search.CYPHER );
+    private final AwesomenessRatingEngine bidirectional = new AwesomenessRatingEngine(
+            AwesomenessRatingEngine.Search.BIDIRECTIONAL );
+    private final AwesomenessRatingEngine keptDistances = new AwesomenessRatingEngine(
+            AwesomenessRatingEngine.Search.KEPT_DISTANCES );
+    private final AwesomenessRatingEngine cached = new CachingAwesomenessRatingEngine();
+
+    @Setup
+    public void findTheCharacter( UniverseState universe )
+    {
+        db = universe.getDatabase();
+        node = universe.indexed( "characters", "character", character ).getId();
+    }
+
+    @Benchmark
+    public double cypherShortestPath()
+    {
+        return cypher.rateAwesomeness( db, node );
+    }
+
+    @Benchmark
+    public double cypherPlannedEveryCall()
+    {
+        ExecutionEngine engine = new ExecutionEngine( db, StringLogger.DEV_NULL );
+        String cql = "start n=node(" + node + "), doctor=node:characters(character='Doctor') "
+                + "match p=shortestPath(n-[*..15]-doctor) "
+                + "return length(p) as hops";
+        int hops = Integer.valueOf( String.valueOf( engine.execute( cql ).javaColumnAs( "hops" ).next() ) );
+        return 100 / ((hops + 1) * 1.0);
+    }
+
+    @Benchmark
+    public double bidirectionalSearch()
+    {
+        return bidirectional.rateAwesomeness( db, node );
+    }
+
+    @Benchmark
+    public double keptDistances()
+    {
+        return keptDistances.rateAwesomeness( db, node );
+    }
+
+    @Benchmark
+    public double cachedRating()
+    {
+        return cached.rateAwesomeness( db, node );
+    }
+
+    @Benchmark
+    public double[] everyNodeFromKeptDistances()
+    {
+        return keptDistances.rateEveryNode( db );
+    }
+}
@@ -0,0 +1,61 @@
+package org.neo4j.tutorial;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.IndexHits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The index lookups of Koans 03 and 04: an exact lookup, a Lucene query and a wildcard query over every
+ * character.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexLookupBenchmark
+{
+    @Benchmark
+    public Node exactLookupOfTheDoctor( UniverseState universe )
+    {
+        return universe.getDatabase().index().forNodes( "characters" ).get( "character", "Doctor" ).getSingle();
+    }
+
+    @Benchmark
+    public int luceneQueryForSpecies( UniverseState universe )
+    {
+        return count( universe.getDatabase().index().forNodes( "species" ).query( "species", "S*n" ) );
+    }
+
+    @Benchmark
+    public int wildcardQueryForEveryCharacter( UniverseState universe )
+    {
+        return count( universe.getDatabase().index().forNodes( "characters" ).query( "character", "*" ) );
+    }
+
+    private static int count( IndexHits<Node> hits )
+    {
+        try
+        {
+            int count = 0;
+            while ( hits.hasNext() )
+            {
+                hits.next();
+                count++;
+            }
+            return count;
+        }
+        finally
+        {
+            hits.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.neo4j.tutorial;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphmatching.CommonValueMatchers;
+import org.neo4j.graphmatching.PatternMatch;
+import org.neo4j.graphmatching.PatternMatcher;
+import org.neo4j.graphmatching.PatternNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The graph-matching patterns of Koan10. The patterns are bound to their nodes once and matched afresh on every
+ * invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternMatchingBenchmark
+{
+    private UniverseState universe;
+
+    private PatternNode cybermenEpisode;
+    private PatternNode cybermen;
+    private PatternNode doctorActor;
+    private PatternNode rose;
+    private PatternNode enemySpecies;
+
+    @Setup
+    public void bindThePatterns( UniverseState universe )
+    {
+        this.universe = universe;
+
+        // The Doctor appears in episodes through the actors who played him
+        cybermen = new PatternNode();
+        cybermen.setAssociation( universe.indexed( "species", "species", "Cyberman" ) );
+        cybermenEpisode = new PatternNode();
+        doctorActor = new PatternNode();
+        PatternNode doctor = new PatternNode();
+        doctor.setAssociation( universe.theDoctor() );
+        cybermen.createRelationshipTo( cybermenEpisode, DoctorWhoRelationships.APPEARED_IN, Direction.OUTGOING );
+        doctorActor.createRelationshipTo( cybermenEpisode, DoctorWhoRelationships.APPEARED_IN, Direction.OUTGOING );
+        doctorActor.createRelationshipTo( doctor, DoctorWhoRelationships.PLAYED, Direction.OUTGOING );
+
+        rose = new PatternNode();
+        rose.setAssociation( universe.indexed( "characters", "character", "Rose Tyler" ) );
+        PatternNode ninthDoctor = new PatternNode();
+        ninthDoctor.setAssociation( universe.indexed( "actors", "actor", "Christopher Eccleston" ) );
+        PatternNode sharedEpisode = new PatternNode();
+        enemySpecies = new PatternNode();
+        PatternNode doctorTheyFought = new PatternNode();
+        doctorTheyFought.setAssociation( universe.theDoctor() );
+        rose.createRelationshipTo( sharedEpisode, DoctorWhoRelationships.APPEARED_IN, Direction.OUTGOING );
+        ninthDoctor.createRelationshipTo( sharedEpisode, DoctorWhoRelationships.APPEARED_IN, Direction.OUTGOING );
+        enemySpecies.createRelationshipTo( sharedEpisode, DoctorWhoRelationships.APPEARED_IN, Direction.OUTGOING );
+        enemySpecies.createRelationshipTo( doctorTheyFought, DoctorWhoRelationships.ENEMY_OF, Direction.OUTGOING );
+        enemySpecies.addPropertyConstraint( "species", CommonValueMatchers.has() );
+    }
+
+    @Benchmark
+    public Set<Node> episodesWhereTheDoctorFoughtTheCybermen()
+    {
+        return matches( cybermen, cybermenEpisode );
+    }
+
+    @Benchmark
+    public Set<Node> doctorsThatBattledTheCybermen()
+    {
+        return matches( cybermen, doctorActor );
+    }
+
+    @Benchmark
+    public Set<Node> enemySpeciesRoseAndTheNinthDoctorEncountered()
+    {
+        return matches( rose, enemySpecies );
+    }
+
+    private Set<Node> matches( PatternNode start, PatternNode wanted )
+    {
+        Set<Node> found = IdSet.ofNodes( universe.getDatabase() );
+        for ( PatternMatch match : PatternMatcher.getMatcher().match( start, start.getAssociation() ) )
+        {
+            found.add( match.getNodeFor( wanted ) );
+        }
+        return found;
+    }
+}
@@ -0,0 +1,172 @@
+package org.neo4j.tutorial;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Path;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.traversal.Evaluation;
+import org.neo4j.graphdb.traversal.Evaluator;
+import org.neo4j.graphdb.traversal.Evaluators;
+import org.neo4j.graphdb.traversal.TraversalDescription;
+import org.neo4j.kernel.Traversal;
+import org.neo4j.kernel.Uniqueness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The core API walks of Koan05 and the traversals of Koans 06 and 07. The nodes they start from are looked up
+ * once, so only the walking is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark
+{
+    private static final TraversalDescription COMPANIONS = Traversal.description()
+            .depthFirst()
+            .relationships( DoctorWhoRelationships.COMPANION_OF, Direction.INCOMING )
+            .evaluator( Evaluators.toDepth( 1 ) )
+            .evaluator( Evaluators.excludeStartPosition() );
+
+    private static final TraversalDescription DALEK_PROPS = Traversal.description()
+            .depthFirst()
+            .relationships( DoctorWhoRelationships.APPEARED_IN )
+            .relationships( DoctorWhoRelationships.USED_IN )
+            .relationships( DoctorWhoRelationships.MEMBER_OF )
+            .evaluator( new Evaluator()
+            {
+                public Evaluation evaluate( Path path )
+                {
+                    return path.endNode().hasProperty( "prop" ) ? Evaluation.INCLUDE_AND_PRUNE
+                            : Evaluation.EXCLUDE_AND_CONTINUE;
+                }
+            } );
+
+    private static final TraversalDescription FIRST_DOCTOR = Traversal.description()
+            .relationships( DoctorWhoRelationships.PLAYED, Direction.INCOMING )
+            .depthFirst()
+            .uniqueness( Uniqueness.NODE_GLOBAL )
+            .evaluator( new Evaluator()
+            {
+                public Evaluation evaluate( Path path )
+                {
+                    Node node = path.endNode();
+                    return Evaluation.ofIncludes( node.hasProperty( "actor" )
+                            && !node.hasRelationship( DoctorWhoRelationships.REGENERATED_TO, Direction.INCOMING )
+                            && node.hasRelationship( DoctorWhoRelationships.REGENERATED_TO, Direction.OUTGOING ) );
+                }
+            } );
+
+    private Node theDoctor;
+    private Node firstDoctorActor;
+    private Node human;
+    private Node rose;
+    private Node daleks;
+
+    @Setup
+    public void findTheStartingNodes( UniverseState universe )
+    {
+        theDoctor = universe.theDoctor();
+        firstDoctorActor = universe.indexed( "actors", "actor", "William Hartnell" );
+        human = universe.indexed( "species", "species", "Human" );
+        rose = universe.indexed( "characters", "character", "Rose Tyler" );
+        daleks = universe.indexed( "species", "species", "Dalek" );
+    }
+
+    @Benchmark
+    public int regenerationsOfTheDoctor()
+    {
+        int regenerations = 1;
+        Relationship regeneration = firstDoctorActor.getSingleRelationship( DoctorWhoRelationships.REGENERATED_TO,
+                Direction.OUTGOING );
+        while ( regeneration != null )
+        {
+            regenerations++;
+            regeneration = regeneration.getEndNode().getSingleRelationship( DoctorWhoRelationships.REGENERATED_TO,
+                    Direction.OUTGOING );
+        }
+        return regenerations;
+    }
+
+    @Benchmark
+    public Set<Node> humanCompanions()
+    {
+        Set<Node> companions = new HashSet<Node>();
+        for ( Relationship companionOf : theDoctor.getRelationships( Direction.INCOMING,
+                DoctorWhoRelationships.COMPANION_OF ) )
+        {
+            Node companion = companionOf.getStartNode();
+            for ( Relationship isA : companion.getRelationships( Direction.OUTGOING, DoctorWhoRelationships.IS_A ) )
+            {
+                if ( isA.getEndNode().equals( human ) )
+                {
+                    companions.add( companion );
+                    break;
+                }
+            }
+        }
+        return companions;
+    }
+
+    @Benchmark
+    public Set<Node> episodesWhereRoseFoughtTheDaleks()
+    {
+        Set<Node> episodes = new HashSet<Node>();
+        for ( Relationship appearedIn : rose.getRelationships( Direction.OUTGOING,
+                DoctorWhoRelationships.APPEARED_IN ) )
+        {
+            episodes.add( appearedIn.getEndNode() );
+        }
+        Set<Node> dalekEpisodes = new HashSet<Node>();
+        for ( Relationship appearedIn : daleks.getRelationships( Direction.OUTGOING,
+                DoctorWhoRelationships.APPEARED_IN ) )
+        {
+            dalekEpisodes.add( appearedIn.getEndNode() );
+        }
+        episodes.retainAll( dalekEpisodes );
+        return episodes;
+    }
+
+    @Benchmark
+    public int companionsByTraversal()
+    {
+        return count( COMPANIONS.traverse( theDoctor ).nodes() );
+    }
+
+    @Benchmark
+    public int dalekPropsByTraversal()
+    {
+        return count( DALEK_PROPS.traverse( daleks ).nodes() );
+    }
+
+    @Benchmark
+    public int firstDoctorByTraversal()
+    {
+        return count( FIRST_DOCTOR.traverse( theDoctor ).nodes() );
+    }
+
+    private static int count( Iterable<Node> nodes )
+    {
+        int count = 0;
+        for ( Node ignored : nodes )
+        {
+            count++;
+        }
+        return count;
+    }
+}
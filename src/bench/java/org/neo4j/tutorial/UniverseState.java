@@ -0,0 +1,54 @@
+package org.neo4j.tutorial;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The generated universe the benchmarks run against, started once for each trial from a copy of the golden
+ * store and shared by every benchmark thread.
+ */
+@State(Scope.Benchmark)
+public class UniverseState
+{
+    private EmbeddedDoctorWhoUniverse universe;
+
+    @Setup(Level.Trial)
+    public void startTheUniverse()
+    {
+        universe = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+    }
+
+    @TearDown(Level.Trial)
+    public void stopTheUniverse()
+    {
+        universe.stop();
+    }
+
+    public GraphDatabaseService getDatabase()
+    {
+        return universe.getDatabase();
+    }
+
+    public Node theDoctor()
+    {
+        return universe.theDoctor();
+    }
+
+    /**
+     * @return the node indexed under the key and value, which the benchmark can't do without
+     */
+    public Node indexed( String indexName, String key, String value )
+    {
+        Node node = getDatabase().index().forNodes( indexName ).get( key, value ).getSingle();
+        if ( node == null )
+        {
+            throw new IllegalStateException( String.format( "There is no %s %s in the universe", key, value ) );
+        }
+        return node;
+    }
+}
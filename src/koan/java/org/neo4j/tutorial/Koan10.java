@@ -5,7 +5,7 @@ import static org.neo4j.tutorial.matchers.ContainsOnlySpecificActors.containsOnl
 import static org.neo4j.tutorial.matchers.ContainsOnlySpecificSpecies.containsOnlySpecies;
 import static org.neo4j.tutorial.matchers.ContainsOnlySpecificTitles.containsOnlyTitles;
 
-import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -40,7 +40,7 @@ public class Koan10
     @Test
     public void shouldFindEpisodesWhereTheDoctorFoughtTheCybermen()
     {
-        HashSet<Node> cybermenEpisodes = new HashSet<Node>();
+        Set<Node> cybermenEpisodes = IdSet.ofNodes( universe.getDatabase() );
 
         // YOUR CODE GOES HERE
 
@@ -57,7 +57,7 @@ public class Koan10
     @Test
     public void shouldFindDoctorsThatBattledTheCybermen()
     {
-        HashSet<Node> doctorActors = new HashSet<Node>();
+        Set<Node> doctorActors = IdSet.ofNodes( universe.getDatabase() );
         Node cybermenNode = universe.getDatabase()
                 .index()
                 .forNodes( "species" )
@@ -75,7 +75,7 @@ public class Koan10
     @Test
     public void shouldFindEnemySpeciesThatRoseTylerAndTheNinthDoctorEncountered()
     {
-        HashSet<Node> enemySpeciesRoseAndTheNinthDoctorEncountered = new HashSet<Node>();
+        Set<Node> enemySpeciesRoseAndTheNinthDoctorEncountered = IdSet.ofNodes( universe.getDatabase() );
         Node ninthDoctorNode = universe.getDatabase()
                 .index()
                 .forNodes( "actors" )
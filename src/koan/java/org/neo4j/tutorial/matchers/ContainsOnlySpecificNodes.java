@@ -1,24 +1,23 @@
 package org.neo4j.tutorial.matchers;
 
-import java.util.HashSet;
-
 import org.hamcrest.Description;
 import org.hamcrest.Factory;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Path;
+import org.neo4j.tutorial.LongSet;
 
 public class ContainsOnlySpecificNodes extends TypeSafeMatcher<Path>
 {
 
-    private final HashSet<Node> nodes = new HashSet<Node>();
+    private final LongSet nodes = new LongSet();
 
     public ContainsOnlySpecificNodes( Node... nodes )
     {
         for ( Node n : nodes )
         {
-            this.nodes.add( n );
+            this.nodes.add( n.getId() );
         }
     }
 
@@ -33,17 +32,13 @@ public class ContainsOnlySpecificNodes extends TypeSafeMatcher<Path>
     {
         for ( Node n : path.nodes() )
         {
-            if ( nodes.contains( n ) )
-            {
-                nodes.remove( n );
-            }
-            else
+            if ( !nodes.remove( n.getId() ) )
             {
                 return false;
             }
         }
 
-        return nodes.size() == 0;
+        return nodes.isEmpty();
     }
 
     @Factory
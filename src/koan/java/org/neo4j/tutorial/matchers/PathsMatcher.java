@@ -8,10 +8,12 @@ import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Path;
+import org.neo4j.tutorial.LongSet;
 
 public class PathsMatcher extends TypeSafeMatcher<Iterable<Path>>
 {
     private final Set<Node> nodes;
+    private final LongSet middleNodes = new LongSet();
     private final Node start;
     private final Node end;
 
@@ -20,7 +22,10 @@ public class PathsMatcher extends TypeSafeMatcher<Iterable<Path>>
         this.start = start;
         this.nodes = nodes;
         this.end = end;
-
+        for ( Node middle : nodes )
+        {
+            middleNodes.add( middle.getId() );
+        }
     }
 
     public void describeTo( Description description )
@@ -41,17 +46,7 @@ public class PathsMatcher extends TypeSafeMatcher<Iterable<Path>>
         for ( Path p : paths )
         {
             numberOfPaths++;
-            boolean middleNodeFound = false;
-            for ( Node middle : nodes )
-            {
-                if ( nodesAreInPath( p, start, middle, end ) )
-                {
-                    middleNodeFound = true;
-                    break;
-                }
-            }
-
-            if ( !middleNodeFound )
+            if ( !consistsOfStartEndAndOneMiddleNode( p ) )
             {
                 return false;
             }
@@ -60,16 +55,23 @@ public class PathsMatcher extends TypeSafeMatcher<Iterable<Path>>
         return numberOfPaths == nodes.size();
     }
 
-    private boolean nodesAreInPath( Path p, Node start, Node middle, Node end )
+    private boolean consistsOfStartEndAndOneMiddleNode( Path p )
     {
+        long middle = -1;
         for ( Node n : p.nodes() )
         {
-            if ( !(n.equals( start ) || n.equals( end ) || n.equals( middle )) )
+            long id = n.getId();
+            if ( id == start.getId() || id == end.getId() || id == middle )
+            {
+                continue;
+            }
+            if ( middle != -1 || !middleNodes.contains( id ) )
             {
                 return false;
             }
+            middle = id;
         }
-        return true;
+        return middle != -1 || !middleNodes.isEmpty();
     }
 
     @Factory
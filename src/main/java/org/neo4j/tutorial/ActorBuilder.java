@@ -6,9 +6,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
-import org.neo4j.graphdb.index.Index;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class ActorBuilder
 {
@@ -39,48 +37,46 @@ public class ActorBuilder
         return this;
     }
 
-    public void fact( GraphDatabaseService db )
+    public void fact( UniverseContext universe )
     {
-        Node actor = ensureActorIsInDb( db );
-        ensureCharacterIsInDb( actor, db );
+        long actor = ensureActorIsInDb( universe );
+        ensureCharacterIsInDb( actor, universe );
     }
 
-    private Node ensureActorIsInDb( GraphDatabaseService db )
+    private long ensureActorIsInDb( UniverseContext universe )
     {
-        Index<Node> index = db.index().forNodes( "actors" );
-        Node actor = index.get( "actor", actorName ).getSingle();
+        long actor = universe.findNode( "actors", "actor", actorName );
 
-        if ( actor == null )
+        if ( actor == UniverseWriter.NO_NODE )
         {
-            actor = db.createNode();
-            actor.setProperty( "actor", actorName );
-            index.add( actor, "actor", actorName );
+            actor = universe.createNode( MapUtil.map( "actor", actorName ) );
+            universe.index( "actors", actor, "actor", actorName );
         }
 
         if ( wikipediaUri != null )
         {
-            actor.setProperty( "wikipedia", wikipediaUri );
+            universe.setNodeProperty( actor, "wikipedia", wikipediaUri );
         }
 
         if ( cash > 0 )
         {
-            actor.setProperty( "salary", cash );
+            universe.setNodeProperty( actor, "salary", cash );
         }
 
         return actor;
     }
 
-    private void ensureCharacterIsInDb( Node actor, GraphDatabaseService db )
+    private void ensureCharacterIsInDb( long actor, UniverseContext universe )
     {
         for ( String characterName : characterNames )
         {
-            new CharacterBuilder( characterName ).fact( db );
+            new CharacterBuilder( characterName ).fact( universe );
 
-            Node character = db.index().forNodes( "characters" ).get( "character", characterName ).getSingle();
+            long character = universe.findNode( "characters", "character", characterName );
 
-            if ( actor != null && character != null )
+            if ( actor != UniverseWriter.NO_NODE && character != UniverseWriter.NO_NODE )
             {
-                ensureRelationshipInDb( actor, DoctorWhoRelationships.PLAYED, character );
+                ensureRelationshipInDb( universe, actor, DoctorWhoRelationships.PLAYED, character );
             }
         }
     }
@@ -0,0 +1,197 @@
+package org.neo4j.tutorial;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Betweenness centrality ignoring the direction of relationships, estimated by Brandes' algorithm from a
+ * seeded sample of source nodes rather than from every node. Each sampled source contributes its
+ * dependencies, and the sum is scaled up by how many nodes there are per source. With at least as many
+ * samples as nodes every node is a source, and the scores are exact.
+ * <p>
+ * Each slice of the sources searches with its own arrays and sums into its own scores, which are added
+ * together at the end.
+ */
+public class ApproximateBetweenness implements CentralityMetric
+{
+    public static final String PROPERTY_KEY = "betweenness";
+    public static final int DEFAULT_SAMPLES = 64;
+
+    private final int samples;
+    private final long seed;
+
+    public ApproximateBetweenness()
+    {
+        this( DEFAULT_SAMPLES, 0 );
+    }
+
+    /**
+     * @param samples how many source nodes to search from
+     * @param seed    decides which nodes are sampled
+     */
+    public ApproximateBetweenness( int samples, long seed )
+    {
+        if ( samples < 1 )
+        {
+            throw new IllegalArgumentException( "Samples must be at least 1, was " + samples );
+        }
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    public String getPropertyKey()
+    {
+        return PROPERTY_KEY;
+    }
+
+    public double[] compute( final GraphProjection graph, ParallelRanges ranges )
+    {
+        final int[] sources = sample( graph );
+        List<double[]> partials = ranges.forEach( sources.length, new ParallelRanges.Slice<double[]>()
+        {
+            public double[] run( int start, int end )
+            {
+                Search search = new Search( graph );
+                for ( int i = start; i < end; i++ )
+                {
+                    search.from( sources[i] );
+                }
+                return search.scores;
+            }
+        } );
+
+        double[] scores = new double[graph.getIdBound()];
+        // Every pair of nodes is counted once from each end
+        double scale = sources.length == 0 ? 0 : graph.getNodeCount() / (double) sources.length / 2;
+        for ( double[] partial : partials )
+        {
+            for ( int node = 0; node < scores.length; node++ )
+            {
+                scores[node] += partial[node] * scale;
+            }
+        }
+        return scores;
+    }
+
+    private int[] sample( GraphProjection graph )
+    {
+        int[] nodes = new int[graph.getNodeCount()];
+        int count = 0;
+        for ( int node = 0; node < graph.getIdBound(); node++ )
+        {
+            if ( graph.isInUse( node ) )
+            {
+                nodes[count++] = node;
+            }
+        }
+        if ( samples >= count )
+        {
+            return Arrays.copyOf( nodes, count );
+        }
+        // The first samples places of a partial Fisher-Yates shuffle
+        Random random = new Random( seed );
+        for ( int i = 0; i < samples; i++ )
+        {
+            int j = i + random.nextInt( count - i );
+            int swapped = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = swapped;
+        }
+        return Arrays.copyOf( nodes, samples );
+    }
+
+    /**
+     * One thread's breadth-first searches, which reset only the nodes each search reached before the next.
+     */
+    private static class Search
+    {
+        private final GraphProjection graph;
+        private final double[] scores;
+        private final int[] distances;
+        private final double[] paths;
+        private final double[] dependencies;
+        // The nodes in the order they were reached, which is the search queue going forwards
+        private final int[] order;
+
+        Search( GraphProjection graph )
+        {
+            this.graph = graph;
+            int bound = graph.getIdBound();
+            scores = new double[bound];
+            distances = new int[bound];
+            paths = new double[bound];
+            dependencies = new double[bound];
+            order = new int[bound];
+            Arrays.fill( distances, -1 );
+        }
+
+        void from( int source )
+        {
+            int reached = 0;
+            distances[source] = 0;
+            paths[source] = 1;
+            order[reached++] = source;
+            for ( int head = 0; head < reached; head++ )
+            {
+                int node = order[head];
+                for ( int i = 0; i < graph.getOutDegree( node ); i++ )
+                {
+                    reached = visit( node, graph.getOutgoing( node, i ), reached );
+                }
+                for ( int i = 0; i < graph.getInDegree( node ); i++ )
+                {
+                    reached = visit( node, graph.getIncoming( node, i ), reached );
+                }
+            }
+
+            for ( int i = reached - 1; i > 0; i-- )
+            {
+                int node = order[i];
+                double carried = (1 + dependencies[node]) / paths[node];
+                for ( int j = 0; j < graph.getOutDegree( node ); j++ )
+                {
+                    credit( graph.getOutgoing( node, j ), node, carried );
+                }
+                for ( int j = 0; j < graph.getInDegree( node ); j++ )
+                {
+                    credit( graph.getIncoming( node, j ), node, carried );
+                }
+                scores[node] += dependencies[node];
+            }
+
+            for ( int i = 0; i < reached; i++ )
+            {
+                int node = order[i];
+                distances[node] = -1;
+                paths[node] = 0;
+                dependencies[node] = 0;
+            }
+        }
+
+        private int visit( int node, int neighbour, int reached )
+        {
+            if ( distances[neighbour] == -1 )
+            {
+                distances[neighbour] = distances[node] + 1;
+                order[reached++] = neighbour;
+            }
+            if ( distances[neighbour] == distances[node] + 1 )
+            {
+                paths[neighbour] += paths[node];
+            }
+            return reached;
+        }
+
+        /**
+         * Passes the node's dependency back to a neighbour one hop nearer the source.
+         */
+        private void credit( int neighbour, int node, double carried )
+        {
+            if ( distances[neighbour] == distances[node] - 1 )
+            {
+                dependencies[neighbour] += paths[neighbour] * carried;
+            }
+        }
+    }
+}
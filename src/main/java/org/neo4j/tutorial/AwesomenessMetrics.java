@@ -0,0 +1,161 @@
+package org.neo4j.tutorial;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * Scores the nodes of a database by centrality metrics, as a stronger signal of awesomeness than how far
+ * they are from the Doctor, which {@link AwesomenessRatingEngine} rates. The relationships are projected
+ * into a {@link GraphProjection} once, the metrics work on it slice by slice on a pool of threads, and the
+ * scores are written back to the nodes as properties, every so many nodes to a transaction, with the slices
+ * of nodes written at once.
+ * <p>
+ * Setting a property costs far more than reading it, so scores which a node already has are left alone, and
+ * computing the metrics again over a graph which has hardly changed writes hardly anything.
+ */
+public class AwesomenessMetrics
+{
+    public static final int DEFAULT_NODES_PER_COMMIT = 10000;
+
+    private final GraphDatabaseService db;
+    private final int parallelism;
+    private final int nodesPerCommit;
+
+    public AwesomenessMetrics( GraphDatabaseService db )
+    {
+        this( db, Runtime.getRuntime().availableProcessors(), DEFAULT_NODES_PER_COMMIT );
+    }
+
+    /**
+     * @param parallelism    how many threads to compute and write on
+     * @param nodesPerCommit how many nodes' scores to write in each transaction
+     */
+    public AwesomenessMetrics( GraphDatabaseService db, int parallelism, int nodesPerCommit )
+    {
+        if ( nodesPerCommit < 1 )
+        {
+            throw new IllegalArgumentException( "Nodes per commit must be at least 1, was " + nodesPerCommit );
+        }
+        this.db = db;
+        this.parallelism = parallelism;
+        this.nodesPerCommit = nodesPerCommit;
+    }
+
+    /**
+     * @return the metrics with the usual settings: degree centrality, PageRank and betweenness
+     */
+    public static CentralityMetric[] defaultMetrics()
+    {
+        return new CentralityMetric[]{ new DegreeCentrality(), new PageRank(), new ApproximateBetweenness() };
+    }
+
+    /**
+     * Computes the metrics without writing them.
+     *
+     * @return the scores of each metric, indexed by node id, under its property key
+     */
+    public Map<String, double[]> compute( CentralityMetric... metrics )
+    {
+        ParallelRanges ranges = new ParallelRanges( parallelism );
+        try
+        {
+            return compute( GraphProjection.of( db ), ranges, metrics );
+        }
+        finally
+        {
+            ranges.close();
+        }
+    }
+
+    /**
+     * Computes the metrics and writes each node's scores to it.
+     *
+     * @return the scores which were written
+     */
+    public Map<String, double[]> computeAndWrite( CentralityMetric... metrics )
+    {
+        ParallelRanges ranges = new ParallelRanges( parallelism );
+        try
+        {
+            GraphProjection graph = GraphProjection.of( db );
+            Map<String, double[]> scores = compute( graph, ranges, metrics );
+            write( graph, scores, ranges );
+            return scores;
+        }
+        finally
+        {
+            ranges.close();
+        }
+    }
+
+    private static Map<String, double[]> compute( GraphProjection graph, ParallelRanges ranges,
+                                                  CentralityMetric[] metrics )
+    {
+        Map<String, double[]> scores = new LinkedHashMap<String, double[]>();
+        for ( CentralityMetric metric : metrics )
+        {
+            scores.put( metric.getPropertyKey(), metric.compute( graph, ranges ) );
+        }
+        return scores;
+    }
+
+    private void write( final GraphProjection graph, Map<String, double[]> scores, ParallelRanges ranges )
+    {
+        final String[] keys = scores.keySet().toArray( new String[scores.size()] );
+        final double[][] values = scores.values().toArray( new double[scores.size()][] );
+        ranges.forEach( graph.getIdBound(), new ParallelRanges.Slice<Void>()
+        {
+            public Void run( int start, int end )
+            {
+                for ( int batch = start; batch < end; batch += nodesPerCommit )
+                {
+                    writeBatch( graph, keys, values, batch, Math.min( end, batch + nodesPerCommit ) );
+                }
+                return null;
+            }
+        } );
+    }
+
+    private void writeBatch( GraphProjection graph, String[] keys, double[][] values, int start, int end )
+    {
+        Transaction tx = db.beginTx();
+        try
+        {
+            for ( int id = start; id < end; id++ )
+            {
+                if ( !graph.isInUse( id ) )
+                {
+                    continue;
+                }
+                Node node;
+                try
+                {
+                    node = db.getNodeById( id );
+                }
+                catch ( NotFoundException e )
+                {
+                    // Deleted since it was projected
+                    continue;
+                }
+                for ( int metric = 0; metric < keys.length; metric++ )
+                {
+                    Double score = values[metric][id];
+                    if ( !score.equals( node.getProperty( keys[metric], null ) ) )
+                    {
+                        node.setProperty( keys[metric], score );
+                    }
+                }
+            }
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+}
@@ -1,29 +1,257 @@
 package org.neo4j.tutorial;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
 import org.neo4j.cypher.ExecutionEngine;
 import org.neo4j.cypher.ExecutionResult;
 import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.helpers.collection.ClosableIterator;
 import org.neo4j.kernel.impl.util.StringLogger;
 
 public class AwesomenessRatingEngine
 {
+    /**
+     * Nodes further than this from the Doctor aren't awesome at all.
+     */
+    public static final int MAX_HOPS = 15;
+
+    /**
+     * The node is a parameter, so the query text never changes and each database's engine plans it only once.
+     */
+    static final String HOPS_TO_THE_DOCTOR = "start n=node({id}), doctor=node:characters(character='Doctor') "
+            + "match p=shortestPath(n-[*..15]-doctor) "
+            + "return length(p) as hops";
+
+    private static final PerDatabase<ExecutionEngine> ENGINES = new PerDatabase<ExecutionEngine>()
+    {
+        @Override
+        protected ExecutionEngine create( GraphDatabaseService db )
+        {
+            return new ExecutionEngine( db, StringLogger.DEV_NULL );
+        }
+    };
+
+    /**
+     * The ways the engine can find how many hops a node is from the Doctor.
+     */
+    public enum Search
+    {
+        /**
+         * Reads the distances {@link HopDistances} keeps for the database.
+         */
+        KEPT_DISTANCES
+        {
+            @Override
+            int hops( GraphDatabaseService db, long nodeId )
+            {
+                return HopDistances.forDatabase( db ).getHops( nodeId );
+            }
+        },
+        /**
+         * Searches from both the node and the Doctor with a {@link BidirectionalHopSearch}.
+         */
+        BIDIRECTIONAL
+        {
+            @Override
+            int hops( GraphDatabaseService db, long nodeId )
+            {
+                Node doctor = db.index().forNodes( "characters" ).get( "character", "Doctor" ).getSingle();
+                return doctor == null ? HopDistances.UNREACHABLE
+                        : new BidirectionalHopSearch( db ).hops( nodeId, doctor.getId(), MAX_HOPS );
+            }
+        },
+        /**
+         * Runs a Cypher shortest path query, as ratings were before the other searches. A node with no path to
+         * the Doctor within {@link AwesomenessRatingEngine#MAX_HOPS} can't be rated this way, and rating one
+         * throws {@link NoSuchElementException}.
+         */
+        CYPHER
+        {
+            @Override
+            int hops( GraphDatabaseService db, long nodeId )
+            {
+                Map<String, Object> parameters = Collections.<String, Object>singletonMap( "id", nodeId );
+                ExecutionResult result = engineFor( db ).execute( HOPS_TO_THE_DOCTOR, parameters );
+                Iterator<Object> hops = result.javaColumnAs( "hops" );
+                return Integer.valueOf( String.valueOf( hops.next() ) );
+            }
+        };
+
+        /**
+         * @return the hops from the node to the Doctor, or any number over {@link AwesomenessRatingEngine#MAX_HOPS}
+         *         for a node further away than that if the search can tell
+         */
+        abstract int hops( GraphDatabaseService db, long nodeId );
+    }
+
+    private final Search search;
+
+    /**
+     * Rates nodes with the {@link Search#CYPHER} query. The other searches are faster, but the kept distances
+     * watch every transaction and search the whole graph the first time they're read, so they're only used
+     * when asked for.
+     */
+    public AwesomenessRatingEngine()
+    {
+        this( Search.CYPHER );
+    }
+
+    public AwesomenessRatingEngine( Search search )
+    {
+        this.search = search;
+    }
+
+    public Search getSearch()
+    {
+        return search;
+    }
+
+    /**
+     * Finds the node's distance from the Doctor with the engine's search.
+     *
+     * @return 100 for the Doctor, halving, then thirding and so on with each hop away, or 0 for a node more
+     *         than {@link #MAX_HOPS} away, if the search can tell
+     */
     public double rateAwesomeness( GraphDatabaseService db, long nodeId )
     {
-        ExecutionEngine engine = new ExecutionEngine( db, StringLogger.DEV_NULL );
-        String cql = "start n=node(" + nodeId + "), doctor=node:characters(character='Doctor') "
-                + "match p=shortestPath(n-[*..15]-doctor)"
-                + "return length(p) as hops";
+        return rating( search.hops( db, nodeId ) );
+    }
 
+    /**
+     * Rates many nodes at once. With the kept distances all of them are read from the one search out from the
+     * Doctor which {@link HopDistances} keeps, so a batch costs no more searching than a single node.
+     *
+     * @return the ratings in the order of the node ids
+     */
+    public double[] rateAwesomeness( GraphDatabaseService db, long[] nodeIds )
+    {
+        int[] hops;
+        if ( search == Search.KEPT_DISTANCES )
+        {
+            hops = HopDistances.forDatabase( db ).getHops( nodeIds );
+        }
+        else
+        {
+            hops = new int[nodeIds.length];
+            for ( int i = 0; i < nodeIds.length; i++ )
+            {
+                hops[i] = search.hops( db, nodeIds[i] );
+            }
+        }
+        double[] ratings = new double[hops.length];
+        for ( int i = 0; i < hops.length; i++ )
+        {
+            ratings[i] = rating( hops[i] );
+        }
+        return ratings;
+    }
 
-        ExecutionResult result = engine.execute( cql );
+    /**
+     * Rates the nodes a node index query finds, one at a time as they are iterated. The index hits are closed
+     * once they have all been iterated, and callers which stop before then must close the ratings themselves.
+     */
+    public ClosableIterator<Rating> rateAwesomeness( final GraphDatabaseService db, String indexName, String key,
+                                                     Object query )
+    {
+        final IndexHits<Node> hits = db.index().forNodes( indexName ).query( key, query );
+        return new ClosableIterator<Rating>()
+        {
+            private boolean closed;
 
-        int hops = Integer.valueOf( String.valueOf( result.javaColumnAs( "hops" ).next() ) );
+            public boolean hasNext()
+            {
+                if ( closed )
+                {
+                    return false;
+                }
+                if ( hits.hasNext() )
+                {
+                    return true;
+                }
+                close();
+                return false;
+            }
 
-        double ratio = 100 / ((hops + 1) * 1.0);
+            public Rating next()
+            {
+                if ( !hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+                Node node = hits.next();
+                return new Rating( node, rateAwesomeness( db, node.getId() ) );
+            }
 
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+
+            public void close()
+            {
+                if ( !closed )
+                {
+                    closed = true;
+                    hits.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Rates every node in one pass over the hop distances, whichever search the engine rates single nodes with,
+     * since searching again for every node would cost far more.
+     *
+     * @return the ratings indexed by node id, with 0 for ids not in use
+     */
+    public double[] rateEveryNode( GraphDatabaseService db )
+    {
+        int[] hops = HopDistances.forDatabase( db ).getAllHops();
+        double[] ratings = new double[hops.length];
+        for ( int node = 0; node < hops.length; node++ )
+        {
+            ratings[node] = rating( hops[node] );
+        }
+        return ratings;
+    }
 
-        return ratio;
+    private static double rating( int hops )
+    {
+        return hops > MAX_HOPS ? 0 : 100 / ((hops + 1) * 1.0);
     }
 
+    public static class Rating
+    {
+        private final Node node;
+        private final double awesomeness;
+
+        Rating( Node node, double awesomeness )
+        {
+            this.node = node;
+            this.awesomeness = awesomeness;
+        }
+
+        public Node getNode()
+        {
+            return node;
+        }
 
+        public double getAwesomeness()
+        {
+            return awesomeness;
+        }
+    }
+
+    /**
+     * @return the database's engine, which lives, plan cache and all, until the database shuts down
+     */
+    static ExecutionEngine engineFor( GraphDatabaseService db )
+    {
+        return ENGINES.get( db );
+    }
 }
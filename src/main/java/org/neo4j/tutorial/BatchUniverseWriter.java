@@ -0,0 +1,189 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Lock;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.helpers.collection.MapUtil;
+import org.neo4j.index.lucene.unsafe.batchinsert.LuceneBatchInserterIndexProvider;
+import org.neo4j.unsafe.batchinsert.BatchInserter;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndex;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndexProvider;
+import org.neo4j.unsafe.batchinsert.BatchInserters;
+import org.neo4j.unsafe.batchinsert.BatchRelationship;
+
+/**
+ * Loads the universe through a {@link BatchInserter} into a new store. The inserter is the only writer,
+ * so index lookups and relationship checks are answered from the load's registry rather than by
+ * reopening a Lucene reader or reading relationship chains after every write. Repeated adds of an
+ * entry are skipped, since the batch index would otherwise store a duplicate document for each of them.
+ * <p>
+ * Index writes can also be deferred to the end of the load, when each index is written in one pass with
+ * its entries de-duplicated and sorted by key, which leaves it in fewer, larger segments.
+ */
+public class BatchUniverseWriter implements UniverseWriter
+{
+    private static final Map<String, String> EXACT = MapUtil.stringMap( "type", "exact" );
+
+    private final BatchInserter inserter;
+    private final BatchInserterIndexProvider indexProvider;
+    private final Map<String, BatchInserterIndex> indexes = new HashMap<String, BatchInserterIndex>();
+    private final EntityRegistry registry = new EntityRegistry( true );
+    private final boolean deferIndexing;
+
+    public BatchUniverseWriter( String storeDir )
+    {
+        this( storeDir, false );
+    }
+
+    /**
+     * @param deferIndexing true to write the indexes at shutdown rather than as entries are added
+     */
+    public BatchUniverseWriter( String storeDir, boolean deferIndexing )
+    {
+        this.deferIndexing = deferIndexing;
+        inserter = BatchInserters.inserter( storeDir );
+        indexProvider = new LuceneBatchInserterIndexProvider( inserter );
+    }
+
+    public Transaction beginTx()
+    {
+        return new NoTransaction( registry );
+    }
+
+    public long findNode( String indexName, String key, Object value )
+    {
+        return registry.find( indexName, key, value );
+    }
+
+    public long findAnyNode( String indexName, String key )
+    {
+        return registry.findAny( indexName, key );
+    }
+
+    public long createNode( Map<String, Object> properties )
+    {
+        return inserter.createNode( properties );
+    }
+
+    public void setNodeProperty( long node, String key, Object value )
+    {
+        inserter.setNodeProperty( node, key, value );
+    }
+
+    public Object getNodeProperty( long node, String key )
+    {
+        return inserter.getNodeProperties( node ).get( key );
+    }
+
+    public void index( String indexName, long node, String key, Object value )
+    {
+        if ( registry.find( indexName, key, value ) == node )
+        {
+            return;
+        }
+
+        registry.register( indexName, key, value, node );
+        if ( deferIndexing )
+        {
+            registry.defer( indexName, key, value, node );
+            return;
+        }
+        nodeIndex( indexName ).add( node, MapUtil.map( key, value ) );
+    }
+
+    public long createRelationship( long startNode, RelationshipType type, long endNode,
+                                    Map<String, Object> properties )
+    {
+        registry.registerRelationship( startNode, type, endNode );
+        return inserter.createRelationship( startNode, endNode, type, properties );
+    }
+
+    public boolean relationshipExists( long startNode, RelationshipType type, long endNode )
+    {
+        return registry.hasRelationship( startNode, type, endNode );
+    }
+
+    public Iterable<Long> relatedNodes( long node, RelationshipType type, Direction direction )
+    {
+        List<Long> related = new ArrayList<Long>();
+        for ( BatchRelationship r : inserter.getRelationships( node ) )
+        {
+            if ( !r.getType().name().equals( type.name() ) )
+            {
+                continue;
+            }
+
+            if ( r.getStartNode() == node && direction != Direction.INCOMING )
+            {
+                related.add( r.getEndNode() );
+            }
+            else if ( r.getEndNode() == node && direction != Direction.OUTGOING )
+            {
+                related.add( r.getStartNode() );
+            }
+        }
+        return related;
+    }
+
+    public void shutdown()
+    {
+        for ( EntityRegistry.IndexEntry entry : registry.drainIndexEntries() )
+        {
+            nodeIndex( entry.getIndexName() ).add( entry.getNode(), MapUtil.map( entry.getKey(), entry.getValue() ) );
+        }
+        indexProvider.shutdown();
+        inserter.shutdown();
+    }
+
+    private BatchInserterIndex nodeIndex( String indexName )
+    {
+        BatchInserterIndex index = indexes.get( indexName );
+        if ( index == null )
+        {
+            index = indexProvider.nodeIndex( indexName, EXACT );
+            indexes.put( indexName, index );
+        }
+        return index;
+    }
+
+    private static class NoTransaction implements Transaction
+    {
+        private final EntityRegistry registry;
+
+        NoTransaction( EntityRegistry registry )
+        {
+            this.registry = registry;
+        }
+
+        public void failure()
+        {
+        }
+
+        public void success()
+        {
+        }
+
+        public void finish()
+        {
+            // Batch inserts can't be undone, so whatever was registered is in the store regardless
+            registry.commit();
+        }
+
+        public Lock acquireWriteLock( PropertyContainer entity )
+        {
+            throw new UnsupportedOperationException( "The batch inserter does not take locks" );
+        }
+
+        public Lock acquireReadLock( PropertyContainer entity )
+        {
+            throw new UnsupportedOperationException( "The batch inserter does not take locks" );
+        }
+    }
+}
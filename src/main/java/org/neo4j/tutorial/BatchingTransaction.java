@@ -0,0 +1,100 @@
+package org.neo4j.tutorial;
+
+import org.neo4j.graphdb.Lock;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * A transaction over a long run of facts which commits every so many facts rather than holding the whole
+ * run in memory, and restarts on the same writer. Use it like any other transaction, calling
+ * {@link #factLoaded()} after each fact.
+ * <p>
+ * A failure only rolls back the batch in progress; batches which have already committed stay committed.
+ */
+public class BatchingTransaction implements Transaction
+{
+    /**
+     * Commit the whole run at once.
+     */
+    public static final int UNBATCHED = 0;
+
+    private final UniverseWriter writer;
+    private final int factsPerCommit;
+    private final CommitStatistics statistics;
+    private Transaction transaction;
+    private int factsInBatch = 0;
+    private long batchStarted;
+    private boolean successful;
+    private boolean failed;
+
+    /**
+     * @param factsPerCommit how many facts go into each commit, or {@link #UNBATCHED}
+     */
+    public BatchingTransaction( UniverseWriter writer, int factsPerCommit, CommitStatistics statistics )
+    {
+        if ( factsPerCommit < 0 )
+        {
+            throw new IllegalArgumentException( "Facts per commit must not be negative, was " + factsPerCommit );
+        }
+        this.writer = writer;
+        this.factsPerCommit = factsPerCommit;
+        this.statistics = statistics;
+        begin();
+    }
+
+    public void factLoaded()
+    {
+        factsInBatch++;
+        if ( factsPerCommit != UNBATCHED && factsInBatch >= factsPerCommit )
+        {
+            success();
+            commit();
+            begin();
+        }
+    }
+
+    public void failure()
+    {
+        failed = true;
+        transaction.failure();
+    }
+
+    public void success()
+    {
+        successful = true;
+        transaction.success();
+    }
+
+    public void finish()
+    {
+        commit();
+    }
+
+    public Lock acquireWriteLock( PropertyContainer entity )
+    {
+        return transaction.acquireWriteLock( entity );
+    }
+
+    public Lock acquireReadLock( PropertyContainer entity )
+    {
+        return transaction.acquireReadLock( entity );
+    }
+
+    private void begin()
+    {
+        batchStarted = System.nanoTime();
+        transaction = writer.beginTx();
+        factsInBatch = 0;
+        successful = false;
+        failed = false;
+    }
+
+    private void commit()
+    {
+        transaction.finish();
+        if ( successful && !failed && factsInBatch > 0 )
+        {
+            statistics.batchCommitted( factsInBatch, System.nanoTime() - batchStarted );
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.neo4j.tutorial;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * Counts the hops between two nodes, ignoring the direction of relationships, by searching breadth first out
+ * from both ends at once through the core API. Each step widens whichever side has the smaller frontier, so
+ * the search only reaches about half as deep from each end as a search from one end would. Visited nodes and
+ * frontiers are kept as ids in {@link LongSet}s and long arrays.
+ */
+public class BidirectionalHopSearch
+{
+    private final GraphDatabaseService db;
+
+    public BidirectionalHopSearch( GraphDatabaseService db )
+    {
+        this.db = db;
+    }
+
+    /**
+     * @return the fewest hops between the two nodes, or {@link HopDistances#UNREACHABLE} if there are more
+     *         than maxHops of them
+     */
+    public int hops( long from, long to, int maxHops )
+    {
+        if ( from == to )
+        {
+            return 0;
+        }
+
+        long[] fromFrontier = { from };
+        long[] toFrontier = { to };
+        LongSet fromVisited = new LongSet();
+        LongSet toVisited = new LongSet();
+        fromVisited.add( from );
+        toVisited.add( to );
+
+        // Every node within depth hops of one end has been visited from it, and none from both ends
+        for ( int depth = 0; depth < maxHops; depth++ )
+        {
+            if ( fromFrontier.length <= toFrontier.length )
+            {
+                fromFrontier = widen( fromFrontier, fromVisited, toVisited );
+                if ( fromFrontier == null )
+                {
+                    return depth + 1;
+                }
+            }
+            else
+            {
+                toFrontier = widen( toFrontier, toVisited, fromVisited );
+                if ( toFrontier == null )
+                {
+                    return depth + 1;
+                }
+            }
+            if ( fromFrontier.length == 0 || toFrontier.length == 0 )
+            {
+                break;
+            }
+        }
+        return HopDistances.UNREACHABLE;
+    }
+
+    /**
+     * @return the nodes one hop beyond the frontier visited for the first time, or null as soon as one of them
+     *         has been visited from the other end
+     */
+    private long[] widen( long[] frontier, LongSet visited, LongSet otherVisited )
+    {
+        LongArray next = new LongArray();
+        for ( long id : frontier )
+        {
+            Node node = db.getNodeById( id );
+            for ( Relationship relationship : node.getRelationships() )
+            {
+                long other = relationship.getOtherNode( node ).getId();
+                if ( otherVisited.contains( other ) )
+                {
+                    return null;
+                }
+                if ( visited.add( other ) )
+                {
+                    next.add( other );
+                }
+            }
+        }
+        return next.toArray();
+    }
+}
@@ -0,0 +1,223 @@
+package org.neo4j.tutorial;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventHandler;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.EvictionListener;
+
+/**
+ * Keeps the ratings of the nodes rated most recently, so that popular nodes are only rated once. Each
+ * database has its own cache, bounded to the engine's capacity, which throws out the least recently rated
+ * nodes when it's full.
+ * <p>
+ * Any commit which creates or deletes a relationship, or deletes a node, may change how far any node is from
+ * the Doctor, so it clears the database's cache. Ratings worked out while such a commit was going on are
+ * not kept. Changes to which node is indexed as the Doctor don't clear the cache.
+ */
+public class CachingAwesomenessRatingEngine extends AwesomenessRatingEngine
+{
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private final int capacity;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final PerDatabase<Ratings> caches = new PerDatabase<Ratings>()
+    {
+        @Override
+        protected Ratings create( GraphDatabaseService db )
+        {
+            if ( getSearch() == Search.KEPT_DISTANCES )
+            {
+                // Handlers run in the order they were registered, so the distances have moved before the
+                // cache is cleared
+                HopDistances.forDatabase( db );
+            }
+            Ratings ratings = new Ratings();
+            db.registerTransactionEventHandler( ratings.new Invalidator() );
+            return ratings;
+        }
+    };
+
+    public CachingAwesomenessRatingEngine()
+    {
+        this( Search.KEPT_DISTANCES, DEFAULT_CAPACITY );
+    }
+
+    /**
+     * @param capacity how many ratings to keep for each database
+     */
+    public CachingAwesomenessRatingEngine( Search search, int capacity )
+    {
+        super( search );
+        if ( capacity < 1 )
+        {
+            throw new IllegalArgumentException( "Capacity must be at least 1, was " + capacity );
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public double rateAwesomeness( GraphDatabaseService db, long nodeId )
+    {
+        Ratings ratings = caches.get( db );
+        Double cached = ratings.values.get( nodeId );
+        if ( cached != null )
+        {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        long generation = ratings.generation.get();
+        double rating = super.rateAwesomeness( db, nodeId );
+        ratings.keep( nodeId, rating, generation );
+        return rating;
+    }
+
+    @Override
+    public double[] rateAwesomeness( GraphDatabaseService db, long[] nodeIds )
+    {
+        Ratings ratings = caches.get( db );
+        double[] rated = new double[nodeIds.length];
+        LongArray uncached = new LongArray();
+        for ( int i = 0; i < nodeIds.length; i++ )
+        {
+            Double cached = ratings.values.get( nodeIds[i] );
+            if ( cached == null )
+            {
+                uncached.add( i );
+            }
+            else
+            {
+                rated[i] = cached;
+            }
+        }
+        hits.addAndGet( nodeIds.length - uncached.size() );
+        misses.addAndGet( uncached.size() );
+        if ( uncached.size() == 0 )
+        {
+            return rated;
+        }
+
+        long[] missing = new long[uncached.size()];
+        for ( int i = 0; i < missing.length; i++ )
+        {
+            missing[i] = nodeIds[(int) uncached.get( i )];
+        }
+        long generation = ratings.generation.get();
+        double[] fresh = super.rateAwesomeness( db, missing );
+        for ( int i = 0; i < missing.length; i++ )
+        {
+            rated[(int) uncached.get( i )] = fresh[i];
+            ratings.keep( missing[i], fresh[i], generation );
+        }
+        return rated;
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * @return how many ratings have been answered from a cache
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return how many ratings had to be worked out
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return how many ratings have been thrown out to make room for others
+     */
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * @return how many times a commit has cleared a cache
+     */
+    public long getInvalidations()
+    {
+        return invalidations.get();
+    }
+
+    /**
+     * One database's ratings, and a generation which moves on whenever they are cleared, so that a rating
+     * worked out across a clear is known to be out of date.
+     */
+    private class Ratings
+    {
+        private final AtomicLong generation = new AtomicLong();
+        private final ConcurrentLinkedHashMap<Long, Double> values = new ConcurrentLinkedHashMap.Builder<Long,
+                Double>().maximumWeightedCapacity( capacity ).listener( new EvictionListener<Long, Double>()
+        {
+            public void onEviction( Long node, Double rating )
+            {
+                evictions.incrementAndGet();
+            }
+        } ).build();
+
+        /**
+         * Keeps the rating, unless the cache has been cleared since it began to be worked out.
+         */
+        void keep( long node, double rating, long startedAt )
+        {
+            values.put( node, rating );
+            if ( generation.get() != startedAt )
+            {
+                values.remove( node, rating );
+            }
+        }
+
+        void clear()
+        {
+            generation.incrementAndGet();
+            values.clear();
+        }
+
+        private class Invalidator implements TransactionEventHandler<Boolean>
+        {
+            public Boolean beforeCommit( TransactionData data )
+            {
+                boolean changesDistances = data.createdRelationships().iterator().hasNext()
+                        || data.deletedRelationships().iterator().hasNext()
+                        || data.deletedNodes().iterator().hasNext();
+                if ( changesDistances )
+                {
+                    // Ratings worked out from here until the commit is over may or may not see it
+                    generation.incrementAndGet();
+                }
+                return changesDistances;
+            }
+
+            public void afterCommit( TransactionData data, Boolean changesDistances )
+            {
+                if ( changesDistances )
+                {
+                    clear();
+                    invalidations.incrementAndGet();
+                }
+            }
+
+            public void afterRollback( TransactionData data, Boolean changesDistances )
+            {
+            }
+        }
+    }
+}
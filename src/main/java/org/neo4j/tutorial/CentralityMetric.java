@@ -0,0 +1,18 @@
+package org.neo4j.tutorial;
+
+/**
+ * A score for every node of a {@link GraphProjection}, which {@link AwesomenessMetrics} writes back to the
+ * nodes as a property.
+ */
+public interface CentralityMetric
+{
+    /**
+     * @return the property the scores are written to
+     */
+    String getPropertyKey();
+
+    /**
+     * @return the score of each node, indexed by node id, with 0 for ids which aren't in use
+     */
+    double[] compute( GraphProjection graph, ParallelRanges ranges );
+}
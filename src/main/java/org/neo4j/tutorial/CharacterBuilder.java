@@ -9,8 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class CharacterBuilder
 {
@@ -55,146 +54,126 @@ public class CharacterBuilder
         return this;
     }
 
-    public void fact( GraphDatabaseService db )
+    public void fact( UniverseContext universe )
     {
-        Node characterNode = ensureCharacterIsInDb( characterName, db );
-        Node theDoctor = db.index()
-                .forNodes( "characters" )
-                .get( "character", "Doctor" )
-                .getSingle();
+        long characterNode = ensureCharacterIsInDb( characterName, universe );
+        long theDoctor = universe.theDoctor();
 
         if ( species != null )
         {
             for ( String speciesString : species )
             {
-                ensureRelationshipInDb( characterNode, DoctorWhoRelationships.IS_A,
-                        SpeciesBuilder.ensureSpeciesInDb( speciesString, db ) );
+                ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.IS_A,
+                        SpeciesBuilder.ensureSpeciesInDb( speciesString, universe ) );
             }
         }
 
         if ( companion )
         {
-            ensureCompanionRelationshipInDb( characterNode, db );
+            ensureCompanionRelationshipInDb( characterNode, universe );
         }
 
         if ( enemy )
         {
-            ensureEnemyOfRelationshipInDb( characterNode, db );
+            ensureEnemyOfRelationshipInDb( characterNode, universe );
         }
 
         if ( ally )
         {
-            ensureRelationshipInDb( characterNode, DoctorWhoRelationships.ALLY_OF, theDoctor );
+            ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.ALLY_OF, theDoctor );
         }
 
         if ( loverNames != null )
         {
-            ensureLoversInDb( characterNode, loverNames, db );
+            ensureLoversInDb( characterNode, loverNames, universe );
         }
 
         if ( planet != null )
         {
-            ensurePlanetInDb( characterNode, planet, db );
+            ensurePlanetInDb( characterNode, planet, universe );
         }
 
         if ( things != null )
         {
-            ensureThingsInDb( characterNode, things, db );
+            ensureThingsInDb( characterNode, things, universe );
         }
 
         if ( actors != null )
         {
-            ensureActorsInDb( characterNode, actors, db );
+            ensureActorsInDb( characterNode, actors, universe );
         }
 
         if ( wikipediaUri != null )
         {
-            characterNode.setProperty( "wikipedia", wikipediaUri );
+            universe.setNodeProperty( characterNode, "wikipedia", wikipediaUri );
         }
 
         if ( children != null )
         {
-            ensureChildrenInDb( characterNode, children, db );
+            ensureChildrenInDb( characterNode, children, universe );
         }
 
         if ( firstAppearance != null )
         {
-            ensureRelationshipInDb( characterNode, DoctorWhoRelationships.FIRST_APPEARED,
-                    db.index().forNodes( "episodes" ).get( "episode", firstAppearance ).getSingle() );
+            ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.FIRST_APPEARED,
+                    universe.findNode( "episodes", "episode", firstAppearance ) );
         }
 
         if ( diedIn != null )
         {
-            ensureRelationshipInDb( characterNode, DoctorWhoRelationships.DIED_IN,
-                    db.index().forNodes( "episodes" ).get( "episode", diedIn ).getSingle() );
+            ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.DIED_IN,
+                    universe.findNode( "episodes", "episode", diedIn ) );
         }
     }
 
-    private static void ensureChildrenInDb( Node characterNode, String[] children, GraphDatabaseService db )
+    private static void ensureChildrenInDb( long characterNode, String[] children, UniverseContext universe )
     {
         for ( String child : children )
         {
-            Node childNode = ensureCharacterIsInDb( child, db );
-            ensureRelationshipInDb( characterNode, DoctorWhoRelationships.FATHER_OF, childNode );
+            long childNode = ensureCharacterIsInDb( child, universe );
+            ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.FATHER_OF, childNode );
         }
     }
 
-    public static void ensureAllyOfRelationshipInDb( Node allyNode, GraphDatabaseService db )
+    public static void ensureAllyOfRelationshipInDb( long allyNode, UniverseContext universe )
     {
-        Node theDoctor = db.index()
-                .forNodes( "characters" )
-                .get( "character", "Doctor" )
-                .getSingle();
-        ensureRelationshipInDb( allyNode, DoctorWhoRelationships.ALLY_OF, theDoctor );
-        ensureRelationshipInDb( theDoctor, DoctorWhoRelationships.ALLY_OF, allyNode );
+        long theDoctor = universe.theDoctor();
+        ensureRelationshipInDb( universe, allyNode, DoctorWhoRelationships.ALLY_OF, theDoctor );
+        ensureRelationshipInDb( universe, theDoctor, DoctorWhoRelationships.ALLY_OF, allyNode );
     }
 
-    public static void ensureEnemyOfRelationshipInDb( Node enemyNode, GraphDatabaseService db )
+    public static void ensureEnemyOfRelationshipInDb( long enemyNode, UniverseContext universe )
     {
-        Node theDoctor = db.index()
-                .forNodes( "characters" )
-                .get( "character", "Doctor" )
-                .getSingle();
-        ensureRelationshipInDb( enemyNode, DoctorWhoRelationships.ENEMY_OF, theDoctor );
-        ensureRelationshipInDb( theDoctor, DoctorWhoRelationships.ENEMY_OF, enemyNode );
+        long theDoctor = universe.theDoctor();
+        ensureRelationshipInDb( universe, enemyNode, DoctorWhoRelationships.ENEMY_OF, theDoctor );
+        ensureRelationshipInDb( universe, theDoctor, DoctorWhoRelationships.ENEMY_OF, enemyNode );
     }
 
-    public static void ensureCompanionRelationshipInDb( Node companionNode, GraphDatabaseService db )
+    public static void ensureCompanionRelationshipInDb( long companionNode, UniverseContext universe )
     {
-        Node theDoctor = db.index()
-                .forNodes( "characters" )
-                .get( "character", "Doctor" )
-                .getSingle();
-        ensureRelationshipInDb( companionNode, DoctorWhoRelationships.COMPANION_OF, theDoctor );
+        long theDoctor = universe.theDoctor();
+        ensureRelationshipInDb( universe, companionNode, DoctorWhoRelationships.COMPANION_OF, theDoctor );
     }
 
-    public void ensureActorsInDb( Node characterNode, List<String> actors, GraphDatabaseService db )
+    public void ensureActorsInDb( long characterNode, List<String> actors, UniverseContext universe )
     {
-        Node previousActorNode = null;
+        long previousActorNode = UniverseWriter.NO_NODE;
         for ( String actor : actors )
         {
-            Node theActorNode = db.index()
-                    .forNodes( "actors" )
-                    .get( "actor", actor )
-                    .getSingle();
-            if ( theActorNode == null )
+            long theActorNode = universe.findNode( "actors", "actor", actor );
+            if ( theActorNode == UniverseWriter.NO_NODE )
             {
-                theActorNode = db.createNode();
-                theActorNode.setProperty( "actor", actor );
-                db.index()
-                        .forNodes( "actors" )
-                        .add( theActorNode, "actor", actor );
+                theActorNode = universe.createNode( MapUtil.map( "actor", actor ) );
+                universe.index( "actors", theActorNode, "actor", actor );
             }
 
-            ensureRelationshipInDb( theActorNode, DoctorWhoRelationships.PLAYED, characterNode );
-            db.index()
-                    .forNodes( "actors" )
-                    .add( theActorNode, "actor", actor );
+            ensureRelationshipInDb( universe, theActorNode, DoctorWhoRelationships.PLAYED, characterNode );
+            universe.index( "actors", theActorNode, "actor", actor );
 
-            if ( previousActorNode != null )
+            if ( previousActorNode != UniverseWriter.NO_NODE )
             {
-                ensureRelationshipInDb( previousActorNode, DoctorWhoRelationships.REGENERATED_TO, theActorNode,
-                        map( "year", startDates.get( actor ) ) );
+                ensureRelationshipInDb( universe, previousActorNode, DoctorWhoRelationships.REGENERATED_TO,
+                        theActorNode, map( "year", startDates.get( actor ) ) );
             }
 
             previousActorNode = theActorNode;
@@ -214,95 +193,58 @@ public class CharacterBuilder
         return result;
     }
 
-    private static void ensureThingsInDb( Node characterNode, String[] things, GraphDatabaseService db )
+    private static void ensureThingsInDb( long characterNode, String[] things, UniverseContext universe )
     {
         for ( String thing : things )
         {
-            ensureRelationshipInDb( characterNode, DoctorWhoRelationships.OWNS, ensureThingInDb( thing, db ) );
+            ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.OWNS,
+                    ensureThingInDb( thing, universe ) );
         }
     }
 
-    private static Node ensureThingInDb( String thing, GraphDatabaseService database )
+    private static long ensureThingInDb( String thing, UniverseContext universe )
     {
-        Node theThingNode = database.index()
-                .forNodes( "things" )
-                .get( "thing", thing )
-                .getSingle();
-        if ( theThingNode == null )
+        long theThingNode = universe.findNode( "things", "thing", thing );
+        if ( theThingNode == UniverseWriter.NO_NODE )
         {
-            theThingNode = database.createNode();
-            theThingNode.setProperty( "thing", thing );
-            ensureThingIsIndexed( theThingNode, database );
+            theThingNode = universe.createNode( MapUtil.map( "thing", thing ) );
+            universe.index( "things", theThingNode, "thing", thing );
         }
 
         return theThingNode;
     }
 
-    private static void ensureThingIsIndexed( Node thingNode, GraphDatabaseService database )
+    private static long ensurePlanetInDb( long characterNode, String planet, UniverseContext universe )
     {
-        database.index()
-                .forNodes( "things" )
-                .add( thingNode, "thing", thingNode.getProperty( "thing" ) );
-    }
-
-    private static Node ensurePlanetInDb( Node characterNode, String planet, GraphDatabaseService database )
-    {
-        Node thePlanetNode = database.index()
-                .forNodes( "planets" )
-                .get( "planet", planet )
-                .getSingle();
-        if ( thePlanetNode == null )
+        long thePlanetNode = universe.findNode( "planets", "planet", planet );
+        if ( thePlanetNode == UniverseWriter.NO_NODE )
         {
-            thePlanetNode = database.createNode();
-            thePlanetNode.setProperty( "planet", planet );
-            ensurePlanetIsIndexed( thePlanetNode, database );
+            thePlanetNode = universe.createNode( MapUtil.map( "planet", planet ) );
+            universe.index( "planets", thePlanetNode, "planet", planet );
         }
 
-        ensureRelationshipInDb( characterNode, DoctorWhoRelationships.COMES_FROM, thePlanetNode );
+        ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.COMES_FROM, thePlanetNode );
 
         return thePlanetNode;
     }
 
-    private static void ensurePlanetIsIndexed( Node thePlanetNode, GraphDatabaseService database )
-    {
-        database.index()
-                .forNodes( "planets" )
-                .add( thePlanetNode, "planet", thePlanetNode.getProperty( "planet" ) );
-    }
-
-    public static Node ensureCharacterIsInDb( String name, GraphDatabaseService db )
+    public static long ensureCharacterIsInDb( String name, UniverseContext universe )
     {
-        Node theCharacterNode = db.index()
-                .forNodes( "characters" )
-                .get( "character", name )
-                .getSingle();
-        if ( theCharacterNode == null )
+        long theCharacterNode = universe.findNode( "characters", "character", name );
+        if ( theCharacterNode == UniverseWriter.NO_NODE )
         {
-            theCharacterNode = db.createNode();
-            theCharacterNode.setProperty( "character", name );
-            ensureCharacterIsIndexed( theCharacterNode, db );
+            theCharacterNode = universe.createNode( MapUtil.map( "character", name ) );
+            universe.index( "characters", theCharacterNode, "character", name );
         }
         return theCharacterNode;
     }
 
-    private static void ensureCharacterIsIndexed( Node characterNode, GraphDatabaseService database )
-    {
-        if ( database.index()
-                .forNodes( "characters" )
-                .get( "character", characterNode.getProperty( "character" ) )
-                .getSingle() == null )
-        {
-            database.index()
-                    .forNodes( "characters" )
-                    .add( characterNode, "character", characterNode.getProperty( "character" ) );
-        }
-    }
-
-    private static void ensureLoversInDb( Node characterNode, String[] loverNames, GraphDatabaseService db )
+    private static void ensureLoversInDb( long characterNode, String[] loverNames, UniverseContext universe )
     {
         for ( String lover : loverNames )
         {
-            ensureRelationshipInDb( characterNode, DoctorWhoRelationships.LOVES, ensureCharacterIsInDb( lover, db ) );
+            ensureRelationshipInDb( universe, characterNode, DoctorWhoRelationships.LOVES,
+                    ensureCharacterIsInDb( lover, universe ) );
         }
     }
 
@@ -0,0 +1,65 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How a load was split into commits, and how long each batch took from its first fact to the end of its
+ * commit. Useful when choosing how many facts to commit at a time.
+ */
+public class CommitStatistics
+{
+    private final List<Long> batchNanos = new ArrayList<Long>();
+    private long facts = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    void batchCommitted( int factsInBatch, long nanos )
+    {
+        batchNanos.add( nanos );
+        facts += factsInBatch;
+        totalNanos += nanos;
+        maxNanos = Math.max( maxNanos, nanos );
+    }
+
+    public int getCommitCount()
+    {
+        return batchNanos.size();
+    }
+
+    public long getFactCount()
+    {
+        return facts;
+    }
+
+    /**
+     * @return the latency of each committed batch in nanoseconds, in the order they were committed
+     */
+    public List<Long> getBatchLatencies()
+    {
+        return Collections.unmodifiableList( batchNanos );
+    }
+
+    public long getTotalLatency()
+    {
+        return totalNanos;
+    }
+
+    public long getMaxLatency()
+    {
+        return maxNanos;
+    }
+
+    public long getMeanLatency()
+    {
+        return batchNanos.isEmpty() ? 0 : totalNanos / batchNanos.size();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format( "%d facts in %d commits, mean batch %.2fms, max batch %.2fms", facts,
+                getCommitCount(), getMeanLatency() / 1e6, maxNanos / 1e6 );
+    }
+}
@@ -1,14 +1,11 @@
 package org.neo4j.tutorial;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 import org.neo4j.graphdb.Direction;
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
-import org.neo4j.graphdb.Relationship;
-import org.neo4j.graphdb.RelationshipType;
-import org.neo4j.graphdb.index.Index;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class DalekPropBuilder
 {
@@ -65,86 +62,92 @@ public class DalekPropBuilder
         }
     }
 
-    public void fact( GraphDatabaseService db )
+    public void fact( UniverseContext universe )
     {
-        Node dalekSpeciesNode = db.index()
-                .forNodes( "species" )
-                .get( "species", "Dalek" )
-                .getSingle();
+        long dalekSpeciesNode = universe.daleks();
 
-        Node episodeNode = ensureEpisodeIsInDb( episode, db );
-        ensureEpisodeIsConnectedToDalekSpecies( episodeNode, dalekSpeciesNode );
+        long episodeNode = ensureEpisodeIsInDb( episode, universe );
+        ensureEpisodeIsConnectedToDalekSpecies( episodeNode, dalekSpeciesNode, universe );
 
-        Node episodePropsNode = db.createNode();
-        episodePropsNode.setProperty( PROPS, "Daleks" );
-        episodePropsNode.createRelationshipTo( episodeNode, DoctorWhoRelationships.USED_IN );
+        long episodePropsNode = ensureEpisodePropsInDb( episodeNode, universe );
 
         for ( Prop prop : props )
         {
             if ( isFullProp( prop ) )
             {
-                Node currentDalekPropNode = ensurePropAppearsInDb( prop.getName(), db );
-                currentDalekPropNode.createRelationshipTo( episodePropsNode, DoctorWhoRelationships.MEMBER_OF );
+                long currentDalekPropNode = ensurePropAppearsInDb( prop.getName(), universe );
+                if ( !universe.relationshipExists( currentDalekPropNode, DoctorWhoRelationships.MEMBER_OF,
+                        episodePropsNode ) )
+                {
+                    createRelationship( universe, currentDalekPropNode, DoctorWhoRelationships.MEMBER_OF,
+                            episodePropsNode );
+                }
 
                 if ( shoulderExists( prop ) )
                 {
-                    createPartAttachedToProp( prop.getShoulder(), "shoulder", currentDalekPropNode, db );
+                    createPartAttachedToProp( prop.getShoulder(), "shoulder", currentDalekPropNode, universe );
                 }
 
                 if ( skirtExists( prop ) )
                 {
-                    createPartAttachedToProp( prop.getSkirt(), "skirt", currentDalekPropNode, db );
+                    createPartAttachedToProp( prop.getSkirt(), "skirt", currentDalekPropNode, universe );
                 }
             }
             else
             {
                 if ( shoulderExists( prop ) )
                 {
-                    createPartAttachedToPropGroup( prop.getShoulder(), "shoulder", episodePropsNode, db );
+                    createPartAttachedToPropGroup( prop.getShoulder(), "shoulder", episodePropsNode, universe );
                 }
 
                 if ( skirtExists( prop ) )
                 {
-                    createPartAttachedToPropGroup( prop.getSkirt(), "skirt", episodePropsNode, db );
+                    createPartAttachedToPropGroup( prop.getSkirt(), "skirt", episodePropsNode, universe );
                 }
             }
 
         }
     }
 
-    private void createPartAttachedToProp( String originalPropName, String part, Node currentDalekPropNode,
-                                           GraphDatabaseService db )
+    private long ensureEpisodePropsInDb( long episodeNode, UniverseContext universe )
     {
-        Node partNode = ensurePartExistsInDb( originalPropName, part, db );
-        if ( !relationshipExists( currentDalekPropNode, partNode, DoctorWhoRelationships.COMPOSED_OF,
-                Direction.OUTGOING ) )
+        for ( long used : universe.relatedNodes( episodeNode, DoctorWhoRelationships.USED_IN, Direction.INCOMING ) )
         {
-            currentDalekPropNode.createRelationshipTo( partNode, DoctorWhoRelationships.COMPOSED_OF );
+            if ( "Daleks".equals( universe.getNodeProperty( used, PROPS ) ) )
+            {
+                return used;
+            }
         }
+
+        long episodePropsNode = universe.createNode( MapUtil.map( PROPS, "Daleks" ) );
+        createRelationship( universe, episodePropsNode, DoctorWhoRelationships.USED_IN, episodeNode );
+        return episodePropsNode;
     }
 
-    private void createPartAttachedToPropGroup( String originalPropName, String part, Node propGroupNode,
-                                                GraphDatabaseService db )
+    private void createPartAttachedToProp( String originalPropName, String part, long currentDalekPropNode,
+                                           UniverseContext universe )
     {
-        Node partNode = ensurePartExistsInDb( originalPropName, part, db );
-        if ( !relationshipExists( partNode, propGroupNode, DoctorWhoRelationships.MEMBER_OF, Direction.OUTGOING ) )
+        long partNode = ensurePartExistsInDb( originalPropName, part, universe );
+        if ( !universe.relationshipExists( currentDalekPropNode, DoctorWhoRelationships.COMPOSED_OF, partNode ) )
         {
-            partNode.createRelationshipTo( propGroupNode, DoctorWhoRelationships.MEMBER_OF );
+            createRelationship( universe, currentDalekPropNode, DoctorWhoRelationships.COMPOSED_OF, partNode );
         }
     }
 
-    private boolean relationshipExists( Node startNode, Node endNode, RelationshipType relationship, Direction direction )
+    private void createPartAttachedToPropGroup( String originalPropName, String part, long propGroupNode,
+                                                UniverseContext universe )
     {
-        Iterable<Relationship> rels = startNode.getRelationships( direction, relationship );
-        for ( Relationship rel : rels )
+        long partNode = ensurePartExistsInDb( originalPropName, part, universe );
+        if ( !universe.relationshipExists( partNode, DoctorWhoRelationships.MEMBER_OF, propGroupNode ) )
         {
-            if ( rel.getOtherNode( startNode )
-                    .equals( endNode ) )
-            {
-                return true;
-            }
+            createRelationship( universe, partNode, DoctorWhoRelationships.MEMBER_OF, propGroupNode );
         }
-        return false;
+    }
+
+    private static void createRelationship( UniverseContext universe, long startNode, DoctorWhoRelationships type,
+                                            long endNode )
+    {
+        universe.createRelationship( startNode, type, endNode, new HashMap<String, Object>() );
     }
 
     private boolean skirtExists( Prop prop )
@@ -162,66 +165,44 @@ public class DalekPropBuilder
         return prop.getName() != null;
     }
 
-    private Node ensurePartExistsInDb( String originalPropName, String part, GraphDatabaseService db )
+    private long ensurePartExistsInDb( String originalPropName, String part, UniverseContext universe )
     {
-        Index<Node> index = db.index()
-                .forNodes( PROPS );
-        Node shoulderNode = index.get( part, originalPropName )
-                .getSingle();
-        if ( shoulderNode == null )
+        long shoulderNode = universe.findNode( PROPS, part, originalPropName );
+        if ( shoulderNode == UniverseWriter.NO_NODE )
         {
-            shoulderNode = db.createNode();
-            shoulderNode.setProperty( "part", part );
-            index.add( shoulderNode, part, originalPropName );
+            shoulderNode = universe.createNode( MapUtil.map( "part", part ) );
+            universe.index( PROPS, shoulderNode, part, originalPropName );
 
-            Node originalDalekPropNode = ensurePropAppearsInDb( originalPropName, db );
-            shoulderNode.createRelationshipTo( originalDalekPropNode, DoctorWhoRelationships.ORIGINAL_PROP );
+            long originalDalekPropNode = ensurePropAppearsInDb( originalPropName, universe );
+            createRelationship( universe, shoulderNode, DoctorWhoRelationships.ORIGINAL_PROP, originalDalekPropNode );
         }
         return shoulderNode;
     }
 
-    private Node ensurePropAppearsInDb( String prop, GraphDatabaseService db )
+    private long ensurePropAppearsInDb( String prop, UniverseContext universe )
     {
-        Index<Node> index = db.index()
-                .forNodes( PROPS );
-        Node dalekPropNode = index.get( PROP, prop )
-                .getSingle();
-        if ( dalekPropNode == null )
+        long dalekPropNode = universe.findNode( PROPS, PROP, prop );
+        if ( dalekPropNode == UniverseWriter.NO_NODE )
         {
-            dalekPropNode = db.createNode();
-            dalekPropNode.setProperty( PROP, prop );
-            index.add( dalekPropNode, PROP, prop );
+            dalekPropNode = universe.createNode( MapUtil.map( PROP, prop ) );
+            universe.index( PROPS, dalekPropNode, PROP, prop );
         }
         return dalekPropNode;
     }
 
-    private void ensureEpisodeIsConnectedToDalekSpecies( Node episodeNode, Node speciesNode )
+    private void ensureEpisodeIsConnectedToDalekSpecies( long episodeNode, long speciesNode, UniverseContext universe )
     {
-        boolean isConnected = false;
-        for ( Relationship rel : episodeNode.getRelationships( DoctorWhoRelationships.APPEARED_IN,
-                Direction.INCOMING ) )
-        {
-            if ( rel.getStartNode()
-                    .equals( speciesNode ) )
-            {
-                isConnected = true;
-                break;
-            }
-        }
-        if ( !isConnected )
+        if ( !universe.relationshipExists( speciesNode, DoctorWhoRelationships.APPEARED_IN, episodeNode ) )
         {
-            throw new RuntimeException( "Episode '" + episodeNode.getProperty( "title" )
+            throw new RuntimeException( "Episode '" + universe.getNodeProperty( episodeNode, "title" )
                     + "' not connected to Dalek species." );
         }
     }
 
-    private Node ensureEpisodeIsInDb( String episode, GraphDatabaseService db )
+    private long ensureEpisodeIsInDb( String episode, UniverseContext universe )
     {
-        Index<Node> index = db.index()
-                .forNodes( "episodes" );
-        Node episodeNode = index.get( "title", episode )
-                .getSingle();
-        if ( episodeNode == null )
+        long episodeNode = universe.findNode( "episodes", "title", episode );
+        if ( episodeNode == UniverseWriter.NO_NODE )
         {
             throw new RuntimeException( "Episode '" + episode + "' missing from database." );
         }
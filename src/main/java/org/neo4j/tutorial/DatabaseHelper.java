@@ -2,10 +2,9 @@ package org.neo4j.tutorial;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.channels.Channels;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 
 import org.neo4j.graphdb.Direction;
@@ -15,7 +14,6 @@ import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.kernel.EmbeddedGraphDatabase;
-import org.neo4j.tooling.GlobalGraphOperations;
 
 public class DatabaseHelper
 {
@@ -84,42 +82,88 @@ public class DatabaseHelper
         ensureRelationshipInDb( startNode, relType, endNode, new HashMap<String, Object>() );
     }
 
-    public void dumpGraphToConsole()
+    public static void ensureRelationshipInDb( UniverseWriter writer, long startNode, RelationshipType relType,
+                                               long endNode, Map<String, Object> relationshipProperties )
     {
-        for ( Node n : GlobalGraphOperations.at( db ).getAllNodes() )
+        if ( !writer.relationshipExists( startNode, relType, endNode ) )
         {
-            Iterable<String> propertyKeys = n.getPropertyKeys();
-            for ( String key : propertyKeys )
-            {
-                System.out.print( key + " : " );
-                System.out.println( n.getProperty( key ) );
-            }
+            writer.createRelationship( startNode, relType, endNode, relationshipProperties );
         }
     }
 
+    public static void ensureRelationshipInDb( UniverseWriter writer, long startNode, RelationshipType relType,
+                                               long endNode )
+    {
+        ensureRelationshipInDb( writer, startNode, relType, endNode, new HashMap<String, Object>() );
+    }
+
+    /**
+     * Prints the whole graph as JSON lines; see {@link GraphExporter} for writing it anywhere else.
+     */
+    public void dumpGraphToConsole()
+    {
+        new GraphExporter( db ).export( Channels.newChannel( System.out ), GraphExporter.Format.JSON_LINES );
+    }
+
+    /**
+     * Counts every node in the database which has all the given properties, scanning the store in parallel.
+     */
+    public long countNodesWithAllGivenProperties( String... propertyNames )
+    {
+        return new GraphScan( db ).countNodes( hasAllProperties( propertyNames ) );
+    }
+
     public int countNodesWithAllGivenProperties( Iterable<Node> allNodes, String... propertyNames )
     {
-        Iterator<Node> iterator = allNodes.iterator();
+        GraphScan.Predicate<Node> hasAllProperties = hasAllProperties( propertyNames );
         int count = 0;
-        while ( iterator.hasNext() )
+        for ( Node node : allNodes )
         {
-            Node next = iterator.next();
+            if ( hasAllProperties.accept( node ) )
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long countAllNodes()
+    {
+        return new GraphScan( db ).countNodes( DatabaseHelper.<Node>everything() );
+    }
+
+    public long countAllRelationships()
+    {
+        return new GraphScan( db ).countRelationships( DatabaseHelper.<Relationship>everything() );
+    }
 
-            boolean hasAllPropertyNames = true;
-            for ( String propertyName : propertyNames )
+    private static GraphScan.Predicate<Node> hasAllProperties( final String... propertyNames )
+    {
+        return new GraphScan.Predicate<Node>()
+        {
+            public boolean accept( Node node )
             {
-                hasAllPropertyNames = hasAllPropertyNames && next.hasProperty( propertyName );
-                if ( !hasAllPropertyNames )
+                for ( String propertyName : propertyNames )
                 {
-                    break; // Modest optimisation
+                    if ( !node.hasProperty( propertyName ) )
+                    {
+                        return false;
+                    }
                 }
+                return true;
             }
-            if ( hasAllPropertyNames )
+        };
+    }
+
+    private static <T> GraphScan.Predicate<T> everything()
+    {
+        return new GraphScan.Predicate<T>()
+        {
+            public boolean accept( T entity )
             {
-                count++;
+                return true;
             }
-        }
-        return count;
+        };
     }
 
     public boolean nodeExistsInDatabase( Node node )
@@ -139,32 +183,34 @@ public class DatabaseHelper
             System.out.println( "Null Node" );
             return;
         }
-        System.out.println( String.format( "Node ID [%d]", node.getId() ) );
-        for ( String key : node.getPropertyKeys() )
-        {
-            System.out.print( key + " : " );
-            System.out.println( node.getProperty( key ) );
-        }
+        new GraphExporter( db ).export( Collections.singletonList( node ), Collections.<Relationship>emptyList(),
+                Channels.newChannel( System.out ), GraphExporter.Format.JSON_LINES );
     }
 
-    public List<Relationship> toListOfRelationships( Iterable<Relationship> iterable )
+    /**
+     * @return the relationships as a list of their ids, looking each one up again as it is read
+     */
+    public IdList<Relationship> toListOfRelationships( Iterable<Relationship> relationships )
     {
-        ArrayList<Relationship> rels = new ArrayList<Relationship>();
-        for ( Relationship r : iterable )
-        {
-            rels.add( r );
-        }
-        return rels;
+        return IdList.ofRelationships( relationships );
     }
 
-    public List<Node> toListOfNodes( Iterable<Node> nodes )
+    /**
+     * @return the nodes as a list of their ids, looking each one up again as it is read
+     */
+    public IdList<Node> toListOfNodes( Iterable<Node> nodes )
     {
-        ArrayList<Node> rels = new ArrayList<Node>();
-        for ( Node n : nodes )
-        {
-            rels.add( n );
-        }
-        return rels;
+        return IdList.ofNodes( nodes );
+    }
+
+    public IdSet<Node> toSetOfNodes( Iterable<Node> nodes )
+    {
+        return IdSet.ofNodes( db, nodes );
+    }
+
+    public IdSet<Relationship> toSetOfRelationships( Iterable<Relationship> relationships )
+    {
+        return IdSet.ofRelationships( db, relationships );
     }
 
     public int count( IndexHits<Node> indexHits )
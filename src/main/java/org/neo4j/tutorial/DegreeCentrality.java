@@ -0,0 +1,33 @@
+package org.neo4j.tutorial;
+
+/**
+ * How many relationships a node has, in either direction, as a fraction of the other nodes it could be
+ * related to.
+ */
+public class DegreeCentrality implements CentralityMetric
+{
+    public static final String PROPERTY_KEY = "degree_centrality";
+
+    public String getPropertyKey()
+    {
+        return PROPERTY_KEY;
+    }
+
+    public double[] compute( final GraphProjection graph, ParallelRanges ranges )
+    {
+        final double[] scores = new double[graph.getIdBound()];
+        final double others = Math.max( 1, graph.getNodeCount() - 1 );
+        ranges.forEach( scores.length, new ParallelRanges.Slice<Void>()
+        {
+            public Void run( int start, int end )
+            {
+                for ( int node = start; node < end; node++ )
+                {
+                    scores[node] = (graph.getOutDegree( node ) + graph.getInDegree( node )) / others;
+                }
+                return null;
+            }
+        } );
+        return scores;
+    }
+}
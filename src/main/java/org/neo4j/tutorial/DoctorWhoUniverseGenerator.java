@@ -1,78 +1,197 @@
 package org.neo4j.tutorial;
 
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
+import java.io.File;
+
 import org.neo4j.graphdb.Transaction;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class DoctorWhoUniverseGenerator
 {
+    public enum Backend
+    {
+        TRANSACTIONAL,
+        BATCH_INSERTER
+    }
+
+    public enum Indexing
+    {
+        /**
+         * Write each index entry as it is added.
+         */
+        IMMEDIATE,
+        /**
+         * Gather the index entries and write them at the end of the load, one pass per index, de-duplicated
+         * and sorted by key. This flushes far fewer Lucene segments and leaves smaller, better merged indexes.
+         */
+        DEFERRED
+    }
+
+    /**
+     * Large enough for each of the tutorial's data files to load in a single commit.
+     */
+    public static final int DEFAULT_FACTS_PER_COMMIT = 1000;
+
+    /**
+     * The system property naming a file to write load profiles to, as CSV if the name ends in ".csv" and as
+     * JSON otherwise. Every profiled load writes its profile there, replacing the one before. A universe copied
+     * from the shared store writes an unprofiled report saying so, unless this JVM has written one already.
+     */
+    public static final String LOAD_REPORT_PROPERTY = "universe.load.report";
+
+    private static volatile boolean loadReported = false;
 
     private final String dbDir = DatabaseHelper.createTempDatabaseDir()
             .getAbsolutePath();
+    private final CommitStatistics commitStatistics = new CommitStatistics();
+    private final LoadProfile loadProfile;
 
     public DoctorWhoUniverseGenerator()
     {
-        GraphDatabaseService db = DatabaseHelper.createDatabase( dbDir );
-        addDoctorAsNodeOneForToolSupportReasons( db );
-        addActors( db );
-        addEpisodes( db );
-        addCharacters( db );
-        addSpecies( db );
-        addPlanets( db );
-        addDalekProps( db );
-        db.shutdown();
+        UniverseStoreCache.copyGoldenStoreTo( new File( dbDir ) );
+        loadProfile = LoadProfile.unprofiled( "copied from the shared universe store at "
+                + UniverseStoreCache.goldenStore() );
+        if ( !loadReported )
+        {
+            writeLoadReport( loadProfile );
+        }
     }
 
-    private void addDoctorAsNodeOneForToolSupportReasons( GraphDatabaseService db )
+    public DoctorWhoUniverseGenerator( Backend backend )
     {
-        final Transaction transaction = db.beginTx();
+        this( backend, DEFAULT_FACTS_PER_COMMIT );
+    }
+
+    /**
+     * @param factsPerCommit how many facts to load in each transaction, or {@link BatchingTransaction#UNBATCHED}
+     *                       to load each data file in one
+     */
+    public DoctorWhoUniverseGenerator( Backend backend, int factsPerCommit )
+    {
+        this( backend, factsPerCommit, Indexing.IMMEDIATE );
+    }
+
+    public DoctorWhoUniverseGenerator( Backend backend, int factsPerCommit, Indexing indexing )
+    {
+        loadProfile = new LoadProfile();
+        generate( dbDir, backend, indexing, factsPerCommit, commitStatistics, loadProfile );
+    }
+
+    static void generate( String dbDir, Backend backend, Indexing indexing, int factsPerCommit,
+                          CommitStatistics statistics, LoadProfile profile )
+    {
+        UniverseContext universe = createUniverse( dbDir, backend, indexing, profile );
+        UniverseFingerprints fingerprints = new UniverseFingerprints();
         try
         {
-            final Node node = db.createNode();
-            node.setProperty( "character", "Doctor" );
-            db.index().forNodes( "characters" ).add( node, "character", "Doctor" );
-            transaction.success();
+            addDoctorAsNodeOneForToolSupportReasons( universe );
+            UniverseDataLoader.loadAll( universe, factsPerCommit, statistics, fingerprints );
         }
         finally
         {
-            transaction.finish();
+            universe.shutdown();
+        }
+        fingerprints.writeTo( dbDir );
+        writeLoadReport( profile );
+    }
+
+    /**
+     * Writes the profile of a finished load, or of a copy, to the file named by {@link #LOAD_REPORT_PROPERTY},
+     * if there is one.
+     */
+    static void writeLoadReport( LoadProfile profile )
+    {
+        String report = System.getProperty( LOAD_REPORT_PROPERTY );
+        if ( report != null )
+        {
+            profile.writeTo( new File( report ) );
+            loadReported = true;
         }
     }
 
-    private void addActors( GraphDatabaseService db )
+    /**
+     * Brings an existing universe store up to date with the data files, such as after a season has been
+     * added to the episodes. Facts the store already has are recognised by the {@link UniverseFingerprints}
+     * the load or last update left beside it, and skipped, so this costs about as much as loading whatever is
+     * new. Facts are only ever added, never taken away or changed, and editing or removing a fact in the data
+     * files isn't detected, so a store whose data files have had facts edited or removed must be generated
+     * again.
+     *
+     * @return how the new facts were committed
+     */
+    public static CommitStatistics update( String dbDir, int factsPerCommit )
     {
-        Actors actors = new Actors( db );
-        actors.insert();
+        CommitStatistics statistics = new CommitStatistics();
+        UniverseFingerprints fingerprints = UniverseFingerprints.readFrom( dbDir );
+        UniverseContext universe = new UniverseContext(
+                new TransactionalUniverseWriter( DatabaseHelper.createDatabase( dbDir ) ) );
+        try
+        {
+            if ( universe.theDoctor() == UniverseWriter.NO_NODE )
+            {
+                addDoctorAsNodeOneForToolSupportReasons( universe );
+            }
+            UniverseDataLoader.updateAll( universe, factsPerCommit, statistics, fingerprints );
+        }
+        finally
+        {
+            universe.shutdown();
+        }
+        fingerprints.writeTo( dbDir );
+        return statistics;
     }
 
-    private void addEpisodes( GraphDatabaseService db )
+    static UniverseContext createUniverse( String dbDir, Backend backend, Indexing indexing, LoadProfile profile )
     {
-        Episodes episodes = new Episodes( db );
-        episodes.insert();
+        UniverseWriter writer = createWriter( dbDir, backend, indexing == Indexing.DEFERRED );
+        return new UniverseContext( new ProfilingUniverseWriter( writer, profile ), profile );
     }
 
-    private void addCharacters( GraphDatabaseService db )
+    private static UniverseWriter createWriter( String dbDir, Backend backend, boolean deferIndexing )
     {
-        Characters characters = new Characters( db );
-        characters.insert();
+        if ( backend == Backend.BATCH_INSERTER )
+        {
+            return new BatchUniverseWriter( dbDir, deferIndexing );
+        }
+        return new TransactionalUniverseWriter( DatabaseHelper.createDatabase( dbDir ), true, deferIndexing );
+    }
+
+    static void addDoctorAsNodeOneForToolSupportReasons( UniverseContext universe )
+    {
+        final Transaction transaction = universe.beginTx();
+        try
+        {
+            final long node = universe.createNode( MapUtil.map( "character", "Doctor" ) );
+            universe.index( "characters", node, "character", "Doctor" );
+            transaction.success();
+        }
+        finally
+        {
+            transaction.finish();
+        }
     }
 
-    private void addSpecies( GraphDatabaseService db )
+    /**
+     * @return how the load was committed, which is empty if this universe was copied from an earlier load
+     */
+    public CommitStatistics getCommitStatistics()
     {
-        Species species = new Species( db );
-        species.insert();
+        return commitStatistics;
     }
 
-    private void addPlanets( GraphDatabaseService db )
+    /**
+     * @return where the load spent its time, which is unprofiled if this universe was copied from an earlier load
+     */
+    public LoadProfile getLoadProfile()
     {
-        Planets planets = new Planets( db );
-        planets.insert();
+        return loadProfile;
     }
 
-    private void addDalekProps( GraphDatabaseService db )
+    /**
+     * @return a {@link GraphSnapshot} of the universe, shared by every JVM which uses the same data and builders
+     */
+    public static File snapshot()
     {
-        DalekProps dalekProps = new DalekProps( db );
-        dalekProps.insert();
+        return UniverseStoreCache.goldenSnapshot();
     }
 
     public final String getDatabaseDirectory()
@@ -0,0 +1,157 @@
+package org.neo4j.tutorial;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.graphdb.RelationshipType;
+
+/**
+ * An open-addressing hash set of (start node, type, end node) triples, held in primitive
+ * arrays. Membership tests are exact and cost the same however many relationships the
+ * start node already has, which matters around the Doctor.
+ */
+class EdgeSet
+{
+    private static final int EMPTY = 0;
+
+    private final Map<String, Integer> typeIds;
+    private long[] starts;
+    private long[] ends;
+    private int[] types;
+    private int size = 0;
+
+    EdgeSet()
+    {
+        this( new HashMap<String, Integer>() );
+    }
+
+    private EdgeSet( Map<String, Integer> typeIds )
+    {
+        this.typeIds = typeIds;
+        allocate( 64 );
+    }
+
+    /**
+     * @return a new empty set which shares this set's type numbering, so the two can be merged cheaply
+     */
+    public EdgeSet newSibling()
+    {
+        return new EdgeSet( typeIds );
+    }
+
+    public boolean contains( long start, RelationshipType type, long end )
+    {
+        Integer typeId = typeIds.get( type.name() );
+        return typeId != null && contains( start, typeId, end );
+    }
+
+    public boolean add( long start, RelationshipType type, long end )
+    {
+        return add( start, typeId( type ), end );
+    }
+
+    public void addAll( EdgeSet other )
+    {
+        for ( int i = 0; i < other.types.length; i++ )
+        {
+            if ( other.types[i] != EMPTY )
+            {
+                add( other.starts[i], other.types[i], other.ends[i] );
+            }
+        }
+    }
+
+    public void clear()
+    {
+        if ( size > 0 )
+        {
+            allocate( 64 );
+        }
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    private boolean contains( long start, int type, long end )
+    {
+        int mask = types.length - 1;
+        for ( int slot = slot( start, type, end, mask ); types[slot] != EMPTY; slot = (slot + 1) & mask )
+        {
+            if ( types[slot] == type && starts[slot] == start && ends[slot] == end )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean add( long start, int type, long end )
+    {
+        if ( (size + 1) * 2 > types.length )
+        {
+            grow();
+        }
+
+        int mask = types.length - 1;
+        int slot = slot( start, type, end, mask );
+        while ( types[slot] != EMPTY )
+        {
+            if ( types[slot] == type && starts[slot] == start && ends[slot] == end )
+            {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        starts[slot] = start;
+        types[slot] = type;
+        ends[slot] = end;
+        size++;
+        return true;
+    }
+
+    private int typeId( RelationshipType type )
+    {
+        Integer typeId = typeIds.get( type.name() );
+        if ( typeId == null )
+        {
+            typeId = typeIds.size() + 1;
+            typeIds.put( type.name(), typeId );
+        }
+        return typeId;
+    }
+
+    private void grow()
+    {
+        long[] oldStarts = starts;
+        long[] oldEnds = ends;
+        int[] oldTypes = types;
+        allocate( oldTypes.length * 2 );
+        for ( int i = 0; i < oldTypes.length; i++ )
+        {
+            if ( oldTypes[i] != EMPTY )
+            {
+                add( oldStarts[i], oldTypes[i], oldEnds[i] );
+            }
+        }
+    }
+
+    private void allocate( int capacity )
+    {
+        starts = new long[capacity];
+        ends = new long[capacity];
+        types = new int[capacity];
+        size = 0;
+    }
+
+    private static int slot( long start, int type, long end, int mask )
+    {
+        long hash = (start * 31 + end) * 31 + type;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
@@ -14,6 +14,11 @@ public class EmbeddedDoctorWhoUniverse
         db = new GraphDatabaseFactory().newEmbeddedDatabase( universe.getDatabaseDirectory() );
     }
 
+    public EmbeddedDoctorWhoUniverse( SyntheticUniverseGenerator universe )
+    {
+        db = new GraphDatabaseFactory().newEmbeddedDatabase( universe.getDatabaseDirectory() );
+    }
+
     public Node theDoctor()
     {
         return db.index()
@@ -0,0 +1,224 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.neo4j.graphdb.RelationshipType;
+
+/**
+ * Remembers which node was indexed under each (index, key, value) during a load so the
+ * builders' get-or-create lookups don't have to go back to Lucene, and which relationships
+ * exist so ensuring one doesn't mean scanning its start node. Entries registered inside a
+ * transaction stay pending until it commits and are dropped if it rolls back, so the
+ * registry never points at anything the store doesn't have.
+ * <p>
+ * A writer which defers its index writes to the end of the load keeps the entries here
+ * too, so that only those of committed transactions are written.
+ */
+class EntityRegistry
+{
+    private final boolean complete;
+    private final Map<String, Long> committed = new HashMap<String, Long>();
+    private final Map<String, Long> committedKeys = new HashMap<String, Long>();
+    private final EdgeSet committedRelationships = new EdgeSet();
+    private Set<IndexEntry> committedIndexEntries = new HashSet<IndexEntry>();
+    private final Map<String, Long> pending = new HashMap<String, Long>();
+    private final Map<String, Long> pendingKeys = new HashMap<String, Long>();
+    private final EdgeSet pendingRelationships = committedRelationships.newSibling();
+    private final List<IndexEntry> pendingIndexEntries = new ArrayList<IndexEntry>();
+
+    /**
+     * @param complete true if every entry and relationship in the store will pass through this
+     *                 registry, which is the case when loading into a new store. A miss is then
+     *                 known to be absent and callers can skip the store altogether.
+     */
+    EntityRegistry( boolean complete )
+    {
+        this.complete = complete;
+    }
+
+    public boolean isComplete()
+    {
+        return complete;
+    }
+
+    public long find( String indexName, String key, Object value )
+    {
+        String entry = entry( indexName, key, value );
+        Long node = pending.get( entry );
+        if ( node == null )
+        {
+            node = committed.get( entry );
+        }
+        return node == null ? UniverseWriter.NO_NODE : node;
+    }
+
+    /**
+     * @return the first node registered under the key with any value, or {@link UniverseWriter#NO_NODE}
+     */
+    public long findAny( String indexName, String key )
+    {
+        Long node = pendingKeys.get( key( indexName, key ) );
+        if ( node == null )
+        {
+            node = committedKeys.get( key( indexName, key ) );
+        }
+        return node == null ? UniverseWriter.NO_NODE : node;
+    }
+
+    public void register( String indexName, String key, Object value, long node )
+    {
+        if ( find( indexName, key, value ) == UniverseWriter.NO_NODE )
+        {
+            pending.put( entry( indexName, key, value ), node );
+            if ( findAny( indexName, key ) == UniverseWriter.NO_NODE )
+            {
+                pendingKeys.put( key( indexName, key ), node );
+            }
+        }
+    }
+
+    /**
+     * Keeps an index entry to be written at the end of the load, by {@link #drainIndexEntries()}.
+     */
+    public void defer( String indexName, String key, Object value, long node )
+    {
+        pendingIndexEntries.add( new IndexEntry( indexName, key, value, node ) );
+    }
+
+    /**
+     * @return every deferred index entry committed so far, without duplicates and sorted by index, key
+     *         and value. They are forgotten, so each is only returned once.
+     */
+    public List<IndexEntry> drainIndexEntries()
+    {
+        List<IndexEntry> drained = new ArrayList<IndexEntry>( committedIndexEntries );
+        committedIndexEntries = new HashSet<IndexEntry>();
+        Collections.sort( drained );
+        return drained;
+    }
+
+    public boolean hasRelationship( long startNode, RelationshipType type, long endNode )
+    {
+        return pendingRelationships.contains( startNode, type, endNode )
+                || committedRelationships.contains( startNode, type, endNode );
+    }
+
+    public void registerRelationship( long startNode, RelationshipType type, long endNode )
+    {
+        if ( !committedRelationships.contains( startNode, type, endNode ) )
+        {
+            pendingRelationships.add( startNode, type, endNode );
+        }
+    }
+
+    public void commit()
+    {
+        committed.putAll( pending );
+        for ( Map.Entry<String, Long> key : pendingKeys.entrySet() )
+        {
+            if ( !committedKeys.containsKey( key.getKey() ) )
+            {
+                committedKeys.put( key.getKey(), key.getValue() );
+            }
+        }
+        committedRelationships.addAll( pendingRelationships );
+        committedIndexEntries.addAll( pendingIndexEntries );
+        rollback();
+    }
+
+    public void rollback()
+    {
+        pending.clear();
+        pendingKeys.clear();
+        pendingRelationships.clear();
+        pendingIndexEntries.clear();
+    }
+
+    private static String entry( String indexName, String key, Object value )
+    {
+        return key( indexName, key ) + '\u0000' + value;
+    }
+
+    private static String key( String indexName, String key )
+    {
+        return indexName + '\u0000' + key;
+    }
+
+    static class IndexEntry implements Comparable<IndexEntry>
+    {
+        private final String indexName;
+        private final String key;
+        private final Object value;
+        private final long node;
+
+        IndexEntry( String indexName, String key, Object value, long node )
+        {
+            this.indexName = indexName;
+            this.key = key;
+            this.value = value;
+            this.node = node;
+        }
+
+        public String getIndexName()
+        {
+            return indexName;
+        }
+
+        public String getKey()
+        {
+            return key;
+        }
+
+        public Object getValue()
+        {
+            return value;
+        }
+
+        public long getNode()
+        {
+            return node;
+        }
+
+        public int compareTo( IndexEntry other )
+        {
+            int order = indexName.compareTo( other.indexName );
+            if ( order == 0 )
+            {
+                order = key.compareTo( other.key );
+            }
+            if ( order == 0 )
+            {
+                order = String.valueOf( value ).compareTo( String.valueOf( other.value ) );
+            }
+            if ( order == 0 )
+            {
+                order = node < other.node ? -1 : (node == other.node ? 0 : 1);
+            }
+            return order;
+        }
+
+        @Override
+        public boolean equals( Object other )
+        {
+            if ( !(other instanceof IndexEntry) )
+            {
+                return false;
+            }
+            IndexEntry entry = (IndexEntry) other;
+            return node == entry.node && indexName.equals( entry.indexName ) && key.equals( entry.key )
+                    && value.equals( entry.value );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return ((indexName.hashCode() * 31 + key.hashCode()) * 31 + value.hashCode()) * 31 + (int) node;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.neo4j.tutorial;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * What the id collections need to know about nodes and relationships, which share no interface with an id.
+ */
+abstract class EntityType<T>
+{
+    static final EntityType<Node> NODES = new EntityType<Node>( Node.class )
+    {
+        @Override
+        long idOf( Node node )
+        {
+            return node.getId();
+        }
+
+        @Override
+        Node resolve( GraphDatabaseService db, long id )
+        {
+            return db.getNodeById( id );
+        }
+    };
+
+    static final EntityType<Relationship> RELATIONSHIPS = new EntityType<Relationship>( Relationship.class )
+    {
+        @Override
+        long idOf( Relationship relationship )
+        {
+            return relationship.getId();
+        }
+
+        @Override
+        Relationship resolve( GraphDatabaseService db, long id )
+        {
+            return db.getRelationshipById( id );
+        }
+    };
+
+    private final Class<T> type;
+
+    private EntityType( Class<T> type )
+    {
+        this.type = type;
+    }
+
+    abstract long idOf( T entity );
+
+    abstract T resolve( GraphDatabaseService db, long id );
+
+    /**
+     * @return the id of the object, or -1 if it isn't an entity of this type
+     */
+    long idOfAny( Object entity )
+    {
+        return type.isInstance( entity ) ? idOf( type.cast( entity ) ) : -1;
+    }
+}
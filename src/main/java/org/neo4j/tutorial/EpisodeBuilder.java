@@ -7,12 +7,10 @@ import static org.neo4j.tutorial.DatabaseHelper.ensureRelationshipInDb;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
-import org.neo4j.graphdb.Direction;
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
-import org.neo4j.graphdb.Relationship;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class EpisodeBuilder
 {
@@ -25,8 +23,6 @@ public class EpisodeBuilder
     private List<String> enemies = new ArrayList<String>();
     private String[] allies;
     private List<String> alliedSpecies = new ArrayList<String>();
-
-    private static Node previousEpisode = null;
     private List<String> others = new ArrayList<String>();
 
     public EpisodeBuilder( String episodeNumber )
@@ -34,11 +30,6 @@ public class EpisodeBuilder
         this.episodeNumber = episodeNumber;
     }
 
-    public static void reset()
-    {
-        previousEpisode = null;
-    }
-
     public static EpisodeBuilder episode( int episodeNumber )
     {
         return new EpisodeBuilder( String.valueOf( episodeNumber ) );
@@ -79,21 +70,24 @@ public class EpisodeBuilder
         return this;
     }
 
-    public void fact( GraphDatabaseService db )
+    public void fact( UniverseContext universe )
     {
         checkEpisodeNumberAndTitle();
 
-        Node episode = ensureEpisodeNodeInDb( db );
+        long episode = universe.findNode( "episodes", "title", this.title );
+        boolean appended = episode == UniverseWriter.NO_NODE;
+        long previous = appended ? universe.previousEpisode() : UniverseWriter.NO_NODE;
+        episode = ensureEpisodeNodeInDb( universe, episode );
 
-        ensureDoctorActorsAreInDb( db, episode );
+        ensureDoctorActorsAreInDb( universe, episode );
 
         if ( this.companionNames != null )
         {
             for ( String companionName : companionNames )
             {
-                Node companionNode = CharacterBuilder.ensureCharacterIsInDb( companionName, db );
-                companionNode.createRelationshipTo( episode, DoctorWhoRelationships.APPEARED_IN );
-                ensureCompanionRelationshipInDb( companionNode, db );
+                long companionNode = CharacterBuilder.ensureCharacterIsInDb( companionName, universe );
+                appearedIn( universe, companionNode, episode, appended );
+                ensureCompanionRelationshipInDb( companionNode, universe );
             }
         }
 
@@ -101,9 +95,9 @@ public class EpisodeBuilder
         {
             for ( String eSpecies : enemySpecies )
             {
-                Node speciesNode = SpeciesBuilder.ensureSpeciesInDb( eSpecies, db );
-                speciesNode.createRelationshipTo( episode, DoctorWhoRelationships.APPEARED_IN );
-                ensureEnemyOfRelationshipInDb( speciesNode, db );
+                long speciesNode = SpeciesBuilder.ensureSpeciesInDb( eSpecies, universe );
+                appearedIn( universe, speciesNode, episode, appended );
+                ensureEnemyOfRelationshipInDb( speciesNode, universe );
             }
         }
 
@@ -111,9 +105,9 @@ public class EpisodeBuilder
         {
             for ( String enemy : enemies )
             {
-                Node enemyNode = CharacterBuilder.ensureCharacterIsInDb( enemy, db );
-                enemyNode.createRelationshipTo( episode, DoctorWhoRelationships.APPEARED_IN );
-                ensureEnemyOfRelationshipInDb( enemyNode, db );
+                long enemyNode = CharacterBuilder.ensureCharacterIsInDb( enemy, universe );
+                appearedIn( universe, enemyNode, episode, appended );
+                ensureEnemyOfRelationshipInDb( enemyNode, universe );
             }
         }
 
@@ -121,9 +115,9 @@ public class EpisodeBuilder
         {
             for ( String ally : allies )
             {
-                Node allyNode = CharacterBuilder.ensureCharacterIsInDb( ally, db );
-                allyNode.createRelationshipTo( episode, DoctorWhoRelationships.APPEARED_IN );
-                ensureAllyOfRelationshipInDb( allyNode, db );
+                long allyNode = CharacterBuilder.ensureCharacterIsInDb( ally, universe );
+                appearedIn( universe, allyNode, episode, appended );
+                ensureAllyOfRelationshipInDb( allyNode, universe );
             }
         }
 
@@ -131,9 +125,9 @@ public class EpisodeBuilder
         {
             for ( String aSpecies : alliedSpecies )
             {
-                Node speciesNode = SpeciesBuilder.ensureSpeciesInDb( aSpecies, db );
-                speciesNode.createRelationshipTo( episode, DoctorWhoRelationships.APPEARED_IN );
-                ensureAllyOfRelationshipInDb( speciesNode, db );
+                long speciesNode = SpeciesBuilder.ensureSpeciesInDb( aSpecies, universe );
+                appearedIn( universe, speciesNode, episode, appended );
+                ensureAllyOfRelationshipInDb( speciesNode, universe );
             }
         }
 
@@ -141,58 +135,68 @@ public class EpisodeBuilder
         {
             for ( String other : others )
             {
-                Node otherCharacter = CharacterBuilder.ensureCharacterIsInDb( other, db );
-                otherCharacter.createRelationshipTo( episode, DoctorWhoRelationships.APPEARED_IN );
+                long otherCharacter = CharacterBuilder.ensureCharacterIsInDb( other, universe );
+                appearedIn( universe, otherCharacter, episode, appended );
             }
         }
 
-        linkToPrevious( episode );
+        if ( appended )
+        {
+            linkToPrevious( universe, previous, episode );
+        }
     }
 
-    private void linkToPrevious( Node episode )
+    /**
+     * An episode which was already in the store may already have its appearances, so they are only added
+     * if they're missing.
+     */
+    private static void appearedIn( UniverseContext universe, long node, long episode, boolean appended )
     {
-        if ( previousEpisode != null )
+        if ( appended )
+        {
+            universe.createRelationship( node, DoctorWhoRelationships.APPEARED_IN, episode,
+                    new HashMap<String, Object>() );
+        }
+        else
         {
-            previousEpisode.createRelationshipTo( episode, DoctorWhoRelationships.NEXT );
-            episode.createRelationshipTo( previousEpisode, DoctorWhoRelationships.PREVIOUS );
+            ensureRelationshipInDb( universe, node, DoctorWhoRelationships.APPEARED_IN, episode );
         }
+    }
 
-        previousEpisode = episode;
+    private void linkToPrevious( UniverseContext universe, long previous, long episode )
+    {
+        if ( previous != UniverseWriter.NO_NODE )
+        {
+            universe.createRelationship( previous, DoctorWhoRelationships.NEXT, episode,
+                    new HashMap<String, Object>() );
+            universe.createRelationship( episode, DoctorWhoRelationships.PREVIOUS, previous,
+                    new HashMap<String, Object>() );
+        }
+
+        universe.episodeAppended( episode );
     }
 
-    private void ensureDoctorActorsAreInDb( GraphDatabaseService db, Node episode )
+    private void ensureDoctorActorsAreInDb( UniverseContext universe, long episode )
     {
         if ( doctorActors != null )
         {
             for ( String actor : doctorActors )
             {
-                Node actorNode = ensureDoctorActorInDb( actor, db );
-                ensureRelationshipInDb( actorNode, DoctorWhoRelationships.APPEARED_IN, episode );
+                long actorNode = ensureDoctorActorInDb( actor, universe );
+                ensureRelationshipInDb( universe, actorNode, DoctorWhoRelationships.APPEARED_IN, episode );
             }
         }
     }
 
-    private Node ensureEpisodeNodeInDb( GraphDatabaseService db )
+    private long ensureEpisodeNodeInDb( UniverseContext universe, long episode )
     {
-        Node episode = db.index()
-                .forNodes( "episodes" )
-                .get( "title", this.title )
-                .getSingle();
-
-        if ( episode == null )
+        if ( episode == UniverseWriter.NO_NODE )
         {
-            episode = db.createNode();
-            episode.setProperty( "episode", episodeNumber );
-            episode.setProperty( "title", title );
+            episode = universe.createNode( MapUtil.map( "episode", episodeNumber, "title", title ) );
+            universe.index( "episodes", episode, "title", title );
+            universe.index( "episodes", episode, "episode", episodeNumber );
         }
 
-        db.index()
-                .forNodes( "episodes" )
-                .add( episode, "title", title );
-        db.index()
-                .forNodes( "episodes" )
-                .add( episode, "episode", episodeNumber );
-
         return episode;
     }
 
@@ -209,33 +213,22 @@ public class EpisodeBuilder
         }
     }
 
-    private Node ensureDoctorActorInDb( String doctorActor, GraphDatabaseService db )
+    private long ensureDoctorActorInDb( String doctorActor, UniverseContext universe )
     {
-        Node theDoctor = db.index()
-                .forNodes( "characters" )
-                .get( "character", "Doctor" )
-                .getSingle();
+        long theDoctor = universe.theDoctor();
 
-        Iterable<Relationship> relationships = theDoctor.getRelationships( DoctorWhoRelationships.PLAYED,
-                Direction.INCOMING );
-
-
-        for ( Relationship r : relationships )
+        // Look the actor up rather than scanning everyone who played the Doctor, which gets slow in large universes
+        long actor = universe.findNode( "actors", "actor", doctorActor );
+        if ( actor != UniverseWriter.NO_NODE
+                && universe.relationshipExists( actor, DoctorWhoRelationships.PLAYED, theDoctor ) )
         {
-            Node current = r.getStartNode();
-            if ( current.getProperty( "actor" )
-                    .equals( doctorActor ) )
-            {
-                return current;
-            }
+            return actor;
         }
 
-        Node doctorActorNode = db.createNode();
-        doctorActorNode.setProperty( "actor", doctorActor );
-        doctorActorNode.createRelationshipTo( theDoctor, DoctorWhoRelationships.PLAYED );
-        db.index()
-                .forNodes( "actors" )
-                .add( doctorActorNode, "actor", doctorActor );
+        long doctorActorNode = universe.createNode( MapUtil.map( "actor", doctorActor ) );
+        universe.createRelationship( doctorActorNode, DoctorWhoRelationships.PLAYED, theDoctor,
+                new HashMap<String, Object>() );
+        universe.index( "actors", doctorActorNode, "actor", doctorActor );
         return doctorActorNode;
     }
 
@@ -0,0 +1,628 @@
+package org.neo4j.tutorial;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.lucene.document.Fieldable;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.util.MinimalPrettyPrinter;
+import org.neo4j.graphdb.DependencyResolver;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.GraphDatabaseAPI;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.transaction.XaDataSourceManager;
+import org.neo4j.tooling.GlobalGraphOperations;
+
+/**
+ * Streams the nodes, relationships and properties of a database out as JSON lines, CSV or GraphML, one element
+ * at a time through a buffered channel, so an export takes the same memory whatever the size of the store.
+ * Property values keep their types, and {@link GraphImporter} rebuilds a store from any of the formats.
+ * <p>
+ * Index memberships are only exported when asked for with {@link #withIndexMemberships()}. The index API has no
+ * way to list the entries of a node, so they are read from the Lucene node indexes on disk of an embedded
+ * database, after the Lucene log has been rotated so that everything committed is there. Lucene keeps indexed
+ * values as text, which is how they are exported.
+ */
+public class GraphExporter
+{
+    public enum Format
+    {
+        /**
+         * One JSON object per line for each node, with its index memberships, then one for each relationship.
+         */
+        JSON_LINES,
+        /**
+         * One row per node, relationship, property and index membership, the properties and memberships
+         * following the element they belong to.
+         */
+        CSV,
+        /**
+         * GraphML, with relationship types in the label attribute of each edge.
+         */
+        GRAPHML;
+
+        /**
+         * @return the format going by the extension of the file, which is JSON lines unless it is .csv or .graphml
+         */
+        public static Format forFile( File file )
+        {
+            String name = file.getName().toLowerCase();
+            if ( name.endsWith( ".csv" ) )
+            {
+                return CSV;
+            }
+            if ( name.endsWith( ".graphml" ) )
+            {
+                return GRAPHML;
+            }
+            return JSON_LINES;
+        }
+    }
+
+    static final Charset UTF_8 = Charset.forName( "UTF-8" );
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final String CSV_HEADER = "kind,id,start,end,label,key,type,value\n";
+    static final String INDEX_KEY = "index";
+
+    private static final String LUCENE_DATA_SOURCE = "lucene-index";
+    private static final String NODE_INDEXES = "index/lucene/node";
+    private static final String ID_FIELD = "_id_";
+
+    private final GraphDatabaseService db;
+    private boolean indexMemberships;
+
+    public GraphExporter( GraphDatabaseService db )
+    {
+        this.db = db;
+    }
+
+    /**
+     * Exports the index memberships of each node as well, which rotates the Lucene log of the database.
+     */
+    public GraphExporter withIndexMemberships()
+    {
+        embedded( db );
+        indexMemberships = true;
+        return this;
+    }
+
+    public void export( File file )
+    {
+        export( file, Format.forFile( file ) );
+    }
+
+    public void export( File file, Format format )
+    {
+        try
+        {
+            FileOutputStream out = new FileOutputStream( file );
+            try
+            {
+                export( out.getChannel(), format );
+            }
+            finally
+            {
+                out.close();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to export the graph to " + file, e );
+        }
+    }
+
+    /**
+     * Exports the whole graph, leaving the channel open.
+     */
+    public void export( WritableByteChannel channel, Format format )
+    {
+        GlobalGraphOperations graph = GlobalGraphOperations.at( db );
+        export( graph.getAllNodes(), graph.getAllRelationships(), channel, format );
+    }
+
+    /**
+     * Exports some of the graph, leaving the channel open. GraphML declares its property keys up front, so for
+     * GraphML both iterables are read twice.
+     */
+    public void export( Iterable<Node> nodes, Iterable<Relationship> relationships, WritableByteChannel channel,
+                        Format format )
+    {
+        Writer out = Channels.newWriter( channel, UTF_8.newEncoder(), BUFFER_SIZE );
+        Map<String, IndexReader> indexes = new TreeMap<String, IndexReader>();
+        try
+        {
+            if ( indexMemberships )
+            {
+                openNodeIndexes( db, indexes );
+            }
+            ElementWriter writer = newWriter( format, out );
+            writer.start( nodes, relationships );
+            List<String[]> memberships = new ArrayList<String[]>();
+            for ( Node node : nodes )
+            {
+                memberships.clear();
+                findMemberships( node.getId(), indexes, memberships );
+                writer.node( node, memberships );
+            }
+            for ( Relationship relationship : relationships )
+            {
+                writer.relationship( relationship );
+            }
+            writer.end();
+            out.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to export the graph", e );
+        }
+        finally
+        {
+            for ( IndexReader index : indexes.values() )
+            {
+                close( index );
+            }
+        }
+    }
+
+    static void openNodeIndexes( GraphDatabaseService db, Map<String, IndexReader> indexes ) throws IOException
+    {
+        String[] indexNames = db.index().nodeIndexNames();
+        if ( indexNames.length == 0 )
+        {
+            return;
+        }
+        DependencyResolver dependencies = embedded( db ).getDependencyResolver();
+        dependencies.resolveDependency( XaDataSourceManager.class ).getXaDataSource( LUCENE_DATA_SOURCE )
+                .rotateLogicalLog();
+        File storeDir = dependencies.resolveDependency( Config.class ).get( GraphDatabaseSettings.store_dir );
+        for ( String indexName : indexNames )
+        {
+            File directory = new File( new File( storeDir, NODE_INDEXES ), indexName );
+            if ( directory.exists() )
+            {
+                indexes.put( indexName, IndexReader.open( FSDirectory.open( directory ) ) );
+            }
+        }
+    }
+
+    private static GraphDatabaseAPI embedded( GraphDatabaseService db )
+    {
+        if ( !(db instanceof GraphDatabaseAPI) )
+        {
+            throw new IllegalArgumentException( "Index memberships can only be read from an embedded database, was "
+                    + db.getClass().getName() );
+        }
+        return (GraphDatabaseAPI) db;
+    }
+
+    static void findMemberships( long node, Map<String, IndexReader> indexes, List<String[]> memberships )
+            throws IOException
+    {
+        Term id = new Term( ID_FIELD, Long.toString( node ) );
+        for ( Map.Entry<String, IndexReader> index : indexes.entrySet() )
+        {
+            TermDocs documents = index.getValue().termDocs( id );
+            try
+            {
+                while ( documents.next() )
+                {
+                    for ( Fieldable field : index.getValue().document( documents.doc() ).getFields() )
+                    {
+                        if ( !ID_FIELD.equals( field.name() ) )
+                        {
+                            memberships.add( new String[] { index.getKey(), field.name(), field.stringValue() } );
+                        }
+                    }
+                }
+            }
+            finally
+            {
+                documents.close();
+            }
+        }
+    }
+
+    static void close( IndexReader index )
+    {
+        try
+        {
+            index.close();
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to close an index reader", e );
+        }
+    }
+
+    private static ElementWriter newWriter( Format format, Writer out ) throws IOException
+    {
+        switch ( format )
+        {
+            case CSV:
+                return new CsvWriter( out );
+            case GRAPHML:
+                return new GraphmlWriter( out );
+            default:
+                return new JsonLinesWriter( out );
+        }
+    }
+
+    private interface ElementWriter
+    {
+        void start( Iterable<Node> nodes, Iterable<Relationship> relationships ) throws IOException;
+
+        /**
+         * @param memberships the index name, key and value of each entry for the node
+         */
+        void node( Node node, List<String[]> memberships ) throws IOException;
+
+        void relationship( Relationship relationship ) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    private static class JsonLinesWriter implements ElementWriter
+    {
+        private final Writer out;
+        private final JsonGenerator json;
+        private boolean empty = true;
+
+        JsonLinesWriter( Writer out ) throws IOException
+        {
+            this.out = out;
+            this.json = new JsonFactory().createJsonGenerator( out );
+            json.disable( JsonGenerator.Feature.AUTO_CLOSE_TARGET );
+            json.setPrettyPrinter( new MinimalPrettyPrinter()
+            {
+                @Override
+                public void writeRootValueSeparator( JsonGenerator json ) throws IOException
+                {
+                    json.writeRaw( '\n' );
+                }
+            } );
+        }
+
+        public void start( Iterable<Node> nodes, Iterable<Relationship> relationships )
+        {
+        }
+
+        public void node( Node node, List<String[]> memberships ) throws IOException
+        {
+            json.writeStartObject();
+            json.writeStringField( "type", "node" );
+            json.writeNumberField( "id", node.getId() );
+            properties( node );
+            if ( !memberships.isEmpty() )
+            {
+                json.writeArrayFieldStart( "indexes" );
+                for ( String[] membership : memberships )
+                {
+                    json.writeStartObject();
+                    json.writeStringField( "index", membership[0] );
+                    json.writeStringField( "key", membership[1] );
+                    json.writeStringField( "value", membership[2] );
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+            empty = false;
+        }
+
+        public void relationship( Relationship relationship ) throws IOException
+        {
+            json.writeStartObject();
+            json.writeStringField( "type", "relationship" );
+            json.writeNumberField( "id", relationship.getId() );
+            json.writeNumberField( "start", relationship.getStartNode().getId() );
+            json.writeNumberField( "end", relationship.getEndNode().getId() );
+            json.writeStringField( "label", relationship.getType().name() );
+            properties( relationship );
+            json.writeEndObject();
+            empty = false;
+        }
+
+        public void end() throws IOException
+        {
+            json.flush();
+            if ( !empty )
+            {
+                out.write( '\n' );
+            }
+        }
+
+        /**
+         * Strings, booleans, ints and finite doubles are written as themselves, and everything else as an
+         * object of its type and its text.
+         */
+        private void properties( PropertyContainer entity ) throws IOException
+        {
+            json.writeObjectFieldStart( "properties" );
+            for ( String key : entity.getPropertyKeys() )
+            {
+                Object value = entity.getProperty( key );
+                if ( value instanceof String )
+                {
+                    json.writeStringField( key, (String) value );
+                }
+                else if ( value instanceof Boolean )
+                {
+                    json.writeBooleanField( key, (Boolean) value );
+                }
+                else if ( value instanceof Integer )
+                {
+                    json.writeNumberField( key, (Integer) value );
+                }
+                else if ( value instanceof Double && !((Double) value).isNaN() && !((Double) value).isInfinite() )
+                {
+                    json.writeNumberField( key, (Double) value );
+                }
+                else
+                {
+                    json.writeObjectFieldStart( key );
+                    json.writeStringField( "type", PropertyValues.typeOf( value ) );
+                    json.writeStringField( "value", PropertyValues.toText( value ) );
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndObject();
+        }
+    }
+
+    private static class CsvWriter implements ElementWriter
+    {
+        private final Writer out;
+
+        CsvWriter( Writer out )
+        {
+            this.out = out;
+        }
+
+        public void start( Iterable<Node> nodes, Iterable<Relationship> relationships ) throws IOException
+        {
+            out.write( CSV_HEADER );
+        }
+
+        public void node( Node node, List<String[]> memberships ) throws IOException
+        {
+            out.write( "node," );
+            out.write( Long.toString( node.getId() ) );
+            out.write( ",,,,,,\n" );
+            properties( node.getId(), node );
+            for ( String[] membership : memberships )
+            {
+                out.write( "index," );
+                out.write( Long.toString( node.getId() ) );
+                out.write( ",,," );
+                field( membership[0] );
+                out.write( ',' );
+                field( membership[1] );
+                out.write( ",string," );
+                field( membership[2] );
+                out.write( '\n' );
+            }
+        }
+
+        public void relationship( Relationship relationship ) throws IOException
+        {
+            out.write( "relationship," );
+            out.write( Long.toString( relationship.getId() ) );
+            out.write( ',' );
+            out.write( Long.toString( relationship.getStartNode().getId() ) );
+            out.write( ',' );
+            out.write( Long.toString( relationship.getEndNode().getId() ) );
+            out.write( ',' );
+            field( relationship.getType().name() );
+            out.write( ",,,\n" );
+            properties( relationship.getId(), relationship );
+        }
+
+        public void end()
+        {
+        }
+
+        private void properties( long id, PropertyContainer entity ) throws IOException
+        {
+            for ( String key : entity.getPropertyKeys() )
+            {
+                Object value = entity.getProperty( key );
+                out.write( "property," );
+                out.write( Long.toString( id ) );
+                out.write( ",,,," );
+                field( key );
+                out.write( ',' );
+                out.write( PropertyValues.typeOf( value ) );
+                out.write( ',' );
+                field( PropertyValues.toText( value ) );
+                out.write( '\n' );
+            }
+        }
+
+        private void field( String value ) throws IOException
+        {
+            boolean quoted = false;
+            for ( int c = 0; c < value.length() && !quoted; c++ )
+            {
+                char ch = value.charAt( c );
+                quoted = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+            }
+            if ( !quoted )
+            {
+                out.write( value );
+                return;
+            }
+            out.write( '"' );
+            for ( int c = 0; c < value.length(); c++ )
+            {
+                char ch = value.charAt( c );
+                if ( ch == '"' )
+                {
+                    out.write( '"' );
+                }
+                out.write( ch );
+            }
+            out.write( '"' );
+        }
+    }
+
+    private static class GraphmlWriter implements ElementWriter
+    {
+        private final Writer out;
+        private final Map<String, String> nodeKeys = new TreeMap<String, String>();
+        private final Map<String, String> relationshipKeys = new TreeMap<String, String>();
+
+        GraphmlWriter( Writer out )
+        {
+            this.out = out;
+        }
+
+        public void start( Iterable<Node> nodes, Iterable<Relationship> relationships ) throws IOException
+        {
+            for ( Node node : nodes )
+            {
+                declare( node, nodeKeys, "nk" );
+            }
+            for ( Relationship relationship : relationships )
+            {
+                declare( relationship, relationshipKeys, "ek" );
+            }
+
+            out.write( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+            out.write( "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n" );
+            out.write( "<key id=\"" + INDEX_KEY + "\" for=\"node\" attr.name=\"" + INDEX_KEY
+                    + "\" attr.type=\"string\"/>\n" );
+            keys( "node", nodeKeys );
+            keys( "edge", relationshipKeys );
+            out.write( "<graph id=\"G\" edgedefault=\"directed\">\n" );
+        }
+
+        public void node( Node node, List<String[]> memberships ) throws IOException
+        {
+            out.write( "<node id=\"n" );
+            out.write( Long.toString( node.getId() ) );
+            out.write( "\">" );
+            data( node, nodeKeys );
+            for ( String[] membership : memberships )
+            {
+                out.write( "<data key=\"" + INDEX_KEY + "\">" );
+                text( PropertyValues.toText( membership ) );
+                out.write( "</data>" );
+            }
+            out.write( "</node>\n" );
+        }
+
+        public void relationship( Relationship relationship ) throws IOException
+        {
+            out.write( "<edge id=\"e" );
+            out.write( Long.toString( relationship.getId() ) );
+            out.write( "\" source=\"n" );
+            out.write( Long.toString( relationship.getStartNode().getId() ) );
+            out.write( "\" target=\"n" );
+            out.write( Long.toString( relationship.getEndNode().getId() ) );
+            out.write( "\" label=\"" );
+            text( relationship.getType().name() );
+            out.write( "\">" );
+            data( relationship, relationshipKeys );
+            out.write( "</edge>\n" );
+        }
+
+        public void end() throws IOException
+        {
+            out.write( "</graph>\n</graphml>\n" );
+        }
+
+        /**
+         * Keys are declared for each property name and type, as GraphML gives every key a single type.
+         */
+        private static void declare( PropertyContainer entity, Map<String, String> keys, String prefix )
+        {
+            for ( String key : entity.getPropertyKeys() )
+            {
+                String declaration = key + '\n' + PropertyValues.typeOf( entity.getProperty( key ) );
+                if ( !keys.containsKey( declaration ) )
+                {
+                    keys.put( declaration, prefix + keys.size() );
+                }
+            }
+        }
+
+        private void keys( String domain, Map<String, String> keys ) throws IOException
+        {
+            for ( Map.Entry<String, String> key : keys.entrySet() )
+            {
+                String[] declaration = key.getKey().split( "\n", 2 );
+                String type = declaration[1];
+                boolean standard = "string".equals( type ) || "boolean".equals( type ) || "int".equals( type )
+                        || "long".equals( type ) || "float".equals( type ) || "double".equals( type );
+                out.write( "<key id=\"" + key.getValue() + "\" for=\"" + domain + "\" attr.name=\"" );
+                text( declaration[0] );
+                out.write( "\" attr.type=\"" + (standard ? type : "string") + "\" neo4j.type=\"" + type + "\"/>\n" );
+            }
+        }
+
+        private void data( PropertyContainer entity, Map<String, String> keys ) throws IOException
+        {
+            for ( String key : entity.getPropertyKeys() )
+            {
+                Object value = entity.getProperty( key );
+                out.write( "<data key=\"" );
+                out.write( keys.get( key + '\n' + PropertyValues.typeOf( value ) ) );
+                out.write( "\">" );
+                text( PropertyValues.toText( value ) );
+                out.write( "</data>" );
+            }
+        }
+
+        private void text( String value ) throws IOException
+        {
+            for ( int c = 0; c < value.length(); c++ )
+            {
+                char ch = value.charAt( c );
+                switch ( ch )
+                {
+                    case '&':
+                        out.write( "&amp;" );
+                        break;
+                    case '<':
+                        out.write( "&lt;" );
+                        break;
+                    case '>':
+                        out.write( "&gt;" );
+                        break;
+                    case '"':
+                        out.write( "&quot;" );
+                        break;
+                    case '\n':
+                        out.write( "&#10;" );
+                        break;
+                    case '\r':
+                        out.write( "&#13;" );
+                        break;
+                    case '\t':
+                        out.write( "&#9;" );
+                        break;
+                    default:
+                        out.write( ch );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,523 @@
+package org.neo4j.tutorial;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.helpers.collection.MapUtil;
+import org.neo4j.index.lucene.unsafe.batchinsert.LuceneBatchInserterIndexProvider;
+import org.neo4j.tutorial.GraphExporter.Format;
+import org.neo4j.unsafe.batchinsert.BatchInserter;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndex;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndexProvider;
+import org.neo4j.unsafe.batchinsert.BatchInserters;
+
+/**
+ * Rebuilds a store from what {@link GraphExporter} wrote, reading one element at a time. Nodes keep their ids,
+ * while relationships are numbered afresh in the order they were exported, which only differs from their old
+ * ids where relationships had been deleted. Index entries are added with their values as text, the way
+ * Lucene keeps them anyway.
+ */
+public class GraphImporter
+{
+    private static final Map<String, String> EXACT = MapUtil.stringMap( "type", "exact" );
+
+    private final BatchInserter inserter;
+    private final BatchInserterIndexProvider indexProvider;
+    private final Map<String, BatchInserterIndex> indexes = new HashMap<String, BatchInserterIndex>();
+
+    /**
+     * @param storeDir where to create the store, which must not exist yet
+     */
+    public GraphImporter( String storeDir )
+    {
+        inserter = BatchInserters.inserter( storeDir );
+        indexProvider = new LuceneBatchInserterIndexProvider( inserter );
+    }
+
+    /**
+     * Imports an export into a new store.
+     */
+    public static void rebuild( File export, String storeDir )
+    {
+        GraphImporter importer = new GraphImporter( storeDir );
+        try
+        {
+            importer.importFrom( export );
+        }
+        finally
+        {
+            importer.shutdown();
+        }
+    }
+
+    public void importFrom( File export )
+    {
+        importFrom( export, Format.forFile( export ) );
+    }
+
+    public void importFrom( File export, Format format )
+    {
+        try
+        {
+            FileInputStream in = new FileInputStream( export );
+            try
+            {
+                importFrom( in.getChannel(), format );
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to import the graph from " + export, e );
+        }
+    }
+
+    /**
+     * Imports from the channel, leaving it open.
+     */
+    public void importFrom( ReadableByteChannel channel, Format format )
+    {
+        Reader in = new BufferedReader( Channels.newReader( channel, GraphExporter.UTF_8.newDecoder(),
+                GraphExporter.BUFFER_SIZE ), GraphExporter.BUFFER_SIZE );
+        try
+        {
+            switch ( format )
+            {
+                case CSV:
+                    readCsv( in );
+                    break;
+                case GRAPHML:
+                    readGraphml( in );
+                    break;
+                default:
+                    readJsonLines( in );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to import the graph", e );
+        }
+        catch ( XMLStreamException e )
+        {
+            throw new RuntimeException( "Unable to import the graph", e );
+        }
+    }
+
+    /**
+     * Imports a snapshot, which keeps relationship ids as well as node ids where no relationships were deleted
+     * before it was taken.
+     */
+    public void importFrom( GraphSnapshot snapshot )
+    {
+        List<String[]> noMemberships = Collections.emptyList();
+        for ( long id = 0; id <= snapshot.getHighestNodeId(); id++ )
+        {
+            if ( snapshot.hasNode( id ) )
+            {
+                node( id, snapshot.getNodeProperties( id ), noMemberships );
+            }
+        }
+        for ( long id = 0; id < snapshot.getRelationshipCount(); id++ )
+        {
+            relationship( snapshot.getStartNode( id ), snapshot.getEndNode( id ), snapshot.getType( id ).name(),
+                    snapshot.getRelationshipProperties( id ) );
+        }
+        for ( int entry = 0; entry < snapshot.indexEntryCount(); entry++ )
+        {
+            String[] membership = snapshot.indexEntry( entry );
+            nodeIndex( membership[0] ).add( snapshot.indexedNode( entry ),
+                    MapUtil.map( membership[1], membership[2] ) );
+        }
+    }
+
+    public void shutdown()
+    {
+        indexProvider.shutdown();
+        inserter.shutdown();
+    }
+
+    private void node( long id, Map<String, Object> properties, List<String[]> memberships )
+    {
+        if ( inserter.nodeExists( id ) )
+        {
+            inserter.setNodeProperties( id, properties );
+        }
+        else
+        {
+            inserter.createNode( id, properties );
+        }
+        for ( String[] membership : memberships )
+        {
+            nodeIndex( membership[0] ).add( id, MapUtil.map( membership[1], membership[2] ) );
+        }
+    }
+
+    private void relationship( long start, long end, String label, Map<String, Object> properties )
+    {
+        inserter.createRelationship( start, end, DynamicRelationshipType.withName( label ), properties );
+    }
+
+    private BatchInserterIndex nodeIndex( String indexName )
+    {
+        BatchInserterIndex index = indexes.get( indexName );
+        if ( index == null )
+        {
+            index = indexProvider.nodeIndex( indexName, EXACT );
+            indexes.put( indexName, index );
+        }
+        return index;
+    }
+
+    private void readJsonLines( Reader in ) throws IOException
+    {
+        JsonParser json = new JsonFactory().createJsonParser( in );
+        json.disable( JsonParser.Feature.AUTO_CLOSE_SOURCE );
+        while ( json.nextToken() == JsonToken.START_OBJECT )
+        {
+            String type = null;
+            long id = -1;
+            long start = -1;
+            long end = -1;
+            String label = null;
+            Map<String, Object> properties = new HashMap<String, Object>();
+            List<String[]> memberships = new ArrayList<String[]>();
+            while ( json.nextToken() == JsonToken.FIELD_NAME )
+            {
+                String field = json.getCurrentName();
+                json.nextToken();
+                if ( "type".equals( field ) )
+                {
+                    type = json.getText();
+                }
+                else if ( "id".equals( field ) )
+                {
+                    id = json.getLongValue();
+                }
+                else if ( "start".equals( field ) )
+                {
+                    start = json.getLongValue();
+                }
+                else if ( "end".equals( field ) )
+                {
+                    end = json.getLongValue();
+                }
+                else if ( "label".equals( field ) )
+                {
+                    label = json.getText();
+                }
+                else if ( "properties".equals( field ) )
+                {
+                    readJsonProperties( json, properties );
+                }
+                else if ( "indexes".equals( field ) )
+                {
+                    while ( json.nextToken() == JsonToken.START_OBJECT )
+                    {
+                        Map<String, String> membership = new HashMap<String, String>();
+                        while ( json.nextToken() == JsonToken.FIELD_NAME )
+                        {
+                            String name = json.getCurrentName();
+                            json.nextToken();
+                            membership.put( name, json.getText() );
+                        }
+                        memberships.add( new String[] { membership.get( "index" ), membership.get( "key" ),
+                                membership.get( "value" ) } );
+                    }
+                }
+                else
+                {
+                    json.skipChildren();
+                }
+            }
+
+            if ( "node".equals( type ) )
+            {
+                node( id, properties, memberships );
+            }
+            else if ( "relationship".equals( type ) )
+            {
+                relationship( start, end, label, properties );
+            }
+            else
+            {
+                throw new IllegalArgumentException( "Unknown element type " + type + " at "
+                        + json.getCurrentLocation() );
+            }
+        }
+    }
+
+    private static void readJsonProperties( JsonParser json, Map<String, Object> properties ) throws IOException
+    {
+        while ( json.nextToken() == JsonToken.FIELD_NAME )
+        {
+            String key = json.getCurrentName();
+            switch ( json.nextToken() )
+            {
+                case VALUE_STRING:
+                    properties.put( key, json.getText() );
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    properties.put( key, json.getBooleanValue() );
+                    break;
+                case VALUE_NUMBER_INT:
+                    properties.put( key, json.getIntValue() );
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    properties.put( key, json.getDoubleValue() );
+                    break;
+                case START_OBJECT:
+                    String type = null;
+                    String text = null;
+                    while ( json.nextToken() == JsonToken.FIELD_NAME )
+                    {
+                        String field = json.getCurrentName();
+                        json.nextToken();
+                        if ( "type".equals( field ) )
+                        {
+                            type = json.getText();
+                        }
+                        else if ( "value".equals( field ) )
+                        {
+                            text = json.getText();
+                        }
+                    }
+                    properties.put( key, PropertyValues.fromText( type, text ) );
+                    break;
+                default:
+                    throw new IllegalArgumentException( "Unexpected value for property " + key + " at "
+                            + json.getCurrentLocation() );
+            }
+        }
+    }
+
+    /**
+     * Properties and memberships follow the row of their element, so each element is held until the next
+     * element's row.
+     */
+    private void readCsv( Reader in ) throws IOException
+    {
+        List<String> row = readCsvRow( in );
+        if ( row == null || !GraphExporter.CSV_HEADER.trim().equals( join( row ) ) )
+        {
+            throw new IllegalArgumentException( "Not a graph export; the header was " + row );
+        }
+
+        String kind = null;
+        long id = -1;
+        long start = -1;
+        long end = -1;
+        String label = null;
+        Map<String, Object> properties = new HashMap<String, Object>();
+        List<String[]> memberships = new ArrayList<String[]>();
+        while ( true )
+        {
+            row = readCsvRow( in );
+            String rowKind = row == null ? null : row.get( 0 );
+            if ( "property".equals( rowKind ) )
+            {
+                properties.put( row.get( 5 ), PropertyValues.fromText( row.get( 6 ), row.get( 7 ) ) );
+                continue;
+            }
+            if ( "index".equals( rowKind ) )
+            {
+                memberships.add( new String[] { row.get( 4 ), row.get( 5 ), row.get( 7 ) } );
+                continue;
+            }
+
+            if ( "node".equals( kind ) )
+            {
+                node( id, properties, memberships );
+            }
+            else if ( "relationship".equals( kind ) )
+            {
+                relationship( start, end, label, properties );
+            }
+            if ( row == null )
+            {
+                return;
+            }
+            if ( !"node".equals( rowKind ) && !"relationship".equals( rowKind ) )
+            {
+                throw new IllegalArgumentException( "Unknown row kind " + rowKind );
+            }
+            kind = rowKind;
+            id = Long.parseLong( row.get( 1 ) );
+            start = "node".equals( kind ) ? -1 : Long.parseLong( row.get( 2 ) );
+            end = "node".equals( kind ) ? -1 : Long.parseLong( row.get( 3 ) );
+            label = row.get( 4 );
+            properties = new HashMap<String, Object>();
+            memberships = new ArrayList<String[]>();
+        }
+    }
+
+    /**
+     * @return the fields of the next row, or null at the end of the input
+     */
+    private static List<String> readCsvRow( Reader in ) throws IOException
+    {
+        int ch = in.read();
+        if ( ch == -1 )
+        {
+            return null;
+        }
+        List<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while ( true )
+        {
+            if ( quoted )
+            {
+                if ( ch == -1 )
+                {
+                    throw new IllegalArgumentException( "Unterminated quoted field " + field );
+                }
+                if ( ch == '"' )
+                {
+                    ch = in.read();
+                    if ( ch != '"' )
+                    {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append( (char) ch );
+            }
+            else if ( ch == '"' )
+            {
+                quoted = true;
+            }
+            else if ( ch == ',' )
+            {
+                fields.add( field.toString() );
+                field.setLength( 0 );
+            }
+            else if ( ch == '\n' || ch == -1 )
+            {
+                fields.add( field.toString() );
+                return fields;
+            }
+            else if ( ch != '\r' )
+            {
+                field.append( (char) ch );
+            }
+            ch = in.read();
+        }
+    }
+
+    private static String join( List<String> fields )
+    {
+        StringBuilder joined = new StringBuilder();
+        for ( String field : fields )
+        {
+            if ( joined.length() > 0 )
+            {
+                joined.append( ',' );
+            }
+            joined.append( field );
+        }
+        return joined.toString();
+    }
+
+    private void readGraphml( Reader in ) throws XMLStreamException
+    {
+        XMLStreamReader xml = XMLInputFactory.newInstance().createXMLStreamReader( in );
+        try
+        {
+            Map<String, String[]> keys = new HashMap<String, String[]>();
+            long id = -1;
+            long start = -1;
+            long end = -1;
+            String label = null;
+            Map<String, Object> properties = new HashMap<String, Object>();
+            List<String[]> memberships = new ArrayList<String[]>();
+            while ( xml.hasNext() )
+            {
+                int event = xml.next();
+                if ( event == XMLStreamConstants.START_ELEMENT )
+                {
+                    String element = xml.getLocalName();
+                    if ( "key".equals( element ) )
+                    {
+                        String type = xml.getAttributeValue( null, "neo4j.type" );
+                        keys.put( xml.getAttributeValue( null, "id" ), new String[] {
+                                xml.getAttributeValue( null, "attr.name" ),
+                                type == null ? xml.getAttributeValue( null, "attr.type" ) : type } );
+                    }
+                    else if ( "node".equals( element ) )
+                    {
+                        id = graphmlId( xml.getAttributeValue( null, "id" ) );
+                        properties = new HashMap<String, Object>();
+                        memberships = new ArrayList<String[]>();
+                    }
+                    else if ( "edge".equals( element ) )
+                    {
+                        start = graphmlId( xml.getAttributeValue( null, "source" ) );
+                        end = graphmlId( xml.getAttributeValue( null, "target" ) );
+                        label = xml.getAttributeValue( null, "label" );
+                        properties = new HashMap<String, Object>();
+                    }
+                    else if ( "data".equals( element ) )
+                    {
+                        String key = xml.getAttributeValue( null, "key" );
+                        String text = xml.getElementText();
+                        if ( GraphExporter.INDEX_KEY.equals( key ) )
+                        {
+                            memberships.add( PropertyValues.split( text ).toArray( new String[3] ) );
+                        }
+                        else
+                        {
+                            String[] declaration = keys.get( key );
+                            properties.put( declaration[0], PropertyValues.fromText( declaration[1], text ) );
+                        }
+                    }
+                }
+                else if ( event == XMLStreamConstants.END_ELEMENT )
+                {
+                    if ( "node".equals( xml.getLocalName() ) )
+                    {
+                        node( id, properties, memberships );
+                    }
+                    else if ( "edge".equals( xml.getLocalName() ) )
+                    {
+                        relationship( start, end, label, properties );
+                    }
+                }
+            }
+        }
+        finally
+        {
+            xml.close();
+        }
+    }
+
+    /**
+     * @return the node id of a GraphML id written by the exporter, such as "n12"
+     */
+    private static long graphmlId( String id )
+    {
+        return Long.parseLong( id.substring( 1 ) );
+    }
+}
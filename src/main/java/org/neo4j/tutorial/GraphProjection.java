@@ -0,0 +1,187 @@
+package org.neo4j.tutorial;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+
+/**
+ * The relationships of a database held as primitive adjacency arrays, for algorithms which visit every
+ * relationship many times over. Nodes are numbered by their ids, and each node's outgoing and incoming
+ * neighbours are a slice of one int array, found through an array of offsets, so the whole graph costs a few
+ * ints per node and per relationship. The projection is read once, on several threads, and doesn't follow
+ * later changes to the database.
+ */
+public class GraphProjection
+{
+    private final BitSet inUse;
+    private final int nodeCount;
+    private final int[] outgoingOffsets;
+    private final int[] outgoing;
+    private final int[] incomingOffsets;
+    private final int[] incoming;
+
+    GraphProjection( BitSet inUse, int idBound, long[] relationships )
+    {
+        this.inUse = inUse;
+        this.nodeCount = inUse.cardinality();
+        this.outgoingOffsets = new int[idBound + 1];
+        this.incomingOffsets = new int[idBound + 1];
+        this.outgoing = new int[relationships.length];
+        this.incoming = new int[relationships.length];
+
+        for ( long relationship : relationships )
+        {
+            outgoingOffsets[startOf( relationship ) + 1]++;
+            incomingOffsets[endOf( relationship ) + 1]++;
+        }
+        for ( int node = 0; node < idBound; node++ )
+        {
+            outgoingOffsets[node + 1] += outgoingOffsets[node];
+            incomingOffsets[node + 1] += incomingOffsets[node];
+        }
+        int[] outgoingFilled = new int[idBound];
+        int[] incomingFilled = new int[idBound];
+        for ( long relationship : relationships )
+        {
+            int start = startOf( relationship );
+            int end = endOf( relationship );
+            outgoing[outgoingOffsets[start] + outgoingFilled[start]++] = end;
+            incoming[incomingOffsets[end] + incomingFilled[end]++] = start;
+        }
+    }
+
+    /**
+     * Projects the relationships of the given types, or of every {@link DoctorWhoRelationships} type if none
+     * are given.
+     */
+    public static GraphProjection of( GraphDatabaseService db, RelationshipType... types )
+    {
+        final Set<String> names = new HashSet<String>();
+        for ( RelationshipType type : types.length == 0 ? DoctorWhoRelationships.values() : types )
+        {
+            names.add( type.name() );
+        }
+
+        GraphScan scan = new GraphScan( db );
+        final long highestId = scan.highestId( Node.class );
+        if ( highestId >= Integer.MAX_VALUE )
+        {
+            throw new IllegalStateException( "Too many nodes to project, the highest id is " + highestId );
+        }
+        BitSet inUse = scan.reduceNodes( new GraphScan.Reducer<Node, BitSet>()
+        {
+            public BitSet newResult()
+            {
+                return new BitSet();
+            }
+
+            public BitSet accumulate( BitSet result, Node node )
+            {
+                result.set( (int) node.getId() );
+                return result;
+            }
+
+            public BitSet combine( BitSet earlier, BitSet later )
+            {
+                earlier.or( later );
+                return earlier;
+            }
+        } );
+        LongArray relationships = scan.reduceRelationships( new GraphScan.Reducer<Relationship, LongArray>()
+        {
+            public LongArray newResult()
+            {
+                return new LongArray();
+            }
+
+            public LongArray accumulate( LongArray result, Relationship relationship )
+            {
+                long start = relationship.getStartNode().getId();
+                long end = relationship.getEndNode().getId();
+                // Relationships to nodes created since the nodes were read are left out with them
+                if ( names.contains( relationship.getType().name() ) && start <= highestId && end <= highestId )
+                {
+                    result.add( start << 32 | end );
+                }
+                return result;
+            }
+
+            public LongArray combine( LongArray earlier, LongArray later )
+            {
+                for ( int i = 0; i < later.size(); i++ )
+                {
+                    earlier.add( later.get( i ) );
+                }
+                return earlier;
+            }
+        } );
+        return new GraphProjection( inUse, (int) (highestId + 1), relationships.toArray() );
+    }
+
+    /**
+     * @return one more than the highest node id, which is the length of any array indexed by node
+     */
+    public int getIdBound()
+    {
+        return outgoingOffsets.length - 1;
+    }
+
+    /**
+     * @return how many of the ids below the bound are nodes
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    public int getRelationshipCount()
+    {
+        return outgoing.length;
+    }
+
+    public boolean isInUse( int node )
+    {
+        return inUse.get( node );
+    }
+
+    public int getOutDegree( int node )
+    {
+        return outgoingOffsets[node + 1] - outgoingOffsets[node];
+    }
+
+    public int getInDegree( int node )
+    {
+        return incomingOffsets[node + 1] - incomingOffsets[node];
+    }
+
+    /**
+     * @return the end of the node's i'th outgoing relationship
+     */
+    public int getOutgoing( int node, int i )
+    {
+        return outgoing[outgoingOffsets[node] + i];
+    }
+
+    /**
+     * @return the start of the node's i'th incoming relationship
+     */
+    public int getIncoming( int node, int i )
+    {
+        return incoming[incomingOffsets[node] + i];
+    }
+
+    private static int startOf( long relationship )
+    {
+        return (int) (relationship >>> 32);
+    }
+
+    private static int endOf( long relationship )
+    {
+        return (int) relationship;
+    }
+}
@@ -0,0 +1,319 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.kernel.GraphDatabaseAPI;
+import org.neo4j.kernel.impl.core.NodeManager;
+import org.neo4j.kernel.impl.nioneo.store.NeoStore;
+import org.neo4j.kernel.impl.nioneo.xa.NeoStoreXaDataSource;
+import org.neo4j.kernel.impl.transaction.XaDataSourceManager;
+
+/**
+ * Scans every node or every relationship of a database on several threads at once. The id space is split
+ * into ranges, each range is reduced on its own, and the results of the ranges are combined in id order, so
+ * a scan gives the same answer however many threads it runs on. Ids which aren't in use are skipped.
+ * <p>
+ * Scans read outside of any transaction, so they see what was committed when each entity was read. An id is
+ * only scanned once its record in the store is in use, as the database hands out entities other transactions
+ * have created but not yet committed to anyone who asks for them by id.
+ */
+public class GraphScan
+{
+    public static final int DEFAULT_PARTITION_SIZE = 10000;
+
+    /**
+     * Folds the entities of a range of ids into a result, and combines the results of neighbouring ranges.
+     * Every range starts from its own {@link #newResult()}, so results may be mutable.
+     */
+    public interface Reducer<T, R>
+    {
+        R newResult();
+
+        R accumulate( R result, T entity );
+
+        /**
+         * @param earlier the result of the ranges before {@code later}
+         */
+        R combine( R earlier, R later );
+    }
+
+    public interface Predicate<T>
+    {
+        boolean accept( T entity );
+    }
+
+    private final GraphDatabaseAPI db;
+    private final NeoStore store;
+    private final int parallelism;
+    private final int partitionSize;
+
+    public GraphScan( GraphDatabaseService db )
+    {
+        this( db, Runtime.getRuntime().availableProcessors(), DEFAULT_PARTITION_SIZE );
+    }
+
+    /**
+     * @param parallelism   how many ranges to scan at once; one scans on the calling thread
+     * @param partitionSize how many ids go into each range
+     */
+    public GraphScan( GraphDatabaseService db, int parallelism, int partitionSize )
+    {
+        if ( !(db instanceof GraphDatabaseAPI) )
+        {
+            throw new IllegalArgumentException( "Scans need an embedded database, was " + db.getClass().getName() );
+        }
+        if ( parallelism < 1 || partitionSize < 1 )
+        {
+            throw new IllegalArgumentException( String.format(
+                    "Parallelism and partition size must be at least 1, were %d and %d", parallelism, partitionSize ) );
+        }
+        this.db = (GraphDatabaseAPI) db;
+        this.store = ((NeoStoreXaDataSource) this.db.getDependencyResolver()
+                .resolveDependency( XaDataSourceManager.class )
+                .getXaDataSource( NeoStoreXaDataSource.DEFAULT_DATA_SOURCE_NAME )).getNeoStore();
+        this.parallelism = parallelism;
+        this.partitionSize = partitionSize;
+    }
+
+    public <R> R reduceNodes( Reducer<Node, R> reducer )
+    {
+        return reduce( new Nodes(), reducer );
+    }
+
+    public <R> R reduceRelationships( Reducer<Relationship, R> reducer )
+    {
+        return reduce( new Relationships(), reducer );
+    }
+
+    public long countNodes( Predicate<Node> predicate )
+    {
+        return reduceNodes( new Counter<Node>( predicate ) );
+    }
+
+    public long countRelationships( Predicate<Relationship> predicate )
+    {
+        return reduceRelationships( new Counter<Relationship>( predicate ) );
+    }
+
+    /**
+     * @return the highest id which may be in use by a node or relationship, or -1 if there are none
+     */
+    long highestId( Class<? extends PropertyContainer> type )
+    {
+        return db.getDependencyResolver().resolveDependency( NodeManager.class ).getHighestPossibleIdInUse( type );
+    }
+
+    private <T, R> R reduce( Entities<T> entities, Reducer<T, R> reducer )
+    {
+        long highestId = highestId( entities.type() );
+        List<Callable<R>> ranges = new ArrayList<Callable<R>>();
+        for ( long start = 0; start <= highestId; start += partitionSize )
+        {
+            ranges.add( new Range<T, R>( entities, reducer, start, Math.min( start + partitionSize, highestId + 1 ) ) );
+        }
+        if ( parallelism == 1 || ranges.size() <= 1 )
+        {
+            R result = reducer.newResult();
+            for ( Callable<R> range : ranges )
+            {
+                result = reducer.combine( result, call( range ) );
+            }
+            return result;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( parallelism, ranges.size() ) );
+        try
+        {
+            List<Future<R>> results = new ArrayList<Future<R>>();
+            for ( Callable<R> range : ranges )
+            {
+                results.add( executor.submit( range ) );
+            }
+            R result = reducer.newResult();
+            for ( Future<R> range : results )
+            {
+                result = reducer.combine( result, await( range ) );
+            }
+            return result;
+        }
+        finally
+        {
+            shutdown( executor );
+        }
+    }
+
+    private static <R> R call( Callable<R> range )
+    {
+        try
+        {
+            return range.call();
+        }
+        catch ( RuntimeException e )
+        {
+            throw e;
+        }
+        catch ( Exception e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    static <R> R await( Future<R> range )
+    {
+        try
+        {
+            return range.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException( e.getCause() );
+        }
+    }
+
+    static void shutdown( ExecutorService executor )
+    {
+        executor.shutdownNow();
+        try
+        {
+            executor.awaitTermination( 1, TimeUnit.MINUTES );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Range<T, R> implements Callable<R>
+    {
+        private final Entities<T> entities;
+        private final Reducer<T, R> reducer;
+        private final long start;
+        private final long end;
+
+        Range( Entities<T> entities, Reducer<T, R> reducer, long start, long end )
+        {
+            this.entities = entities;
+            this.reducer = reducer;
+            this.start = start;
+            this.end = end;
+        }
+
+        public R call()
+        {
+            R result = reducer.newResult();
+            for ( long id = start; id < end; id++ )
+            {
+                T entity = entities.get( id );
+                if ( entity != null )
+                {
+                    result = reducer.accumulate( result, entity );
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class Counter<T> implements Reducer<T, Long>
+    {
+        private final Predicate<T> predicate;
+
+        Counter( Predicate<T> predicate )
+        {
+            this.predicate = predicate;
+        }
+
+        public Long newResult()
+        {
+            return 0L;
+        }
+
+        public Long accumulate( Long result, T entity )
+        {
+            return predicate.accept( entity ) ? result + 1 : result;
+        }
+
+        public Long combine( Long earlier, Long later )
+        {
+            return earlier + later;
+        }
+    }
+
+    private interface Entities<T>
+    {
+        Class<? extends PropertyContainer> type();
+
+        /**
+         * @return the entity, or null if the id isn't in use
+         */
+        T get( long id );
+    }
+
+    private class Nodes implements Entities<Node>
+    {
+        public Class<Node> type()
+        {
+            return Node.class;
+        }
+
+        public Node get( long id )
+        {
+            if ( store.getNodeStore().loadLightNode( id ) == null )
+            {
+                return null;
+            }
+            try
+            {
+                return db.getNodeById( id );
+            }
+            catch ( NotFoundException e )
+            {
+                return null;
+            }
+        }
+    }
+
+    private class Relationships implements Entities<Relationship>
+    {
+        public Class<Relationship> type()
+        {
+            return Relationship.class;
+        }
+
+        public Relationship get( long id )
+        {
+            if ( store.getRelationshipStore().getLightRel( id ) == null )
+            {
+                return null;
+            }
+            try
+            {
+                return db.getRelationshipById( id );
+            }
+            catch ( NotFoundException e )
+            {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,706 @@
+package org.neo4j.tutorial;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.lucene.index.IndexReader;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.tooling.GlobalGraphOperations;
+
+/**
+ * A whole graph in one compact binary file, which is memory-mapped to read it back: a node table, the
+ * relationships with their adjacency in compressed sparse row form, both ways round, a property table and the
+ * node index entries. Every string, be it a property key, a relationship type, an index name or a string
+ * value, is kept once in a dictionary and referred to by number.
+ * <p>
+ * A mapped snapshot is a read-only graph in its own right, which opens in about the time it takes to map the
+ * file, or it can be restored into a new store with {@link GraphImporter}. Nodes keep their ids, while
+ * relationships are numbered from zero in the order of their old ids, as they are by any import. A snapshot is
+ * put together in memory before it is written, so it suits graphs which fit in memory several times over.
+ */
+public class GraphSnapshot
+{
+    private static final long MAGIC = 0x4e454f34534e4150L;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8 + 4 * 7;
+    private static final int NOT_IN_USE = -1;
+
+    private static final byte STRING = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte CHAR = 8;
+    private static final byte ARRAY = 0x10;
+    private static final Class<?>[] TYPES = { String.class, int.class, long.class, double.class, float.class,
+            boolean.class, short.class, byte.class, char.class };
+    private static final Class<?>[] BOXED_TYPES = { String.class, Integer.class, Long.class, Double.class,
+            Float.class, Boolean.class, Short.class, Byte.class, Character.class };
+
+    private final ByteBuffer bytes;
+    private final IntBuffer ints;
+    private final int nodeSlots;
+    private final int relationshipCount;
+    private final int indexEntryCount;
+    private final String[] strings;
+
+    // Where each table starts in the ints, and where the properties and strings start in the bytes
+    private final int stringOffsets;
+    private final int nodeProperties;
+    private final int startNodes;
+    private final int endNodes;
+    private final int types;
+    private final int relationshipProperties;
+    private final int outgoingOffsets;
+    private final int outgoing;
+    private final int incomingOffsets;
+    private final int incoming;
+    private final int indexEntries;
+    private final int propertyBytes;
+    private final int stringBytes;
+
+    private GraphSnapshot( ByteBuffer bytes, File file )
+    {
+        this.bytes = bytes;
+        if ( bytes.getLong( 0 ) != MAGIC || bytes.getInt( 8 ) != VERSION )
+        {
+            throw new IllegalArgumentException( file + " is not a graph snapshot of version " + VERSION );
+        }
+        nodeSlots = bytes.getInt( 12 );
+        relationshipCount = bytes.getInt( 16 );
+        int stringCount = bytes.getInt( 20 );
+        indexEntryCount = bytes.getInt( 24 );
+        int propertyLength = bytes.getInt( 28 );
+        strings = new String[stringCount];
+
+        stringOffsets = 0;
+        nodeProperties = stringOffsets + stringCount + 1;
+        startNodes = nodeProperties + nodeSlots;
+        endNodes = startNodes + relationshipCount;
+        types = endNodes + relationshipCount;
+        relationshipProperties = types + relationshipCount;
+        outgoingOffsets = relationshipProperties + relationshipCount;
+        outgoing = outgoingOffsets + nodeSlots + 1;
+        incomingOffsets = outgoing + relationshipCount;
+        incoming = incomingOffsets + nodeSlots + 1;
+        indexEntries = incoming + relationshipCount;
+        int intCount = indexEntries + 4 * indexEntryCount;
+
+        bytes.position( HEADER_SIZE );
+        ints = bytes.slice().asIntBuffer();
+        propertyBytes = HEADER_SIZE + 4 * intCount;
+        stringBytes = propertyBytes + propertyLength;
+    }
+
+    /**
+     * Maps a snapshot read-only. The mapping outlives the file being closed, and lasts until the snapshot is
+     * garbage collected.
+     */
+    public static GraphSnapshot map( File file )
+    {
+        try
+        {
+            RandomAccessFile in = new RandomAccessFile( file, "r" );
+            try
+            {
+                return new GraphSnapshot( in.getChannel().map( FileChannel.MapMode.READ_ONLY, 0, in.length() ), file );
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to map the snapshot " + file, e );
+        }
+    }
+
+    /**
+     * Restores a snapshot into a new store.
+     */
+    public static void restore( File file, String storeDir )
+    {
+        GraphImporter importer = new GraphImporter( storeDir );
+        try
+        {
+            importer.importFrom( map( file ) );
+        }
+        finally
+        {
+            importer.shutdown();
+        }
+    }
+
+    /**
+     * Writes a snapshot of everything committed to the database, index entries included.
+     */
+    public static void write( GraphDatabaseService db, File file )
+    {
+        try
+        {
+            new Writer( db ).write( file );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to write a snapshot to " + file, e );
+        }
+    }
+
+    /**
+     * @return the highest node id, which may be higher than the node count where nodes have been deleted
+     */
+    public long getHighestNodeId()
+    {
+        return nodeSlots - 1;
+    }
+
+    public boolean hasNode( long node )
+    {
+        return node >= 0 && node < nodeSlots && ints.get( nodeProperties + (int) node ) != NOT_IN_USE;
+    }
+
+    public int getRelationshipCount()
+    {
+        return relationshipCount;
+    }
+
+    public Map<String, Object> getNodeProperties( long node )
+    {
+        return properties( ints.get( nodeProperties + nodeSlot( node ) ) );
+    }
+
+    /**
+     * @return the value, or null if the node hasn't got the property
+     */
+    public Object getNodeProperty( long node, String key )
+    {
+        return getNodeProperties( node ).get( key );
+    }
+
+    /**
+     * @return the ids of the node's relationships in the direction, in id order for either direction alone
+     */
+    public long[] getRelationships( long node, Direction direction )
+    {
+        int slot = nodeSlot( node );
+        long[] relationships = new long[0];
+        if ( direction != Direction.INCOMING )
+        {
+            relationships = append( relationships, outgoingOffsets, outgoing, slot );
+        }
+        if ( direction != Direction.OUTGOING )
+        {
+            relationships = append( relationships, incomingOffsets, incoming, slot );
+        }
+        return relationships;
+    }
+
+    public long getStartNode( long relationship )
+    {
+        return ints.get( startNodes + relationshipSlot( relationship ) );
+    }
+
+    public long getEndNode( long relationship )
+    {
+        return ints.get( endNodes + relationshipSlot( relationship ) );
+    }
+
+    public RelationshipType getType( long relationship )
+    {
+        return DynamicRelationshipType.withName( string( ints.get( types + relationshipSlot( relationship ) ) ) );
+    }
+
+    public Map<String, Object> getRelationshipProperties( long relationship )
+    {
+        return properties( ints.get( relationshipProperties + relationshipSlot( relationship ) ) );
+    }
+
+    /**
+     * Looks nodes up in a node index, by the value as text, the way Lucene keeps it.
+     *
+     * @return the ids of the nodes, in id order
+     */
+    public long[] getNodes( String index, String key, String value )
+    {
+        String[] wanted = { index, key, value };
+        int low = 0;
+        int high = indexEntryCount;
+        while ( low < high )
+        {
+            int middle = (low + high) >>> 1;
+            if ( compareIndexEntry( middle, wanted ) < 0 )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        LongArray nodes = new LongArray();
+        for ( int entry = low; entry < indexEntryCount && compareIndexEntry( entry, wanted ) == 0; entry++ )
+        {
+            nodes.add( indexedNode( entry ) );
+        }
+        return nodes.toArray();
+    }
+
+    int indexEntryCount()
+    {
+        return indexEntryCount;
+    }
+
+    /**
+     * @return the index name, key and value of the entry
+     */
+    String[] indexEntry( int entry )
+    {
+        int at = indexEntries + 4 * entry;
+        return new String[] { string( ints.get( at ) ), string( ints.get( at + 1 ) ), string( ints.get( at + 2 ) ) };
+    }
+
+    long indexedNode( int entry )
+    {
+        return ints.get( indexEntries + 4 * entry + 3 );
+    }
+
+    private int compareIndexEntry( int entry, String[] wanted )
+    {
+        int at = indexEntries + 4 * entry;
+        for ( int i = 0; i < wanted.length; i++ )
+        {
+            int comparison = string( ints.get( at + i ) ).compareTo( wanted[i] );
+            if ( comparison != 0 )
+            {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private long[] append( long[] relationships, int offsets, int table, int slot )
+    {
+        int from = ints.get( offsets + slot );
+        int to = ints.get( offsets + slot + 1 );
+        long[] appended = Arrays.copyOf( relationships, relationships.length + to - from );
+        for ( int i = from; i < to; i++ )
+        {
+            appended[relationships.length + i - from] = ints.get( table + i );
+        }
+        return appended;
+    }
+
+    private int nodeSlot( long node )
+    {
+        if ( !hasNode( node ) )
+        {
+            throw new IllegalArgumentException( "There is no node " + node + " in the snapshot" );
+        }
+        return (int) node;
+    }
+
+    private int relationshipSlot( long relationship )
+    {
+        if ( relationship < 0 || relationship >= relationshipCount )
+        {
+            throw new IllegalArgumentException( "There is no relationship " + relationship + " in the snapshot" );
+        }
+        return (int) relationship;
+    }
+
+    /**
+     * Strings are decoded the first time they are read, so mapping a snapshot reads none of them.
+     */
+    private synchronized String string( int id )
+    {
+        String string = strings[id];
+        if ( string == null )
+        {
+            int from = ints.get( stringOffsets + id );
+            byte[] utf8 = new byte[ints.get( stringOffsets + id + 1 ) - from];
+            ByteBuffer view = bytes.duplicate();
+            view.position( stringBytes + from );
+            view.get( utf8 );
+            string = new String( utf8, GraphExporter.UTF_8 );
+            strings[id] = string;
+        }
+        return string;
+    }
+
+    private Map<String, Object> properties( int offset )
+    {
+        ByteBuffer in = bytes.duplicate();
+        in.position( propertyBytes + offset );
+        int count = in.getInt();
+        Map<String, Object> properties = new LinkedHashMap<String, Object>( count * 2 );
+        for ( int i = 0; i < count; i++ )
+        {
+            String key = string( in.getInt() );
+            byte type = in.get();
+            if ( (type & ARRAY) == 0 )
+            {
+                properties.put( key, readScalar( in, type ) );
+            }
+            else
+            {
+                byte elementType = (byte) (type & ~ARRAY);
+                Object array = Array.newInstance( TYPES[elementType], in.getInt() );
+                for ( int element = 0; element < Array.getLength( array ); element++ )
+                {
+                    Array.set( array, element, readScalar( in, elementType ) );
+                }
+                properties.put( key, array );
+            }
+        }
+        return properties;
+    }
+
+    private Object readScalar( ByteBuffer in, byte type )
+    {
+        switch ( type )
+        {
+            case STRING:
+                return string( in.getInt() );
+            case INT:
+                return in.getInt();
+            case LONG:
+                return in.getLong();
+            case DOUBLE:
+                return in.getDouble();
+            case FLOAT:
+                return in.getFloat();
+            case BOOLEAN:
+                return in.get() != 0;
+            case SHORT:
+                return in.getShort();
+            case BYTE:
+                return in.get();
+            case CHAR:
+                return in.getChar();
+            default:
+                throw new IllegalStateException( "Unknown property type " + type + " in the snapshot" );
+        }
+    }
+
+    /**
+     * Gathers the tables of a snapshot from a database and writes them out.
+     */
+    private static class Writer
+    {
+        private final GraphDatabaseService db;
+        private final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+        private final List<String> strings = new ArrayList<String>();
+        private final ByteArrayOutputStream propertyBytes = new ByteArrayOutputStream();
+        private final DataOutputStream properties = new DataOutputStream( propertyBytes );
+
+        Writer( GraphDatabaseService db )
+        {
+            this.db = db;
+        }
+
+        void write( File file ) throws IOException
+        {
+            GlobalGraphOperations graph = GlobalGraphOperations.at( db );
+            int nodeSlots = slot( new GraphScan( db ).highestId( Node.class ) + 1 );
+            int[] nodeProperties = new int[nodeSlots];
+            Arrays.fill( nodeProperties, NOT_IN_USE );
+            for ( Node node : graph.getAllNodes() )
+            {
+                nodeProperties[slot( node.getId() )] = properties( node );
+            }
+
+            IntList startNodes = new IntList();
+            IntList endNodes = new IntList();
+            IntList types = new IntList();
+            IntList relationshipProperties = new IntList();
+            for ( Relationship relationship : graph.getAllRelationships() )
+            {
+                startNodes.add( slot( relationship.getStartNode().getId() ) );
+                endNodes.add( slot( relationship.getEndNode().getId() ) );
+                types.add( intern( relationship.getType().name() ) );
+                relationshipProperties.add( properties( relationship ) );
+            }
+
+            int[][] outgoing = adjacency( nodeSlots, startNodes );
+            int[][] incoming = adjacency( nodeSlots, endNodes );
+            int[] indexEntries = indexEntries( nodeProperties );
+
+            ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+            int[] stringOffsets = new int[strings.size() + 1];
+            for ( int i = 0; i < strings.size(); i++ )
+            {
+                stringBytes.write( strings.get( i ).getBytes( GraphExporter.UTF_8 ) );
+                stringOffsets[i + 1] = stringBytes.size();
+            }
+
+            DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ),
+                    GraphExporter.BUFFER_SIZE ) );
+            try
+            {
+                out.writeLong( MAGIC );
+                out.writeInt( VERSION );
+                out.writeInt( nodeSlots );
+                out.writeInt( startNodes.size() );
+                out.writeInt( strings.size() );
+                out.writeInt( indexEntries.length / 4 );
+                out.writeInt( propertyBytes.size() );
+                out.writeInt( stringBytes.size() );
+                for ( int[] table : new int[][] { stringOffsets, nodeProperties, startNodes.toArray(),
+                        endNodes.toArray(), types.toArray(), relationshipProperties.toArray(), outgoing[0],
+                        outgoing[1], incoming[0], incoming[1], indexEntries } )
+                {
+                    for ( int value : table )
+                    {
+                        out.writeInt( value );
+                    }
+                }
+                propertyBytes.writeTo( out );
+                stringBytes.writeTo( out );
+            }
+            finally
+            {
+                out.close();
+            }
+        }
+
+        /**
+         * @return the offsets into, and the relationships of, each node's run of relationships, in id order
+         */
+        private static int[][] adjacency( int nodeSlots, IntList nodes )
+        {
+            int[] offsets = new int[nodeSlots + 1];
+            for ( int i = 0; i < nodes.size(); i++ )
+            {
+                offsets[nodes.get( i ) + 1]++;
+            }
+            for ( int slot = 0; slot < nodeSlots; slot++ )
+            {
+                offsets[slot + 1] += offsets[slot];
+            }
+            int[] next = Arrays.copyOf( offsets, nodeSlots );
+            int[] relationships = new int[nodes.size()];
+            for ( int relationship = 0; relationship < nodes.size(); relationship++ )
+            {
+                relationships[next[nodes.get( relationship )]++] = relationship;
+            }
+            return new int[][] { offsets, relationships };
+        }
+
+        /**
+         * @return the index, key, value and node of every entry, sorted in that order
+         */
+        private int[] indexEntries( int[] nodeProperties ) throws IOException
+        {
+            List<int[]> entries = new ArrayList<int[]>();
+            Map<String, IndexReader> indexes = new TreeMap<String, IndexReader>();
+            try
+            {
+                GraphExporter.openNodeIndexes( db, indexes );
+                List<String[]> memberships = new ArrayList<String[]>();
+                for ( int node = 0; node < nodeProperties.length; node++ )
+                {
+                    if ( nodeProperties[node] == NOT_IN_USE )
+                    {
+                        continue;
+                    }
+                    memberships.clear();
+                    GraphExporter.findMemberships( node, indexes, memberships );
+                    for ( String[] membership : memberships )
+                    {
+                        entries.add( new int[] { intern( membership[0] ), intern( membership[1] ),
+                                intern( membership[2] ), node } );
+                    }
+                }
+            }
+            finally
+            {
+                for ( IndexReader index : indexes.values() )
+                {
+                    GraphExporter.close( index );
+                }
+            }
+
+            Collections.sort( entries, new Comparator<int[]>()
+            {
+                public int compare( int[] first, int[] second )
+                {
+                    for ( int i = 0; i < 3; i++ )
+                    {
+                        int comparison = strings.get( first[i] ).compareTo( strings.get( second[i] ) );
+                        if ( comparison != 0 )
+                        {
+                            return comparison;
+                        }
+                    }
+                    return first[3] < second[3] ? -1 : (first[3] == second[3] ? 0 : 1);
+                }
+            } );
+            int[] flattened = new int[4 * entries.size()];
+            for ( int i = 0; i < entries.size(); i++ )
+            {
+                System.arraycopy( entries.get( i ), 0, flattened, 4 * i, 4 );
+            }
+            return flattened;
+        }
+
+        /**
+         * @return the offset of the entity's properties in the property table
+         */
+        private int properties( PropertyContainer entity ) throws IOException
+        {
+            int offset = properties.size();
+            List<String> keys = new ArrayList<String>();
+            for ( String key : entity.getPropertyKeys() )
+            {
+                keys.add( key );
+            }
+            properties.writeInt( keys.size() );
+            for ( String key : keys )
+            {
+                Object value = entity.getProperty( key );
+                properties.writeInt( intern( key ) );
+                if ( value.getClass().isArray() )
+                {
+                    byte type = typeOf( value.getClass().getComponentType() );
+                    properties.writeByte( type | ARRAY );
+                    properties.writeInt( Array.getLength( value ) );
+                    for ( int i = 0; i < Array.getLength( value ); i++ )
+                    {
+                        writeScalar( type, Array.get( value, i ) );
+                    }
+                }
+                else
+                {
+                    byte type = typeOf( value.getClass() );
+                    properties.writeByte( type );
+                    writeScalar( type, value );
+                }
+            }
+            return offset;
+        }
+
+        private void writeScalar( byte type, Object value ) throws IOException
+        {
+            switch ( type )
+            {
+                case STRING:
+                    properties.writeInt( intern( (String) value ) );
+                    break;
+                case INT:
+                    properties.writeInt( (Integer) value );
+                    break;
+                case LONG:
+                    properties.writeLong( (Long) value );
+                    break;
+                case DOUBLE:
+                    properties.writeDouble( (Double) value );
+                    break;
+                case FLOAT:
+                    properties.writeFloat( (Float) value );
+                    break;
+                case BOOLEAN:
+                    properties.writeByte( (Boolean) value ? 1 : 0 );
+                    break;
+                case SHORT:
+                    properties.writeShort( (Short) value );
+                    break;
+                case BYTE:
+                    properties.writeByte( (Byte) value );
+                    break;
+                default:
+                    properties.writeChar( (Character) value );
+            }
+        }
+
+        private static byte typeOf( Class<?> type )
+        {
+            for ( byte code = 0; code < TYPES.length; code++ )
+            {
+                if ( TYPES[code] == type || BOXED_TYPES[code] == type )
+                {
+                    return code;
+                }
+            }
+            throw new IllegalArgumentException( "Properties of type " + type.getName() + " can't be snapshotted" );
+        }
+
+        private int intern( String string )
+        {
+            Integer id = dictionary.get( string );
+            if ( id == null )
+            {
+                id = strings.size();
+                dictionary.put( string, id );
+                strings.add( string );
+            }
+            return id;
+        }
+
+        private static int slot( long id )
+        {
+            if ( id > Integer.MAX_VALUE )
+            {
+                throw new IllegalArgumentException( "Ids beyond " + Integer.MAX_VALUE + " can't be snapshotted" );
+            }
+            return (int) id;
+        }
+    }
+
+    private static class IntList
+    {
+        private int[] values = new int[1024];
+        private int size = 0;
+
+        void add( int value )
+        {
+            if ( size == values.length )
+            {
+                values = Arrays.copyOf( values, size * 2 );
+            }
+            values[size++] = value;
+        }
+
+        int get( int index )
+        {
+            return values[index];
+        }
+
+        int size()
+        {
+            return size;
+        }
+
+        int[] toArray()
+        {
+            return Arrays.copyOf( values, size );
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package org.neo4j.tutorial;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.event.PropertyEntry;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventHandler;
+
+/**
+ * Live counts of a database, kept up to date by a transaction event handler rather than counted again on
+ * every request: how many nodes there are and how many have each of the {@link #KINDS} of property which
+ * say what a node is, how many relationships there are of each type, and how many nodes have each degree.
+ * Every count is read in constant time.
+ * <p>
+ * The counts start from a scan of the store when the statistics are registered. Transactions which come to
+ * commit during the scan wait for it to finish, so the scan sees a store which isn't changing and each commit
+ * is counted once, by the scan or by the handler. A transaction which was already open when the statistics
+ * were first asked for may not be seen by the handler, though, and its changes may be missed if it commits
+ * during the scan. Each transaction's changes are worked out before it commits, while the entities it deletes
+ * can still be read, and applied once it has committed.
+ */
+public class GraphStatistics
+{
+    /**
+     * The properties which say what kind of thing a node is, the universe having no labels.
+     */
+    public static final String[] KINDS = { "character", "episode", "species", "planet", "actor" };
+
+    private static final int DEGREE_BUCKETS = 33;
+    private static final PerDatabase<GraphStatistics> REGISTERED = new PerDatabase<GraphStatistics>()
+    {
+        @Override
+        protected GraphStatistics create( GraphDatabaseService db )
+        {
+            GraphStatistics statistics = new GraphStatistics();
+            Maintainer maintainer = statistics.new Maintainer();
+            db.registerTransactionEventHandler( maintainer );
+            try
+            {
+                statistics.count( db );
+            }
+            catch ( RuntimeException e )
+            {
+                db.unregisterTransactionEventHandler( maintainer );
+                throw e;
+            }
+            finally
+            {
+                statistics.counted.countDown();
+            }
+            return statistics;
+        }
+    };
+
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicLong relationships = new AtomicLong();
+    private final Map<String, AtomicLong> nodesOfKind = new HashMap<String, AtomicLong>();
+    private final ConcurrentMap<String, AtomicLong> relationshipsOfType = new ConcurrentHashMap<String, AtomicLong>();
+    private final AtomicLongArray degreeHistogram = new AtomicLongArray( DEGREE_BUCKETS );
+    private final CountDownLatch counted = new CountDownLatch( 1 );
+    private int[] degrees = new int[1024];
+
+    private GraphStatistics()
+    {
+        for ( String kind : KINDS )
+        {
+            nodesOfKind.put( kind, new AtomicLong() );
+        }
+        for ( DoctorWhoRelationships type : DoctorWhoRelationships.values() )
+        {
+            relationshipsOfType.put( type.name(), new AtomicLong() );
+        }
+    }
+
+    /**
+     * @return the statistics of the database, which are counted and registered the first time they are asked for
+     */
+    public static GraphStatistics forDatabase( GraphDatabaseService db )
+    {
+        return REGISTERED.get( db );
+    }
+
+    public long getNodeCount()
+    {
+        return nodes.get();
+    }
+
+    /**
+     * @param kind one of {@link #KINDS}
+     */
+    public long getNodeCount( String kind )
+    {
+        AtomicLong count = nodesOfKind.get( kind );
+        if ( count == null )
+        {
+            throw new IllegalArgumentException( kind + " is not one of " + Arrays.toString( KINDS ) );
+        }
+        return count.get();
+    }
+
+    public long getRelationshipCount()
+    {
+        return relationships.get();
+    }
+
+    public long getRelationshipCount( RelationshipType type )
+    {
+        AtomicLong count = relationshipsOfType.get( type.name() );
+        return count == null ? 0 : count.get();
+    }
+
+    public synchronized int getDegree( Node node )
+    {
+        return node.getId() < degrees.length ? degrees[(int) node.getId()] : 0;
+    }
+
+    /**
+     * @return how many nodes have a degree in the bucket: zero for bucket 0, and from 2^(i-1) up to but not
+     *         including 2^i for bucket i
+     */
+    public long getNodesInDegreeBucket( int bucket )
+    {
+        return degreeHistogram.get( bucket );
+    }
+
+    /**
+     * @return the node count of each degree bucket, up to the last bucket with any nodes in it
+     */
+    public long[] getDegreeHistogram()
+    {
+        int buckets = DEGREE_BUCKETS;
+        while ( buckets > 1 && degreeHistogram.get( buckets - 1 ) == 0 )
+        {
+            buckets--;
+        }
+        long[] histogram = new long[buckets];
+        for ( int bucket = 0; bucket < buckets; bucket++ )
+        {
+            histogram[bucket] = degreeHistogram.get( bucket );
+        }
+        return histogram;
+    }
+
+    /**
+     * @return the relationship counts of every type there has been, by name
+     */
+    public Map<String, Long> getRelationshipCounts()
+    {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for ( Map.Entry<String, AtomicLong> count : relationshipsOfType.entrySet() )
+        {
+            counts.put( count.getKey(), count.getValue().get() );
+        }
+        return counts;
+    }
+
+    public Map<String, Long> getNodeCounts()
+    {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for ( String kind : KINDS )
+        {
+            counts.put( kind, nodesOfKind.get( kind ).get() );
+        }
+        return counts;
+    }
+
+    static int degreeBucket( int degree )
+    {
+        return 32 - Integer.numberOfLeadingZeros( degree );
+    }
+
+    /**
+     * Counts the store as it stands, in parallel. Each range of nodes fills in the degrees of its own nodes.
+     */
+    private void count( GraphDatabaseService db )
+    {
+        GraphScan scan = new GraphScan( db );
+        degrees = new int[(int) Math.max( degrees.length, scan.highestId( Node.class ) + 1 )];
+        apply( scan.reduceNodes( new GraphScan.Reducer<Node, Delta>()
+        {
+            public Delta newResult()
+            {
+                return new Delta();
+            }
+
+            public Delta accumulate( Delta counts, Node node )
+            {
+                counts.nodes++;
+                for ( String kind : KINDS )
+                {
+                    if ( node.hasProperty( kind ) )
+                    {
+                        counts.kindChanged( kind, 1 );
+                    }
+                }
+                int degree = 0;
+                for ( @SuppressWarnings("unused") Relationship relationship : node.getRelationships() )
+                {
+                    degree++;
+                }
+                degrees[(int) node.getId()] = degree;
+                degreeHistogram.incrementAndGet( degreeBucket( degree ) );
+                return counts;
+            }
+
+            public Delta combine( Delta earlier, Delta later )
+            {
+                return earlier.plus( later );
+            }
+        } ) );
+        apply( scan.reduceRelationships( new GraphScan.Reducer<Relationship, Delta>()
+        {
+            public Delta newResult()
+            {
+                return new Delta();
+            }
+
+            public Delta accumulate( Delta counts, Relationship relationship )
+            {
+                counts.relationships++;
+                Delta.add( counts.types, relationship.getType().name(), 1 );
+                return counts;
+            }
+
+            public Delta combine( Delta earlier, Delta later )
+            {
+                return earlier.plus( later );
+            }
+        } ) );
+    }
+
+    private synchronized void apply( Delta delta )
+    {
+        nodes.addAndGet( delta.nodes );
+        relationships.addAndGet( delta.relationships );
+        for ( Map.Entry<String, Long> kind : delta.kinds.entrySet() )
+        {
+            nodesOfKind.get( kind.getKey() ).addAndGet( kind.getValue() );
+        }
+        for ( Map.Entry<String, Long> type : delta.types.entrySet() )
+        {
+            AtomicLong count = relationshipsOfType.get( type.getKey() );
+            if ( count == null )
+            {
+                relationshipsOfType.putIfAbsent( type.getKey(), new AtomicLong() );
+                count = relationshipsOfType.get( type.getKey() );
+            }
+            count.addAndGet( type.getValue() );
+        }
+
+        for ( int i = 0; i < delta.createdNodes.size(); i++ )
+        {
+            ensureDegreeCapacity( delta.createdNodes.get( i ) );
+            degreeHistogram.incrementAndGet( 0 );
+        }
+        for ( Map.Entry<Long, Integer> change : delta.degreeChanges.entrySet() )
+        {
+            int node = (int) (long) change.getKey();
+            ensureDegreeCapacity( node );
+            int degree = degrees[node];
+            degrees[node] = degree + change.getValue();
+            degreeHistogram.decrementAndGet( degreeBucket( degree ) );
+            degreeHistogram.incrementAndGet( degreeBucket( degrees[node] ) );
+        }
+        for ( int i = 0; i < delta.deletedNodes.size(); i++ )
+        {
+            // A node can only be deleted once its relationships are, so it leaves with a degree of zero
+            degreeHistogram.decrementAndGet( 0 );
+            degrees[(int) delta.deletedNodes.get( i )] = 0;
+        }
+    }
+
+    private void ensureDegreeCapacity( long node )
+    {
+        if ( node > Integer.MAX_VALUE - 8 )
+        {
+            throw new IllegalStateException( "Too many nodes to keep degrees for, at node " + node );
+        }
+        if ( node >= degrees.length )
+        {
+            degrees = Arrays.copyOf( degrees, (int) Math.min( Integer.MAX_VALUE - 8, Math.max( node + 1,
+                    degrees.length * 2L ) ) );
+        }
+    }
+
+    /**
+     * What one transaction changes.
+     */
+    private static class Delta
+    {
+        private long nodes = 0;
+        private long relationships = 0;
+        private final Map<String, Long> kinds = new HashMap<String, Long>();
+        private final Map<String, Long> types = new HashMap<String, Long>();
+        private final Map<Long, Integer> degreeChanges = new HashMap<Long, Integer>();
+        private final LongArray createdNodes = new LongArray();
+        private final LongArray deletedNodes = new LongArray();
+
+        /**
+         * Adds the counts of another delta, though not its node and degree changes, to this one.
+         */
+        Delta plus( Delta other )
+        {
+            nodes += other.nodes;
+            relationships += other.relationships;
+            for ( Map.Entry<String, Long> kind : other.kinds.entrySet() )
+            {
+                add( kinds, kind.getKey(), kind.getValue() );
+            }
+            for ( Map.Entry<String, Long> type : other.types.entrySet() )
+            {
+                add( types, type.getKey(), type.getValue() );
+            }
+            return this;
+        }
+
+        void nodeCreated( long node )
+        {
+            nodes++;
+            createdNodes.add( node );
+        }
+
+        void nodeDeleted( long node )
+        {
+            nodes--;
+            deletedNodes.add( node );
+        }
+
+        void kindChanged( String kind, long change )
+        {
+            add( kinds, kind, change );
+        }
+
+        void relationshipChanged( Relationship relationship, int change )
+        {
+            relationships += change;
+            add( types, relationship.getType().name(), change );
+            degreeChanged( relationship.getStartNode().getId(), change );
+            degreeChanged( relationship.getEndNode().getId(), change );
+        }
+
+        private void degreeChanged( long node, int change )
+        {
+            Integer changed = degreeChanges.get( node );
+            degreeChanges.put( node, changed == null ? change : changed + change );
+        }
+
+        static void add( Map<String, Long> counts, String key, long change )
+        {
+            Long count = counts.get( key );
+            counts.put( key, count == null ? change : count + change );
+        }
+    }
+
+    private class Maintainer implements TransactionEventHandler<Delta>
+    {
+        public Delta beforeCommit( TransactionData data )
+        {
+            awaitCount();
+            Delta delta = new Delta();
+            for ( Node node : data.createdNodes() )
+            {
+                delta.nodeCreated( node.getId() );
+            }
+            for ( Node node : data.deletedNodes() )
+            {
+                delta.nodeDeleted( node.getId() );
+            }
+            for ( PropertyEntry<Node> property : data.assignedNodeProperties() )
+            {
+                if ( nodesOfKind.containsKey( property.key() ) && property.previouslyCommitedValue() == null )
+                {
+                    delta.kindChanged( property.key(), 1 );
+                }
+            }
+            for ( PropertyEntry<Node> property : data.removedNodeProperties() )
+            {
+                if ( nodesOfKind.containsKey( property.key() ) && property.previouslyCommitedValue() != null )
+                {
+                    delta.kindChanged( property.key(), -1 );
+                }
+            }
+            for ( Relationship relationship : data.createdRelationships() )
+            {
+                delta.relationshipChanged( relationship, 1 );
+            }
+            for ( Relationship relationship : data.deletedRelationships() )
+            {
+                delta.relationshipChanged( relationship, -1 );
+            }
+            return delta;
+        }
+
+        public void afterCommit( TransactionData data, Delta delta )
+        {
+            apply( delta );
+        }
+
+        public void afterRollback( TransactionData data, Delta delta )
+        {
+        }
+
+        /**
+         * Holds the commit back until the scan is over, so the scan can't see what the delta counts too.
+         */
+        private void awaitCount()
+        {
+            try
+            {
+                counted.await();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException( "Interrupted waiting for the graph statistics to be counted", e );
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventHandler;
+
+/**
+ * How many hops every node is from the Doctor, ignoring the direction of relationships, in one array indexed
+ * by node id. The distances come from a single breadth-first search from the Doctor, and are then kept up to
+ * date by a transaction event handler: a new relationship can only bring nodes closer, which a search out
+ * from it settles, while a deleted one only moves the nodes which relied on it for their shortest path, so
+ * only those are searched again.
+ * <p>
+ * The Doctor is the node indexed as character Doctor in the characters index when the distances are first
+ * asked for. If there is no Doctor then, every node stays unreachable.
+ */
+public class HopDistances
+{
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final PerDatabase<HopDistances> REGISTERED = new PerDatabase<HopDistances>()
+    {
+        @Override
+        protected HopDistances create( GraphDatabaseService db )
+        {
+            HopDistances distances = new HopDistances( db );
+            db.registerTransactionEventHandler( distances.new Maintainer() );
+            distances.refresh();
+            return distances;
+        }
+    };
+
+    private final GraphDatabaseService db;
+    private long doctor = -1;
+    private int[] distances = new int[0];
+
+    private HopDistances( GraphDatabaseService db )
+    {
+        this.db = db;
+    }
+
+    /**
+     * @return the distances of the database, which are worked out and registered the first time they are
+     *         asked for
+     */
+    public static HopDistances forDatabase( GraphDatabaseService db )
+    {
+        return REGISTERED.get( db );
+    }
+
+    /**
+     * @return the hops from the node to the Doctor, or {@link #UNREACHABLE}
+     */
+    public synchronized int getHops( long node )
+    {
+        return node >= 0 && node < distances.length ? distances[(int) node] : UNREACHABLE;
+    }
+
+    /**
+     * @return the hops of each of the nodes, read all together
+     */
+    public synchronized int[] getHops( long[] nodes )
+    {
+        int[] hops = new int[nodes.length];
+        for ( int i = 0; i < nodes.length; i++ )
+        {
+            hops[i] = getHops( nodes[i] );
+        }
+        return hops;
+    }
+
+    /**
+     * @return a copy of the hops of every node, indexed by node id
+     */
+    public synchronized int[] getAllHops()
+    {
+        return distances.clone();
+    }
+
+    /**
+     * Searches out from the Doctor again, throwing away the distances kept so far.
+     */
+    public synchronized void refresh()
+    {
+        Node theDoctor = db.index().forNodes( "characters" ).get( "character", "Doctor" ).getSingle();
+        doctor = theDoctor == null ? -1 : theDoctor.getId();
+        distances = new int[(int) (new GraphScan( db ).highestId( Node.class ) + 1)];
+        Arrays.fill( distances, UNREACHABLE );
+        if ( doctor != -1 )
+        {
+            distances[(int) doctor] = 0;
+            relax( new ArrayDeque<Long>( Arrays.asList( doctor ) ) );
+        }
+    }
+
+    /**
+     * Settles the nodes whose distances have just come down, and everything they bring closer in turn.
+     */
+    private void relax( Queue<Long> closer )
+    {
+        while ( !closer.isEmpty() )
+        {
+            long node = closer.remove();
+            int next = distances[(int) node] + 1;
+            for ( long neighbour : neighbours( node ) )
+            {
+                if ( next < distances[(int) neighbour] )
+                {
+                    distances[(int) neighbour] = next;
+                    closer.add( neighbour );
+                }
+            }
+        }
+    }
+
+    private synchronized void apply( LongArray created, LongArray deleted, LongArray added, LongArray removed )
+    {
+        for ( int i = 0; i < created.size(); i++ )
+        {
+            ensureCapacity( created.get( i ) );
+        }
+        for ( int i = 0; i < deleted.size(); i++ )
+        {
+            ensureCapacity( deleted.get( i ) );
+        }
+        // The suspects are picked by the distances from before the commit, so deleted nodes only become
+        // unreachable once the nodes which relied on them are known
+        if ( removed.size() > 0 )
+        {
+            repair( removed );
+        }
+        for ( int i = 0; i < deleted.size(); i++ )
+        {
+            distances[(int) deleted.get( i )] = UNREACHABLE;
+        }
+
+        Queue<Long> closer = new ArrayDeque<Long>();
+        for ( int i = 0; i < added.size(); i += 2 )
+        {
+            bringCloser( added.get( i ), added.get( i + 1 ), closer );
+            bringCloser( added.get( i + 1 ), added.get( i ), closer );
+        }
+        relax( closer );
+    }
+
+    private void bringCloser( long from, long to, Queue<Long> closer )
+    {
+        if ( distances[(int) from] != UNREACHABLE && distances[(int) from] + 1 < distances[(int) to] )
+        {
+            distances[(int) to] = distances[(int) from] + 1;
+            closer.add( to );
+        }
+    }
+
+    /**
+     * Finds the nodes which lost their shortest path with the removed relationships, nearest first, so that
+     * whether a node still has a neighbour one hop nearer the Doctor is only asked once every such neighbour
+     * is known to be settled or not. Then searches again from the settled edge of those nodes, nearest first.
+     */
+    private void repair( LongArray removed )
+    {
+        PriorityQueue<Long> suspects = new PriorityQueue<Long>();
+        for ( int i = 0; i < removed.size(); i += 2 )
+        {
+            long start = removed.get( i );
+            long end = removed.get( i + 1 );
+            if ( distances[(int) start] != UNREACHABLE && distances[(int) end] == distances[(int) start] + 1 )
+            {
+                suspects.add( byDistance( end ) );
+            }
+            else if ( distances[(int) end] != UNREACHABLE && distances[(int) start] == distances[(int) end] + 1 )
+            {
+                suspects.add( byDistance( start ) );
+            }
+        }
+
+        LongSet unsettled = new LongSet();
+        while ( !suspects.isEmpty() )
+        {
+            long node = nodeOf( suspects.remove() );
+            if ( node == doctor || unsettled.contains( node ) || hasSettledParent( node, unsettled ) )
+            {
+                continue;
+            }
+            unsettled.add( node );
+            for ( long neighbour : neighbours( node ) )
+            {
+                if ( distances[(int) neighbour] == distances[(int) node] + 1 )
+                {
+                    suspects.add( byDistance( neighbour ) );
+                }
+            }
+        }
+
+        long[] nodes = unsettled.toArray();
+        for ( long node : nodes )
+        {
+            distances[(int) node] = UNREACHABLE;
+        }
+        PriorityQueue<Long> frontier = new PriorityQueue<Long>();
+        for ( long node : nodes )
+        {
+            for ( long neighbour : neighbours( node ) )
+            {
+                int through = distances[(int) neighbour];
+                if ( through != UNREACHABLE && through + 1 < distances[(int) node] )
+                {
+                    distances[(int) node] = through + 1;
+                }
+            }
+            if ( distances[(int) node] != UNREACHABLE )
+            {
+                frontier.add( byDistance( node ) );
+            }
+        }
+        while ( !frontier.isEmpty() )
+        {
+            long entry = frontier.remove();
+            long node = nodeOf( entry );
+            if ( entry >>> 32 != distances[(int) node] )
+            {
+                continue;
+            }
+            for ( long neighbour : neighbours( node ) )
+            {
+                if ( distances[(int) node] + 1 < distances[(int) neighbour] )
+                {
+                    distances[(int) neighbour] = distances[(int) node] + 1;
+                    frontier.add( byDistance( neighbour ) );
+                }
+            }
+        }
+    }
+
+    private boolean hasSettledParent( long node, LongSet unsettled )
+    {
+        for ( long neighbour : neighbours( node ) )
+        {
+            if ( distances[(int) neighbour] + 1 == distances[(int) node] && !unsettled.contains( neighbour ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the node with its distance in the high bits, so that queues of them come out nearest first
+     */
+    private long byDistance( long node )
+    {
+        return ((long) distances[(int) node] << 32) | node;
+    }
+
+    private static long nodeOf( long entry )
+    {
+        return entry & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return the nodes at the other ends of the node's relationships, as committed, or none if it was deleted
+     */
+    private long[] neighbours( long node )
+    {
+        LongArray neighbours = new LongArray();
+        try
+        {
+            Node from = db.getNodeById( node );
+            for ( Relationship relationship : from.getRelationships() )
+            {
+                long other = relationship.getOtherNode( from ).getId();
+                ensureCapacity( other );
+                neighbours.add( other );
+            }
+        }
+        catch ( NotFoundException e )
+        {
+            // Deleted since, so it has no neighbours any more
+        }
+        return neighbours.toArray();
+    }
+
+    private void ensureCapacity( long node )
+    {
+        if ( node > Integer.MAX_VALUE - 8 )
+        {
+            throw new IllegalStateException( "Too many nodes to keep distances for, at node " + node );
+        }
+        if ( node >= distances.length )
+        {
+            int length = distances.length;
+            distances = Arrays.copyOf( distances, (int) Math.min( Integer.MAX_VALUE - 8, Math.max( node + 1,
+                    length * 2L ) ) );
+            Arrays.fill( distances, length, distances.length, UNREACHABLE );
+        }
+    }
+
+    /**
+     * What one transaction changes: nodes created and deleted, and the two ends of each relationship
+     * created and deleted, which can only be read before it commits.
+     */
+    private static class Changes
+    {
+        private final LongArray created = new LongArray();
+        private final LongArray deleted = new LongArray();
+        private final LongArray added = new LongArray();
+        private final LongArray removed = new LongArray();
+    }
+
+    private class Maintainer implements TransactionEventHandler<Changes>
+    {
+        public Changes beforeCommit( TransactionData data )
+        {
+            Changes changes = new Changes();
+            for ( Node node : data.createdNodes() )
+            {
+                changes.created.add( node.getId() );
+            }
+            for ( Node node : data.deletedNodes() )
+            {
+                changes.deleted.add( node.getId() );
+            }
+            for ( Relationship relationship : data.createdRelationships() )
+            {
+                changes.added.add( relationship.getStartNode().getId() );
+                changes.added.add( relationship.getEndNode().getId() );
+            }
+            for ( Relationship relationship : data.deletedRelationships() )
+            {
+                changes.removed.add( relationship.getStartNode().getId() );
+                changes.removed.add( relationship.getEndNode().getId() );
+            }
+            return changes;
+        }
+
+        public void afterCommit( TransactionData data, Changes changes )
+        {
+            apply( changes.created, changes.deleted, changes.added, changes.removed );
+        }
+
+        public void afterRollback( TransactionData data, Changes changes )
+        {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.neo4j.tutorial;
+
+import java.util.AbstractList;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * A list of nodes or relationships which holds only their ids, and looks each entity up in the database it
+ * came from when it is asked for. {@link #contains(Object)} and {@link #indexOf(Object)} compare ids without
+ * looking anything up.
+ */
+public class IdList<T extends PropertyContainer> extends AbstractList<T>
+{
+    private final EntityType<T> type;
+    private final LongArray ids = new LongArray();
+    private GraphDatabaseService db;
+
+    private IdList( EntityType<T> type, Iterable<T> entities )
+    {
+        this.type = type;
+        for ( T entity : entities )
+        {
+            if ( db == null )
+            {
+                db = entity.getGraphDatabase();
+            }
+            ids.add( type.idOf( entity ) );
+        }
+    }
+
+    public static IdList<Node> ofNodes( Iterable<Node> nodes )
+    {
+        return new IdList<Node>( EntityType.NODES, nodes );
+    }
+
+    public static IdList<Relationship> ofRelationships( Iterable<Relationship> relationships )
+    {
+        return new IdList<Relationship>( EntityType.RELATIONSHIPS, relationships );
+    }
+
+    @Override
+    public T get( int index )
+    {
+        return type.resolve( db, ids.get( index ) );
+    }
+
+    public long getId( int index )
+    {
+        return ids.get( index );
+    }
+
+    @Override
+    public int size()
+    {
+        return ids.size();
+    }
+
+    @Override
+    public int indexOf( Object entity )
+    {
+        long id = type.idOfAny( entity );
+        return id < 0 ? -1 : ids.indexOf( id );
+    }
+
+    @Override
+    public boolean contains( Object entity )
+    {
+        return indexOf( entity ) >= 0;
+    }
+
+    public long[] toIdArray()
+    {
+        return ids.toArray();
+    }
+}
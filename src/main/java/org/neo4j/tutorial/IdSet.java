@@ -0,0 +1,125 @@
+package org.neo4j.tutorial;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * A set of nodes or relationships which holds only their ids, in a {@link LongSet}, and looks each entity up
+ * as it is iterated. Membership, intersections and unions work on the ids alone.
+ */
+public class IdSet<T extends PropertyContainer> extends AbstractSet<T>
+{
+    private final EntityType<T> type;
+    private final GraphDatabaseService db;
+    private final LongSet ids;
+
+    private IdSet( EntityType<T> type, GraphDatabaseService db, LongSet ids )
+    {
+        this.type = type;
+        this.db = db;
+        this.ids = ids;
+    }
+
+    public static IdSet<Node> ofNodes( GraphDatabaseService db )
+    {
+        return new IdSet<Node>( EntityType.NODES, db, new LongSet() );
+    }
+
+    public static IdSet<Node> ofNodes( GraphDatabaseService db, Iterable<Node> nodes )
+    {
+        IdSet<Node> set = ofNodes( db );
+        for ( Node node : nodes )
+        {
+            set.add( node );
+        }
+        return set;
+    }
+
+    public static IdSet<Relationship> ofRelationships( GraphDatabaseService db )
+    {
+        return new IdSet<Relationship>( EntityType.RELATIONSHIPS, db, new LongSet() );
+    }
+
+    public static IdSet<Relationship> ofRelationships( GraphDatabaseService db,
+                                                       Iterable<Relationship> relationships )
+    {
+        IdSet<Relationship> set = ofRelationships( db );
+        for ( Relationship relationship : relationships )
+        {
+            set.add( relationship );
+        }
+        return set;
+    }
+
+    public LongSet getIds()
+    {
+        return ids;
+    }
+
+    public IdSet<T> intersection( IdSet<T> other )
+    {
+        return new IdSet<T>( type, db, ids.intersection( other.ids ) );
+    }
+
+    public IdSet<T> union( IdSet<T> other )
+    {
+        return new IdSet<T>( type, db, ids.union( other.ids ) );
+    }
+
+    @Override
+    public boolean add( T entity )
+    {
+        return ids.add( type.idOf( entity ) );
+    }
+
+    @Override
+    public boolean contains( Object entity )
+    {
+        return ids.contains( type.idOfAny( entity ) );
+    }
+
+    @Override
+    public boolean remove( Object entity )
+    {
+        return ids.remove( type.idOfAny( entity ) );
+    }
+
+    @Override
+    public int size()
+    {
+        return ids.size();
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        final LongSet.LongIterator iterator = ids.iterator();
+        return new Iterator<T>()
+        {
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            public T next()
+            {
+                if ( !iterator.hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+                return type.resolve( db, iterator.next() );
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException( "Remove entities from the set itself" );
+            }
+        };
+    }
+}
@@ -0,0 +1,294 @@
+package org.neo4j.tutorial;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Where the time of a load went, per builder and per primitive operation on the store. Each operation keeps
+ * its count, cumulative and maximum latency, and a histogram of latencies in power-of-two buckets. Loaders
+ * running in parallel may share one profile.
+ * <p>
+ * The profile can be written out as JSON or CSV, so load throughput can be tracked from build to build.
+ * A universe which was copied rather than loaded has an unprofiled profile, which says why it is empty.
+ */
+public class LoadProfile
+{
+    public enum Category
+    {
+        BUILDER,
+        PRIMITIVE
+    }
+
+    private static final String CSV_HEADER = "name,category,count,totalNanos,meanNanos,maxNanos,p50Nanos,p99Nanos\n";
+
+    private final Map<String, Operation> operations = new TreeMap<String, Operation>();
+    private final String unprofiledBecause;
+
+    public LoadProfile()
+    {
+        this( null );
+    }
+
+    private LoadProfile( String unprofiledBecause )
+    {
+        this.unprofiledBecause = unprofiledBecause;
+    }
+
+    /**
+     * @param reason why there was no load to profile
+     */
+    static LoadProfile unprofiled( String reason )
+    {
+        return new LoadProfile( reason );
+    }
+
+    /**
+     * @return false if there was no load to profile, such as when the universe was copied
+     */
+    public boolean isProfiled()
+    {
+        return unprofiledBecause == null;
+    }
+
+    synchronized void record( Category category, String name, long nanos )
+    {
+        Operation operation = operations.get( name );
+        if ( operation == null )
+        {
+            operation = new Operation( category, name );
+            operations.put( name, operation );
+        }
+        operation.record( nanos );
+    }
+
+    /**
+     * @return a snapshot of every operation recorded so far, ordered by name
+     */
+    public synchronized List<Operation> getOperations()
+    {
+        List<Operation> snapshot = new ArrayList<Operation>();
+        for ( Operation operation : operations.values() )
+        {
+            snapshot.add( new Operation( operation ) );
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return a snapshot of the operation, or null if it was never recorded
+     */
+    public synchronized Operation getOperation( String name )
+    {
+        Operation operation = operations.get( name );
+        return operation == null ? null : new Operation( operation );
+    }
+
+    public String toJson()
+    {
+        StringBuilder json = new StringBuilder( "{\"profiled\":" ).append( isProfiled() );
+        if ( !isProfiled() )
+        {
+            json.append( ",\"reason\":\"" ).append( unprofiledBecause.replace( "\\", "\\\\" )
+                    .replace( "\"", "\\\"" ) ).append( '"' );
+        }
+        json.append( ",\"operations\":[" );
+        String separator = "\n";
+        for ( Operation operation : getOperations() )
+        {
+            json.append( separator ).append( "{\"name\":\"" ).append( operation.getName() )
+                    .append( "\",\"category\":\"" ).append( operation.getCategory().name().toLowerCase() )
+                    .append( "\",\"count\":" ).append( operation.getCount() )
+                    .append( ",\"totalNanos\":" ).append( operation.getTotalNanos() )
+                    .append( ",\"meanNanos\":" ).append( operation.getMeanNanos() )
+                    .append( ",\"maxNanos\":" ).append( operation.getMaxNanos() )
+                    .append( ",\"p50Nanos\":" ).append( operation.getPercentileNanos( 50 ) )
+                    .append( ",\"p99Nanos\":" ).append( operation.getPercentileNanos( 99 ) )
+                    .append( ",\"histogram\":{" );
+            String bucketSeparator = "";
+            long[] histogram = operation.getHistogram();
+            for ( int bucket = 0; bucket < histogram.length; bucket++ )
+            {
+                if ( histogram[bucket] > 0 )
+                {
+                    json.append( bucketSeparator ).append( '"' ).append( Operation.bucketLimit( bucket ) )
+                            .append( "\":" ).append( histogram[bucket] );
+                    bucketSeparator = ",";
+                }
+            }
+            json.append( "}}" );
+            separator = ",\n";
+        }
+        return json.append( "\n]}\n" ).toString();
+    }
+
+    /**
+     * @return one line per operation; the histograms are left out, as the percentiles summarise them. An
+     *         unprofiled profile has a comment line saying why instead.
+     */
+    public String toCsv()
+    {
+        StringBuilder csv = new StringBuilder( CSV_HEADER );
+        if ( !isProfiled() )
+        {
+            csv.append( "# not profiled: " ).append( unprofiledBecause ).append( '\n' );
+        }
+        for ( Operation operation : getOperations() )
+        {
+            csv.append( operation.getName() ).append( ',' )
+                    .append( operation.getCategory().name().toLowerCase() ).append( ',' )
+                    .append( operation.getCount() ).append( ',' )
+                    .append( operation.getTotalNanos() ).append( ',' )
+                    .append( operation.getMeanNanos() ).append( ',' )
+                    .append( operation.getMaxNanos() ).append( ',' )
+                    .append( operation.getPercentileNanos( 50 ) ).append( ',' )
+                    .append( operation.getPercentileNanos( 99 ) ).append( '\n' );
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Writes the profile as CSV if the file name ends in ".csv", and as JSON otherwise.
+     */
+    public void writeTo( File report )
+    {
+        try
+        {
+            File parent = report.getAbsoluteFile().getParentFile();
+            if ( parent != null && !parent.exists() && !parent.mkdirs() )
+            {
+                throw new IOException( "Unable to create directory " + parent );
+            }
+            Writer writer = new OutputStreamWriter( new FileOutputStream( report ), "UTF-8" );
+            try
+            {
+                writer.write( report.getName().endsWith( ".csv" ) ? toCsv() : toJson() );
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to write the load profile to " + report, e );
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return toCsv();
+    }
+
+    public static class Operation
+    {
+        private static final int BUCKETS = 64;
+
+        private final Category category;
+        private final String name;
+        private final long[] histogram;
+        private long count = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+
+        Operation( Category category, String name )
+        {
+            this.category = category;
+            this.name = name;
+            this.histogram = new long[BUCKETS];
+        }
+
+        Operation( Operation operation )
+        {
+            this.category = operation.category;
+            this.name = operation.name;
+            this.histogram = operation.histogram.clone();
+            this.count = operation.count;
+            this.totalNanos = operation.totalNanos;
+            this.maxNanos = operation.maxNanos;
+        }
+
+        void record( long nanos )
+        {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max( maxNanos, nanos );
+            histogram[bucket( nanos )]++;
+        }
+
+        public Category getCategory()
+        {
+            return category;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public long getCount()
+        {
+            return count;
+        }
+
+        public long getTotalNanos()
+        {
+            return totalNanos;
+        }
+
+        public long getMeanNanos()
+        {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long getMaxNanos()
+        {
+            return maxNanos;
+        }
+
+        /**
+         * @return how many latencies fell into each bucket, where bucket i holds those under 2^(i+1) nanos
+         *         and at least 2^i nanos
+         */
+        public long[] getHistogram()
+        {
+            return histogram.clone();
+        }
+
+        /**
+         * @return the upper limit of the histogram bucket the percentile falls in, which is within a factor
+         *         of two of the true value
+         */
+        public long getPercentileNanos( double percentile )
+        {
+            long rank = (long) Math.ceil( count * percentile / 100 );
+            long seen = 0;
+            for ( int bucket = 0; bucket < BUCKETS; bucket++ )
+            {
+                seen += histogram[bucket];
+                if ( seen >= rank && seen > 0 )
+                {
+                    return Math.min( bucketLimit( bucket ), maxNanos );
+                }
+            }
+            return 0;
+        }
+
+        static long bucketLimit( int bucket )
+        {
+            return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + 1);
+        }
+
+        private static int bucket( long nanos )
+        {
+            return nanos <= 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros( nanos );
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.neo4j.tutorial;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of longs, which holds ids in eight bytes apiece rather than in a boxed Long or an entity
+ * proxy each.
+ */
+public class LongArray
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] values;
+    private int size = 0;
+
+    public LongArray()
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    public LongArray( int capacity )
+    {
+        values = new long[Math.max( capacity, 1 )];
+    }
+
+    public void add( long value )
+    {
+        if ( size == values.length )
+        {
+            values = Arrays.copyOf( values, values.length * 2 );
+        }
+        values[size++] = value;
+    }
+
+    public long get( int index )
+    {
+        if ( index < 0 || index >= size )
+        {
+            throw new IndexOutOfBoundsException( "Index " + index + " of " + size );
+        }
+        return values[index];
+    }
+
+    /**
+     * @return the index of the first occurrence of the value, or -1 if it isn't there
+     */
+    public int indexOf( long value )
+    {
+        for ( int i = 0; i < size; i++ )
+        {
+            if ( values[i] == value )
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public long[] toArray()
+    {
+        return Arrays.copyOf( values, size );
+    }
+}
@@ -0,0 +1,250 @@
+package org.neo4j.tutorial;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of ids kept in one open-addressed array of longs, with none of the per-entry objects of a
+ * {@code HashSet<Long>} or {@code HashSet<Node>}. Ids are never negative, which leaves -1 to mark a free slot.
+ */
+public class LongSet
+{
+    public interface LongIterator
+    {
+        boolean hasNext();
+
+        long next();
+    }
+
+    private static final long FREE = -1;
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] slots;
+    private int size = 0;
+
+    public LongSet()
+    {
+        this( MINIMUM_CAPACITY / 2 );
+    }
+
+    /**
+     * @param expectedSize how many ids the set should hold before it has to grow
+     */
+    public LongSet( int expectedSize )
+    {
+        slots = newSlots( capacityFor( expectedSize ) );
+    }
+
+    /**
+     * @return true if the id wasn't in the set already
+     */
+    public boolean add( long id )
+    {
+        if ( id < 0 )
+        {
+            throw new IllegalArgumentException( "Ids are never negative, was " + id );
+        }
+        int slot = slotOf( id );
+        if ( slots[slot] == id )
+        {
+            return false;
+        }
+        slots[slot] = id;
+        if ( ++size * 2 > slots.length )
+        {
+            rehash( slots.length * 2 );
+        }
+        return true;
+    }
+
+    public boolean contains( long id )
+    {
+        return id >= 0 && slots[slotOf( id )] == id;
+    }
+
+    /**
+     * @return true if the id was in the set
+     */
+    public boolean remove( long id )
+    {
+        if ( !contains( id ) )
+        {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int free = slotOf( id );
+        slots[free] = FREE;
+        size--;
+
+        // Shift back any ids further along the probe sequence which could otherwise no longer be found
+        for ( int slot = (free + 1) & mask; slots[slot] != FREE; slot = (slot + 1) & mask )
+        {
+            int home = hash( slots[slot] ) & mask;
+            if ( ((slot - home) & mask) >= ((slot - free) & mask) )
+            {
+                slots[free] = slots[slot];
+                slots[slot] = FREE;
+                free = slot;
+            }
+        }
+        return true;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @return a new set of the ids in both sets, found by probing the larger set with the smaller
+     */
+    public LongSet intersection( LongSet other )
+    {
+        LongSet smaller = size <= other.size ? this : other;
+        LongSet larger = smaller == this ? other : this;
+        LongSet intersection = new LongSet( smaller.size );
+        for ( long id : smaller.slots )
+        {
+            if ( id != FREE && larger.contains( id ) )
+            {
+                intersection.add( id );
+            }
+        }
+        return intersection;
+    }
+
+    /**
+     * @return a new set of the ids in either set
+     */
+    public LongSet union( LongSet other )
+    {
+        LongSet union = new LongSet( size + other.size );
+        union.addAll( this );
+        union.addAll( other );
+        return union;
+    }
+
+    public void addAll( LongSet other )
+    {
+        for ( long id : other.slots )
+        {
+            if ( id != FREE )
+            {
+                add( id );
+            }
+        }
+    }
+
+    /**
+     * @return the ids in no particular order
+     */
+    public long[] toArray()
+    {
+        long[] ids = new long[size];
+        int i = 0;
+        for ( long id : slots )
+        {
+            if ( id != FREE )
+            {
+                ids[i++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Iterates the ids in no particular order. The set must not be changed while it is iterated, other than
+     * through {@link #remove(long)} of the id last returned, which may cause ids to be skipped.
+     */
+    public LongIterator iterator()
+    {
+        return new LongIterator()
+        {
+            private int slot = nextSlot( 0 );
+
+            public boolean hasNext()
+            {
+                return slot < slots.length;
+            }
+
+            public long next()
+            {
+                if ( !hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+                long id = slots[slot];
+                slot = nextSlot( slot + 1 );
+                return id;
+            }
+        };
+    }
+
+    private int nextSlot( int from )
+    {
+        int slot = from;
+        while ( slot < slots.length && slots[slot] == FREE )
+        {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the slot holding the id, or the free slot where it would go
+     */
+    private int slotOf( long id )
+    {
+        int mask = slots.length - 1;
+        int slot = hash( id ) & mask;
+        while ( slots[slot] != FREE && slots[slot] != id )
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash( int capacity )
+    {
+        long[] old = slots;
+        slots = newSlots( capacity );
+        for ( long id : old )
+        {
+            if ( id != FREE )
+            {
+                slots[slotOf( id )] = id;
+            }
+        }
+    }
+
+    /**
+     * Ids are handed out in runs, so they are spread over the table by a multiplicative hash.
+     */
+    private static int hash( long id )
+    {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int capacityFor( int expectedSize )
+    {
+        int capacity = MINIMUM_CAPACITY;
+        while ( capacity < expectedSize * 2 )
+        {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static long[] newSlots( int capacity )
+    {
+        long[] slots = new long[capacity];
+        Arrays.fill( slots, FREE );
+        return slots;
+    }
+}
@@ -0,0 +1,122 @@
+package org.neo4j.tutorial;
+
+import java.util.List;
+
+/**
+ * PageRank over the direction of relationships. Each iteration pulls rank into every node from the nodes
+ * related to it, so every slice of nodes only ever writes its own ranks. The rank of nodes with no outgoing
+ * relationships is spread over every node, so the ranks always add up to one.
+ */
+public class PageRank implements CentralityMetric
+{
+    public static final String PROPERTY_KEY = "pagerank";
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final int DEFAULT_ITERATIONS = 20;
+
+    /**
+     * Iterating stops early once the ranks move by less than this in all.
+     */
+    public static final double TOLERANCE = 1e-9;
+
+    private final double damping;
+    private final int iterations;
+
+    public PageRank()
+    {
+        this( DEFAULT_DAMPING, DEFAULT_ITERATIONS );
+    }
+
+    /**
+     * @param damping    the chance of following a relationship rather than jumping to any node
+     * @param iterations the most iterations to run
+     */
+    public PageRank( double damping, int iterations )
+    {
+        if ( damping < 0 || damping > 1 || iterations < 1 )
+        {
+            throw new IllegalArgumentException( String.format(
+                    "Damping must be between 0 and 1 and iterations at least 1, were %f and %d", damping,
+                    iterations ) );
+        }
+        this.damping = damping;
+        this.iterations = iterations;
+    }
+
+    public String getPropertyKey()
+    {
+        return PROPERTY_KEY;
+    }
+
+    public double[] compute( final GraphProjection graph, ParallelRanges ranges )
+    {
+        final int bound = graph.getIdBound();
+        final double nodes = Math.max( 1, graph.getNodeCount() );
+        final double[] ranks = new double[bound];
+        final double[] next = new double[bound];
+        // Each node's rank divided among its outgoing relationships
+        final double[] shares = new double[bound];
+        for ( int node = 0; node < bound; node++ )
+        {
+            ranks[node] = graph.isInUse( node ) ? 1 / nodes : 0;
+        }
+
+        for ( int iteration = 0; iteration < iterations; iteration++ )
+        {
+            double dangling = sum( ranges.forEach( bound, new ParallelRanges.Slice<Double>()
+            {
+                public Double run( int start, int end )
+                {
+                    double dangling = 0;
+                    for ( int node = start; node < end; node++ )
+                    {
+                        int degree = graph.getOutDegree( node );
+                        shares[node] = degree == 0 ? 0 : ranks[node] / degree;
+                        dangling += degree == 0 ? ranks[node] : 0;
+                    }
+                    return dangling;
+                }
+            } ) );
+
+            final double base = ((1 - damping) + damping * dangling) / nodes;
+            double change = sum( ranges.forEach( bound, new ParallelRanges.Slice<Double>()
+            {
+                public Double run( int start, int end )
+                {
+                    double moved = 0;
+                    for ( int node = start; node < end; node++ )
+                    {
+                        if ( !graph.isInUse( node ) )
+                        {
+                            continue;
+                        }
+                        double pulled = 0;
+                        for ( int i = 0; i < graph.getInDegree( node ); i++ )
+                        {
+                            pulled += shares[graph.getIncoming( node, i )];
+                        }
+                        next[node] = base + damping * pulled;
+                        moved += Math.abs( next[node] - ranks[node] );
+                    }
+                    return moved;
+                }
+            } ) );
+
+            System.arraycopy( next, 0, ranks, 0, bound );
+            if ( change < TOLERANCE )
+            {
+                break;
+            }
+        }
+        return ranks;
+    }
+
+    private static double sum( List<Double> values )
+    {
+        double sum = 0;
+        for ( double value : values )
+        {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a range of ints, such as the node ids of a {@link GraphProjection}, into one slice per thread and
+ * works on the slices at once, on threads which are kept until the ranges are closed.
+ */
+public class ParallelRanges
+{
+    /**
+     * Works on the ints from {@code start} up to, but not including, {@code end}.
+     */
+    public interface Slice<R>
+    {
+        R run( int start, int end );
+    }
+
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public ParallelRanges( int parallelism )
+    {
+        if ( parallelism < 1 )
+        {
+            throw new IllegalArgumentException( "Parallelism must be at least 1, was " + parallelism );
+        }
+        this.parallelism = parallelism;
+        this.executor = parallelism == 1 ? null : Executors.newFixedThreadPool( parallelism );
+    }
+
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * @return the result of each slice, in order, once every slice is done
+     */
+    public <R> List<R> forEach( int size, final Slice<R> slice )
+    {
+        List<R> results = new ArrayList<R>();
+        if ( executor == null )
+        {
+            results.add( slice.run( 0, size ) );
+            return results;
+        }
+
+        List<Future<R>> futures = new ArrayList<Future<R>>();
+        int slices = Math.max( 1, Math.min( parallelism, size ) );
+        for ( int i = 0; i < slices; i++ )
+        {
+            final int start = (int) ((long) size * i / slices);
+            final int end = (int) ((long) size * (i + 1) / slices);
+            futures.add( executor.submit( new Callable<R>()
+            {
+                public R call()
+                {
+                    return slice.run( start, end );
+                }
+            } ) );
+        }
+        for ( Future<R> future : futures )
+        {
+            results.add( GraphScan.await( future ) );
+        }
+        return results;
+    }
+
+    public void close()
+    {
+        if ( executor != null )
+        {
+            GraphScan.shutdown( executor );
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.neo4j.tutorial;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.event.ErrorState;
+import org.neo4j.graphdb.event.KernelEventHandler;
+
+/**
+ * One of something for each database, created the first time it is asked for and forgotten when the database
+ * shuts down.
+ */
+abstract class PerDatabase<T>
+{
+    private final ConcurrentMap<GraphDatabaseService, T> values = new ConcurrentHashMap<GraphDatabaseService, T>();
+
+    T get( GraphDatabaseService db )
+    {
+        T value = values.get( db );
+        if ( value != null )
+        {
+            return value;
+        }
+        synchronized ( this )
+        {
+            value = values.get( db );
+            if ( value == null )
+            {
+                value = create( db );
+                db.registerKernelEventHandler( new Forget( db ) );
+                values.put( db, value );
+            }
+            return value;
+        }
+    }
+
+    protected abstract T create( GraphDatabaseService db );
+
+    private class Forget implements KernelEventHandler
+    {
+        private final GraphDatabaseService db;
+
+        Forget( GraphDatabaseService db )
+        {
+            this.db = db;
+        }
+
+        public void beforeShutdown()
+        {
+            values.remove( db );
+        }
+
+        public Object getResource()
+        {
+            return null;
+        }
+
+        public void kernelPanic( ErrorState error )
+        {
+        }
+
+        public ExecutionOrder orderComparedTo( KernelEventHandler other )
+        {
+            return ExecutionOrder.DOESNT_MATTER;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.neo4j.tutorial;
 
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class PlanetBuilder
 {
@@ -18,26 +17,20 @@ public class PlanetBuilder
         this.planetName = planetName;
     }
 
-    public void fact( GraphDatabaseService db )
+    public void fact( UniverseContext universe )
     {
-        ensurePlanetInDb( planetName, db );
+        ensurePlanetInDb( planetName, universe );
     }
 
-    public static Node ensurePlanetInDb( String planet, GraphDatabaseService db )
+    public static long ensurePlanetInDb( String planet, UniverseContext universe )
     {
 
-        Node planetNode = db.index()
-                .forNodes( "planets" )
-                .get( "planet", planet )
-                .getSingle();
+        long planetNode = universe.findNode( "planets", "planet", planet );
 
-        if ( planetNode == null )
+        if ( planetNode == UniverseWriter.NO_NODE )
         {
-            planetNode = db.createNode();
-            planetNode.setProperty( "planet", planet );
-            db.index()
-                    .forNodes( "planets" )
-                    .add( planetNode, "planet", planet );
+            planetNode = universe.createNode( MapUtil.map( "planet", planet ) );
+            universe.index( "planets", planetNode, "planet", planet );
         }
 
         return planetNode;
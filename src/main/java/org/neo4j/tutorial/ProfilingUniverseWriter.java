@@ -0,0 +1,168 @@
+package org.neo4j.tutorial;
+
+import java.util.Map;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.tutorial.LoadProfile.Category;
+
+/**
+ * Times every primitive operation a load performs on the wrapped writer. Checking whether a relationship
+ * exists is the scan step of {@link DatabaseHelper#ensureRelationshipInDb}.
+ */
+class ProfilingUniverseWriter implements UniverseWriter
+{
+    private final UniverseWriter writer;
+    private final LoadProfile profile;
+
+    ProfilingUniverseWriter( UniverseWriter writer, LoadProfile profile )
+    {
+        this.writer = writer;
+        this.profile = profile;
+    }
+
+    public Transaction beginTx()
+    {
+        return writer.beginTx();
+    }
+
+    public long findNode( String indexName, String key, Object value )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.findNode( indexName, key, value );
+        }
+        finally
+        {
+            record( "indexGet", started );
+        }
+    }
+
+    public long findAnyNode( String indexName, String key )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.findAnyNode( indexName, key );
+        }
+        finally
+        {
+            record( "indexGetAny", started );
+        }
+    }
+
+    public long createNode( Map<String, Object> properties )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.createNode( properties );
+        }
+        finally
+        {
+            record( "createNode", started );
+        }
+    }
+
+    public void setNodeProperty( long node, String key, Object value )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            writer.setNodeProperty( node, key, value );
+        }
+        finally
+        {
+            record( "setNodeProperty", started );
+        }
+    }
+
+    public Object getNodeProperty( long node, String key )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.getNodeProperty( node, key );
+        }
+        finally
+        {
+            record( "getNodeProperty", started );
+        }
+    }
+
+    public void index( String indexName, long node, String key, Object value )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            writer.index( indexName, node, key, value );
+        }
+        finally
+        {
+            record( "indexAdd", started );
+        }
+    }
+
+    public long createRelationship( long startNode, RelationshipType type, long endNode,
+                                    Map<String, Object> properties )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.createRelationship( startNode, type, endNode, properties );
+        }
+        finally
+        {
+            record( "createRelationship", started );
+        }
+    }
+
+    public boolean relationshipExists( long startNode, RelationshipType type, long endNode )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.relationshipExists( startNode, type, endNode );
+        }
+        finally
+        {
+            record( "relationshipExists", started );
+        }
+    }
+
+    public Iterable<Long> relatedNodes( long node, RelationshipType type, Direction direction )
+    {
+        long started = System.nanoTime();
+        try
+        {
+            return writer.relatedNodes( node, type, direction );
+        }
+        finally
+        {
+            record( "relatedNodes", started );
+        }
+    }
+
+    /**
+     * Shutting down includes writing any deferred index entries.
+     */
+    public void shutdown()
+    {
+        long started = System.nanoTime();
+        try
+        {
+            writer.shutdown();
+        }
+        finally
+        {
+            record( "shutdown", started );
+        }
+    }
+
+    private void record( String operation, long started )
+    {
+        profile.record( Category.PRIMITIVE, operation, System.nanoTime() - started );
+    }
+}
@@ -0,0 +1,231 @@
+package org.neo4j.tutorial;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes property values as text with the name of their type, and reads them back, so that exports keep
+ * the difference between, say, an int and a long. Array elements are separated by commas, with commas and
+ * backslashes in strings escaped by a backslash.
+ */
+class PropertyValues
+{
+    private PropertyValues()
+    {
+    }
+
+    static String typeOf( Object value )
+    {
+        Class<?> type = value.getClass();
+        if ( type.isArray() )
+        {
+            return scalarType( type.getComponentType() ) + "[]";
+        }
+        return scalarType( type );
+    }
+
+    static boolean isArray( String type )
+    {
+        return type.endsWith( "[]" );
+    }
+
+    static String toText( Object value )
+    {
+        if ( !value.getClass().isArray() )
+        {
+            return String.valueOf( value );
+        }
+        StringBuilder text = new StringBuilder();
+        for ( int i = 0; i < Array.getLength( value ); i++ )
+        {
+            if ( i > 0 )
+            {
+                text.append( ',' );
+            }
+            String element = String.valueOf( Array.get( value, i ) );
+            for ( int c = 0; c < element.length(); c++ )
+            {
+                char ch = element.charAt( c );
+                if ( ch == ',' || ch == '\\' )
+                {
+                    text.append( '\\' );
+                }
+                text.append( ch );
+            }
+        }
+        return text.toString();
+    }
+
+    static Object fromText( String type, String text )
+    {
+        if ( !isArray( type ) )
+        {
+            return scalar( type, text );
+        }
+        String elementType = type.substring( 0, type.length() - 2 );
+        List<String> elements = split( text );
+        Object array = Array.newInstance( scalarClass( elementType ), elements.size() );
+        for ( int i = 0; i < elements.size(); i++ )
+        {
+            Array.set( array, i, scalar( elementType, elements.get( i ) ) );
+        }
+        return array;
+    }
+
+    /**
+     * Splits text written by {@link #toText(Object)}, or any list written the same way.
+     */
+    static List<String> split( String text )
+    {
+        List<String> elements = new ArrayList<String>();
+        if ( text.length() == 0 )
+        {
+            return elements;
+        }
+        StringBuilder element = new StringBuilder();
+        for ( int c = 0; c < text.length(); c++ )
+        {
+            char ch = text.charAt( c );
+            if ( ch == '\\' && c + 1 < text.length() )
+            {
+                element.append( text.charAt( ++c ) );
+            }
+            else if ( ch == ',' )
+            {
+                elements.add( element.toString() );
+                element.setLength( 0 );
+            }
+            else
+            {
+                element.append( ch );
+            }
+        }
+        elements.add( element.toString() );
+        return elements;
+    }
+
+    private static String scalarType( Class<?> type )
+    {
+        if ( type == String.class )
+        {
+            return "string";
+        }
+        if ( type == Integer.class || type == int.class )
+        {
+            return "int";
+        }
+        if ( type == Long.class || type == long.class )
+        {
+            return "long";
+        }
+        if ( type == Boolean.class || type == boolean.class )
+        {
+            return "boolean";
+        }
+        if ( type == Double.class || type == double.class )
+        {
+            return "double";
+        }
+        if ( type == Float.class || type == float.class )
+        {
+            return "float";
+        }
+        if ( type == Short.class || type == short.class )
+        {
+            return "short";
+        }
+        if ( type == Byte.class || type == byte.class )
+        {
+            return "byte";
+        }
+        if ( type == Character.class || type == char.class )
+        {
+            return "char";
+        }
+        throw new IllegalArgumentException( "Not a property type: " + type.getName() );
+    }
+
+    private static Class<?> scalarClass( String type )
+    {
+        if ( "string".equals( type ) )
+        {
+            return String.class;
+        }
+        if ( "int".equals( type ) )
+        {
+            return int.class;
+        }
+        if ( "long".equals( type ) )
+        {
+            return long.class;
+        }
+        if ( "boolean".equals( type ) )
+        {
+            return boolean.class;
+        }
+        if ( "double".equals( type ) )
+        {
+            return double.class;
+        }
+        if ( "float".equals( type ) )
+        {
+            return float.class;
+        }
+        if ( "short".equals( type ) )
+        {
+            return short.class;
+        }
+        if ( "byte".equals( type ) )
+        {
+            return byte.class;
+        }
+        if ( "char".equals( type ) )
+        {
+            return char.class;
+        }
+        throw new IllegalArgumentException( "Not a property type: " + type );
+    }
+
+    private static Object scalar( String type, String text )
+    {
+        Class<?> scalarClass = scalarClass( type );
+        if ( scalarClass == String.class )
+        {
+            return text;
+        }
+        if ( scalarClass == int.class )
+        {
+            return Integer.valueOf( text );
+        }
+        if ( scalarClass == long.class )
+        {
+            return Long.valueOf( text );
+        }
+        if ( scalarClass == boolean.class )
+        {
+            return Boolean.valueOf( text );
+        }
+        if ( scalarClass == double.class )
+        {
+            return Double.valueOf( text );
+        }
+        if ( scalarClass == float.class )
+        {
+            return Float.valueOf( text );
+        }
+        if ( scalarClass == short.class )
+        {
+            return Short.valueOf( text );
+        }
+        if ( scalarClass == byte.class )
+        {
+            return Byte.valueOf( text );
+        }
+        if ( text.length() != 1 )
+        {
+            throw new IllegalArgumentException( "Not a char: " + text );
+        }
+        return text.charAt( 0 );
+    }
+}
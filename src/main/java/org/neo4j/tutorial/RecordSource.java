@@ -0,0 +1,18 @@
+package org.neo4j.tutorial;
+
+import org.neo4j.tutorial.UniverseDataReader.Record;
+
+/**
+ * Somewhere the loader can take universe records from, one at a time.
+ */
+interface RecordSource
+{
+    /**
+     * @return the next record, or null once the source is exhausted
+     */
+    Record next();
+
+    RuntimeException error( int line, String message );
+
+    void close();
+}
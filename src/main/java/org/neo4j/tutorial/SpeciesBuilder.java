@@ -2,8 +2,7 @@ package org.neo4j.tutorial;
 
 import static org.neo4j.tutorial.DatabaseHelper.ensureRelationshipInDb;
 
-import org.neo4j.graphdb.GraphDatabaseService;
-import org.neo4j.graphdb.Node;
+import org.neo4j.helpers.collection.MapUtil;
 
 public class SpeciesBuilder
 {
@@ -23,23 +22,23 @@ public class SpeciesBuilder
         this.speciesName = speciesName;
     }
 
-    public void fact( GraphDatabaseService db )
+    public void fact( UniverseContext universe )
     {
-        Node speciesNode = ensureSpeciesInDb( speciesName, db );
+        long speciesNode = ensureSpeciesInDb( speciesName, universe );
 
         if ( planet != null )
         {
-            Node planetNode = PlanetBuilder.ensurePlanetInDb( planet, db );
-            ensureRelationshipInDb( speciesNode, DoctorWhoRelationships.COMES_FROM, planetNode );
+            long planetNode = PlanetBuilder.ensurePlanetInDb( planet, universe );
+            ensureRelationshipInDb( universe, speciesNode, DoctorWhoRelationships.COMES_FROM, planetNode );
         }
 
         if ( enemies != null )
         {
             for ( String enemy : enemies )
             {
-                Node enemyNode = CharacterBuilder.ensureCharacterIsInDb( enemy, db );
-                ensureRelationshipInDb( enemyNode, DoctorWhoRelationships.ENEMY_OF, speciesNode );
-                ensureRelationshipInDb( speciesNode, DoctorWhoRelationships.ENEMY_OF, enemyNode );
+                long enemyNode = CharacterBuilder.ensureCharacterIsInDb( enemy, universe );
+                ensureRelationshipInDb( universe, enemyNode, DoctorWhoRelationships.ENEMY_OF, speciesNode );
+                ensureRelationshipInDb( universe, speciesNode, DoctorWhoRelationships.ENEMY_OF, enemyNode );
             }
         }
 
@@ -47,42 +46,36 @@ public class SpeciesBuilder
         {
             for ( String eSpecies : enemySpecies )
             {
-                Node enemySpeciesNode = ensureSpeciesInDb( eSpecies, db );
-                ensureRelationshipInDb( enemySpeciesNode, DoctorWhoRelationships.ENEMY_OF, speciesNode );
-                ensureRelationshipInDb( speciesNode, DoctorWhoRelationships.ENEMY_OF, enemySpeciesNode );
+                long enemySpeciesNode = ensureSpeciesInDb( eSpecies, universe );
+                ensureRelationshipInDb( universe, enemySpeciesNode, DoctorWhoRelationships.ENEMY_OF, speciesNode );
+                ensureRelationshipInDb( universe, speciesNode, DoctorWhoRelationships.ENEMY_OF, enemySpeciesNode );
             }
         }
     }
 
-    public static Node ensureSpeciesInDb( String theSpecies, GraphDatabaseService db )
+    public static long ensureSpeciesInDb( String theSpecies, UniverseContext universe )
     {
-        ensureArgumentsAreSane( theSpecies, db );
+        ensureArgumentsAreSane( theSpecies, universe );
 
-        Node speciesNode = db.index()
-                .forNodes( "species" )
-                .get( "species", theSpecies )
-                .getSingle();
+        long speciesNode = universe.findNode( "species", "species", theSpecies );
 
-        if ( speciesNode == null )
+        if ( speciesNode == UniverseWriter.NO_NODE )
         {
-            speciesNode = db.createNode();
-            speciesNode.setProperty( "species", theSpecies );
-            db.index()
-                    .forNodes( "species" )
-                    .add( speciesNode, "species", theSpecies );
+            speciesNode = universe.createNode( MapUtil.map( "species", theSpecies ) );
+            universe.index( "species", speciesNode, "species", theSpecies );
         }
 
         return speciesNode;
     }
 
-    private static void ensureArgumentsAreSane( String theSpecies, GraphDatabaseService db )
+    private static void ensureArgumentsAreSane( String theSpecies, UniverseContext universe )
     {
         if ( theSpecies == null )
         {
             throw new RuntimeException( "Must provide a value for the species to the species builder" );
         }
 
-        if ( db == null )
+        if ( universe == null )
         {
             throw new RuntimeException( "Must provide a value for the universe to the species builder" );
         }
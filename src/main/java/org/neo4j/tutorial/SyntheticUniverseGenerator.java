@@ -0,0 +1,234 @@
+package org.neo4j.tutorial;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.neo4j.tutorial.DoctorWhoUniverseGenerator.Backend;
+import org.neo4j.tutorial.UniverseDataReader.Call;
+import org.neo4j.tutorial.UniverseDataReader.Record;
+
+/**
+ * Generates a universe many times the size of the real one, for finding out how loads and queries behave
+ * at scale. The real data is loaded {@code scale} times over, with everything but the Doctor and the Daleks
+ * renamed in each copy, so the universe keeps its shape: the Doctor and the Daleks become ever bigger
+ * supernodes, the episodes form a single long NEXT/PREVIOUS chain, and the Doctor's regenerations carry on
+ * from one copy into the next. A seeded fraction of each copy's references point into a random copy
+ * instead of its own, so the copies are tied together rather than sitting side by side.
+ * <p>
+ * A scale of one gives exactly the real universe, and the same scale and seed always give the same universe.
+ */
+public class SyntheticUniverseGenerator
+{
+    /**
+     * The fraction of references which point into a random copy rather than the copy they're in.
+     */
+    public static final double CROSS_COPY_REFERENCES = 0.1;
+
+    /**
+     * Entities which stay single nodes however large the universe gets.
+     */
+    private static final Set<String> ANCHORS = new HashSet<String>( Arrays.asList( "Doctor", "Dalek" ) );
+
+    private final String dbDir = DatabaseHelper.createTempDatabaseDir()
+            .getAbsolutePath();
+    private final CommitStatistics commitStatistics = new CommitStatistics();
+    private final LoadProfile loadProfile = new LoadProfile();
+
+    public SyntheticUniverseGenerator( int scale, long seed )
+    {
+        this( scale, seed, Backend.BATCH_INSERTER, DoctorWhoUniverseGenerator.DEFAULT_FACTS_PER_COMMIT );
+    }
+
+    /**
+     * @param scale how many copies of the real universe to load
+     * @param seed  decides which references point into other copies
+     */
+    public SyntheticUniverseGenerator( int scale, long seed, Backend backend, int factsPerCommit )
+    {
+        if ( scale < 1 )
+        {
+            throw new IllegalArgumentException( "Scale must be at least 1, was " + scale );
+        }
+
+        UniverseContext universe = DoctorWhoUniverseGenerator.createUniverse( dbDir, backend,
+                DoctorWhoUniverseGenerator.Indexing.DEFERRED, loadProfile );
+        try
+        {
+            DoctorWhoUniverseGenerator.addDoctorAsNodeOneForToolSupportReasons( universe );
+            for ( String dataFile : UniverseDataLoader.DATA_FILES )
+            {
+                Random random = new Random( seed * 31 + dataFile.hashCode() );
+                UniverseDataLoader.load( new ScaledRecords( dataFile, scale, random ), universe, factsPerCommit,
+                        commitStatistics );
+            }
+        }
+        finally
+        {
+            universe.shutdown();
+        }
+        DoctorWhoUniverseGenerator.writeLoadReport( loadProfile );
+    }
+
+    public CommitStatistics getCommitStatistics()
+    {
+        return commitStatistics;
+    }
+
+    public LoadProfile getLoadProfile()
+    {
+        return loadProfile;
+    }
+
+    public String getDatabaseDirectory()
+    {
+        return dbDir;
+    }
+
+    static String name( String name, int copy )
+    {
+        return ANCHORS.contains( name ) ? name : title( name, copy );
+    }
+
+    /**
+     * Episode titles are always renamed, even when an episode is named after an anchor.
+     */
+    static String title( String title, int copy )
+    {
+        if ( title == null || copy == 0 )
+        {
+            return title;
+        }
+        return title + " #" + copy;
+    }
+
+    /**
+     * Reads a data file once for each copy, renaming what each record creates and refers to.
+     */
+    private static class ScaledRecords implements RecordSource
+    {
+        private final String dataFile;
+        private final int scale;
+        private final Random random;
+        private UniverseDataReader reader;
+        private int copy = 0;
+        private String lastDoctorActor;
+
+        ScaledRecords( String dataFile, int scale, Random random )
+        {
+            this.dataFile = dataFile;
+            this.scale = scale;
+            this.random = random;
+            this.reader = UniverseDataReader.open( dataFile );
+        }
+
+        public Record next()
+        {
+            while ( copy < scale )
+            {
+                Record record = reader.next();
+                if ( record != null )
+                {
+                    return scaled( record );
+                }
+                reader.close();
+                if ( ++copy < scale )
+                {
+                    reader = UniverseDataReader.open( dataFile );
+                }
+            }
+            return null;
+        }
+
+        public RuntimeException error( int line, String message )
+        {
+            return reader.error( line, message + " in copy " + copy );
+        }
+
+        public void close()
+        {
+            if ( copy < scale )
+            {
+                reader.close();
+            }
+        }
+
+        private Record scaled( Record record )
+        {
+            boolean theDoctor = "character".equals( record.getKind() ) && record.getKey().length == 1
+                    && "Doctor".equals( record.getKey()[0] );
+            String[] key = "dalekProps".equals( record.getKind() ) ? titles( record.getKey(), copy )
+                    : names( record.getKey(), copy );
+            Record scaled = new Record( record.getKind(), key, record.getLineNumber() );
+            if ( theDoctor && lastDoctorActor != null )
+            {
+                // Each copy's first Doctor regenerates from the previous copy's last
+                scaled.add( new Call( "regeneration", new String[] { lastDoctorActor } ) );
+            }
+            for ( Call call : record.getCalls() )
+            {
+                Call renamed = new Call( call.getName(), arguments( call ) );
+                if ( theDoctor && "regeneration".equals( call.getName() ) )
+                {
+                    String[] actors = renamed.getArguments();
+                    lastDoctorActor = UniverseDataLoader.isNumber( actors[actors.length - 1] ) ? actors[0]
+                            : actors[actors.length - 1];
+                }
+                scaled.add( renamed );
+            }
+            return scaled;
+        }
+
+        private String[] arguments( Call call )
+        {
+            String name = call.getName();
+            String[] args = call.getArguments();
+            if ( "wikipedia".equals( name ) || "salary".equals( name ) )
+            {
+                return args;
+            }
+            if ( "regeneration".equals( name ) && args.length == 2 && UniverseDataLoader.isNumber( args[1] ) )
+            {
+                return new String[] { name( args[0], copy ), args[1] };
+            }
+            if ( "title".equals( name ) )
+            {
+                return titles( args, copy );
+            }
+            if ( "doctor".equals( name ) || "regeneration".equals( name )
+                    || "addProp".equals( name ) )
+            {
+                return names( args, copy );
+            }
+
+            String[] references = new String[args.length];
+            for ( int i = 0; i < args.length; i++ )
+            {
+                int target = random.nextDouble() < CROSS_COPY_REFERENCES ? random.nextInt( scale ) : copy;
+                references[i] = name( args[i], target );
+            }
+            return references;
+        }
+
+        private static String[] names( String[] names, int copy )
+        {
+            String[] renamed = new String[names.length];
+            for ( int i = 0; i < names.length; i++ )
+            {
+                renamed[i] = name( names[i], copy );
+            }
+            return renamed;
+        }
+
+        private static String[] titles( String[] titles, int copy )
+        {
+            String[] renamed = new String[titles.length];
+            for ( int i = 0; i < titles.length; i++ )
+            {
+                renamed[i] = title( titles[i], copy );
+            }
+            return renamed;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Lock;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+
+public class TransactionalUniverseWriter implements UniverseWriter
+{
+    /**
+     * How many deferred index entries to write in each transaction at the end of the load.
+     */
+    private static final int INDEX_ENTRIES_PER_COMMIT = 10000;
+
+    private final GraphDatabaseService db;
+    private final EntityRegistry registry;
+    private final boolean deferIndexing;
+    private int transactionDepth = 0;
+    private boolean rollbackOnly = false;
+
+    public TransactionalUniverseWriter( GraphDatabaseService db )
+    {
+        this( db, false );
+    }
+
+    /**
+     * @param newStore true if the database is empty apart from what this writer will load, in which case
+     *                 lookups are answered from the load's own registry without touching the index.
+     */
+    public TransactionalUniverseWriter( GraphDatabaseService db, boolean newStore )
+    {
+        this( db, newStore, false );
+    }
+
+    /**
+     * @param deferIndexing true to write the indexes at shutdown, each in one pass with its entries
+     *                      de-duplicated and sorted by key, rather than in the transactions that add them.
+     *                      Nothing can be looked up in the indexes until then, so this is only possible for
+     *                      a new store, whose lookups are answered from the registry.
+     */
+    public TransactionalUniverseWriter( GraphDatabaseService db, boolean newStore, boolean deferIndexing )
+    {
+        if ( deferIndexing && !newStore )
+        {
+            throw new IllegalArgumentException( "Index writes can only be deferred when loading a new store" );
+        }
+        this.db = db;
+        this.registry = new EntityRegistry( newStore );
+        this.deferIndexing = deferIndexing;
+    }
+
+    public Transaction beginTx()
+    {
+        return new RegistryTransaction( db.beginTx() );
+    }
+
+    public long findNode( String indexName, String key, Object value )
+    {
+        long registered = registry.find( indexName, key, value );
+        if ( registered != NO_NODE || registry.isComplete() )
+        {
+            return registered;
+        }
+
+        Node node = db.index()
+                .forNodes( indexName )
+                .get( key, value )
+                .getSingle();
+        if ( node == null )
+        {
+            return NO_NODE;
+        }
+        registry.register( indexName, key, value, node.getId() );
+        return node.getId();
+    }
+
+    public long findAnyNode( String indexName, String key )
+    {
+        long registered = registry.findAny( indexName, key );
+        if ( registered != NO_NODE || registry.isComplete() )
+        {
+            return registered;
+        }
+
+        IndexHits<Node> hits = db.index()
+                .forNodes( indexName )
+                .query( key, "*" );
+        try
+        {
+            return hits.hasNext() ? hits.next().getId() : NO_NODE;
+        }
+        finally
+        {
+            hits.close();
+        }
+    }
+
+    public long createNode( Map<String, Object> properties )
+    {
+        Node node = db.createNode();
+        for ( String key : properties.keySet() )
+        {
+            node.setProperty( key, properties.get( key ) );
+        }
+        return node.getId();
+    }
+
+    public void setNodeProperty( long node, String key, Object value )
+    {
+        db.getNodeById( node ).setProperty( key, value );
+    }
+
+    public Object getNodeProperty( long node, String key )
+    {
+        return db.getNodeById( node ).getProperty( key, null );
+    }
+
+    public void index( String indexName, long node, String key, Object value )
+    {
+        if ( registry.find( indexName, key, value ) == node )
+        {
+            return;
+        }
+
+        registry.register( indexName, key, value, node );
+        if ( deferIndexing )
+        {
+            registry.defer( indexName, key, value, node );
+            return;
+        }
+        if ( !registry.isComplete() && isIndexed( indexName, node, key, value ) )
+        {
+            return;
+        }
+        db.index()
+                .forNodes( indexName )
+                .add( db.getNodeById( node ), key, value );
+    }
+
+    private boolean isIndexed( String indexName, long node, String key, Object value )
+    {
+        IndexHits<Node> hits = db.index()
+                .forNodes( indexName )
+                .get( key, value );
+        try
+        {
+            for ( Node indexed : hits )
+            {
+                if ( indexed.getId() == node )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        finally
+        {
+            hits.close();
+        }
+    }
+
+    public long createRelationship( long startNode, RelationshipType type, long endNode,
+                                    Map<String, Object> properties )
+    {
+        registry.registerRelationship( startNode, type, endNode );
+        Relationship relationship = db.getNodeById( startNode ).createRelationshipTo( db.getNodeById( endNode ), type );
+        for ( String key : properties.keySet() )
+        {
+            relationship.setProperty( key, properties.get( key ) );
+        }
+        return relationship.getId();
+    }
+
+    public boolean relationshipExists( long startNode, RelationshipType type, long endNode )
+    {
+        if ( registry.hasRelationship( startNode, type, endNode ) )
+        {
+            return true;
+        }
+        if ( registry.isComplete() )
+        {
+            return false;
+        }
+
+        for ( Relationship r : db.getNodeById( startNode ).getRelationships( type, Direction.OUTGOING ) )
+        {
+            if ( r.getEndNode().getId() == endNode )
+            {
+                registry.registerRelationship( startNode, type, endNode );
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Iterable<Long> relatedNodes( long node, RelationshipType type, Direction direction )
+    {
+        Node start = db.getNodeById( node );
+        List<Long> related = new ArrayList<Long>();
+        for ( Relationship r : start.getRelationships( type, direction ) )
+        {
+            related.add( r.getOtherNode( start ).getId() );
+        }
+        return related;
+    }
+
+    public void shutdown()
+    {
+        writeDeferredIndexEntries();
+        db.shutdown();
+    }
+
+    private void writeDeferredIndexEntries()
+    {
+        List<EntityRegistry.IndexEntry> entries = registry.drainIndexEntries();
+        int next = 0;
+        while ( next < entries.size() )
+        {
+            String indexName = entries.get( next ).getIndexName();
+            Index<Node> index = db.index().forNodes( indexName );
+            Transaction transaction = db.beginTx();
+            try
+            {
+                for ( int written = 0; written < INDEX_ENTRIES_PER_COMMIT && next < entries.size()
+                        && entries.get( next ).getIndexName().equals( indexName ); written++ )
+                {
+                    EntityRegistry.IndexEntry entry = entries.get( next++ );
+                    index.add( db.getNodeById( entry.getNode() ), entry.getKey(), entry.getValue() );
+                }
+                transaction.success();
+            }
+            finally
+            {
+                transaction.finish();
+            }
+        }
+    }
+
+    private class RegistryTransaction implements Transaction
+    {
+        private final Transaction transaction;
+        private boolean successful = false;
+
+        RegistryTransaction( Transaction transaction )
+        {
+            this.transaction = transaction;
+            transactionDepth++;
+        }
+
+        public void failure()
+        {
+            rollbackOnly = true;
+            transaction.failure();
+        }
+
+        public void success()
+        {
+            successful = true;
+            transaction.success();
+        }
+
+        public void finish()
+        {
+            if ( !successful )
+            {
+                rollbackOnly = true;
+            }
+
+            boolean committed = false;
+            try
+            {
+                transaction.finish();
+                committed = true;
+            }
+            finally
+            {
+                if ( --transactionDepth == 0 )
+                {
+                    if ( committed && !rollbackOnly )
+                    {
+                        registry.commit();
+                    }
+                    else
+                    {
+                        registry.rollback();
+                    }
+                    rollbackOnly = false;
+                }
+            }
+        }
+
+        public Lock acquireWriteLock( PropertyContainer entity )
+        {
+            return transaction.acquireWriteLock( entity );
+        }
+
+        public Lock acquireReadLock( PropertyContainer entity )
+        {
+            return transaction.acquireReadLock( entity );
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.neo4j.tutorial;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Lock;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * Everything one universe load needs, passed through the builders in place of a global
+ * database handle. Writes go to the wrapped {@link UniverseWriter}, well-known anchor
+ * nodes such as the Doctor are resolved once and then pinned for the rest of the load,
+ * and the end of the episode chain is tracked so each new episode can follow on from it.
+ * Since nothing here is shared, several universes can be loaded side by side in one JVM.
+ */
+public class UniverseContext implements UniverseWriter
+{
+    /**
+     * Until the first new episode of a load, where the chain ends still has to be looked up in the store.
+     */
+    private static final long NOT_LOOKED_UP = -2;
+
+    private final UniverseWriter writer;
+    private final LoadProfile profile;
+    private final Map<String, Long> anchors = new HashMap<String, Long>();
+    private long previousEpisode = NOT_LOOKED_UP;
+
+    public UniverseContext( UniverseWriter writer )
+    {
+        this( writer, new LoadProfile() );
+    }
+
+    /**
+     * @param profile where the builders record their timings. Wrap the writer in a
+     *                {@link ProfilingUniverseWriter} to time its operations as well.
+     */
+    public UniverseContext( UniverseWriter writer, LoadProfile profile )
+    {
+        this.writer = writer;
+        this.profile = profile;
+    }
+
+    public LoadProfile getProfile()
+    {
+        return profile;
+    }
+
+    public long theDoctor()
+    {
+        return anchor( "characters", "character", "Doctor" );
+    }
+
+    public long daleks()
+    {
+        return anchor( "species", "species", "Dalek" );
+    }
+
+    /**
+     * @return the episode the next new episode follows on from, or {@link #NO_NODE} if it is the first
+     */
+    public long previousEpisode()
+    {
+        if ( previousEpisode == NOT_LOOKED_UP )
+        {
+            previousEpisode = lastEpisode();
+        }
+        return previousEpisode;
+    }
+
+    public void episodeAppended( long episode )
+    {
+        previousEpisode = episode;
+    }
+
+    /**
+     * @return the episode at the end of the NEXT chain, or {@link #NO_NODE} if there are no episodes yet
+     */
+    public long lastEpisode()
+    {
+        long episode = writer.findAnyNode( "episodes", "episode" );
+        while ( episode != NO_NODE )
+        {
+            Iterator<Long> next = writer.relatedNodes( episode, DoctorWhoRelationships.NEXT, Direction.OUTGOING )
+                    .iterator();
+            if ( !next.hasNext() )
+            {
+                break;
+            }
+            episode = next.next();
+        }
+        return episode;
+    }
+
+    private long anchor( String indexName, String key, Object value )
+    {
+        String anchor = indexName + '/' + key + '/' + value;
+        Long node = anchors.get( anchor );
+        if ( node == null )
+        {
+            long found = writer.findNode( indexName, key, value );
+            if ( found == NO_NODE )
+            {
+                return NO_NODE;
+            }
+            node = found;
+            anchors.put( anchor, node );
+        }
+        return node;
+    }
+
+    public Transaction beginTx()
+    {
+        return new AnchorTransaction( writer.beginTx() );
+    }
+
+    public long findNode( String indexName, String key, Object value )
+    {
+        return writer.findNode( indexName, key, value );
+    }
+
+    public long findAnyNode( String indexName, String key )
+    {
+        return writer.findAnyNode( indexName, key );
+    }
+
+    public long createNode( Map<String, Object> properties )
+    {
+        return writer.createNode( properties );
+    }
+
+    public void setNodeProperty( long node, String key, Object value )
+    {
+        writer.setNodeProperty( node, key, value );
+    }
+
+    public Object getNodeProperty( long node, String key )
+    {
+        return writer.getNodeProperty( node, key );
+    }
+
+    public void index( String indexName, long node, String key, Object value )
+    {
+        writer.index( indexName, node, key, value );
+    }
+
+    public long createRelationship( long startNode, RelationshipType type, long endNode,
+                                    Map<String, Object> properties )
+    {
+        return writer.createRelationship( startNode, type, endNode, properties );
+    }
+
+    public boolean relationshipExists( long startNode, RelationshipType type, long endNode )
+    {
+        return writer.relationshipExists( startNode, type, endNode );
+    }
+
+    public Iterable<Long> relatedNodes( long node, RelationshipType type, Direction direction )
+    {
+        return writer.relatedNodes( node, type, direction );
+    }
+
+    public void shutdown()
+    {
+        writer.shutdown();
+    }
+
+    /**
+     * An anchor or episode resolved in a transaction that rolls back may not exist any more, so a
+     * failed transaction unpins them all and they are looked up again on next use.
+     */
+    private class AnchorTransaction implements Transaction
+    {
+        private final Transaction transaction;
+        private boolean successful = false;
+        private boolean failed = false;
+
+        AnchorTransaction( Transaction transaction )
+        {
+            this.transaction = transaction;
+        }
+
+        public void failure()
+        {
+            failed = true;
+            transaction.failure();
+        }
+
+        public void success()
+        {
+            successful = true;
+            transaction.success();
+        }
+
+        public void finish()
+        {
+            boolean finished = false;
+            try
+            {
+                transaction.finish();
+                finished = true;
+            }
+            finally
+            {
+                if ( !finished || failed || !successful )
+                {
+                    anchors.clear();
+                    previousEpisode = NOT_LOOKED_UP;
+                }
+            }
+        }
+
+        public Lock acquireWriteLock( PropertyContainer entity )
+        {
+            return transaction.acquireWriteLock( entity );
+        }
+
+        public Lock acquireReadLock( PropertyContainer entity )
+        {
+            return transaction.acquireReadLock( entity );
+        }
+    }
+}
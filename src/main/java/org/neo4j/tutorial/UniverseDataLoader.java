@@ -0,0 +1,408 @@
+package org.neo4j.tutorial;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.tutorial.UniverseDataReader.Call;
+import org.neo4j.tutorial.UniverseDataReader.Record;
+
+/**
+ * Streams the universe's data files into the builders, one record at a time, so only the record being
+ * loaded is ever held in memory.
+ */
+class UniverseDataLoader
+{
+    /**
+     * The data files in the order they have to be loaded, since later files refer to what earlier ones created.
+     */
+    public static final String[] DATA_FILES = { "actors", "episodes", "characters", "species", "planets",
+            "dalekProps" };
+
+    /**
+     * The builder each kind of record is loaded by, as it appears in the load profile.
+     */
+    private static final Map<String, String> BUILDERS = new HashMap<String, String>();
+
+    static
+    {
+        BUILDERS.put( "actor", "ActorBuilder.fact" );
+        BUILDERS.put( "episode", "EpisodeBuilder.fact" );
+        BUILDERS.put( "character", "CharacterBuilder.fact" );
+        BUILDERS.put( "species", "SpeciesBuilder.fact" );
+        BUILDERS.put( "planet", "PlanetBuilder.fact" );
+        BUILDERS.put( "dalekProps", "DalekPropBuilder.fact" );
+    }
+
+    private UniverseDataLoader()
+    {
+    }
+
+    /**
+     * @param fingerprints where the fingerprint of every record loaded is added, so a later update can skip it
+     */
+    public static void loadAll( UniverseContext universe, int factsPerCommit, CommitStatistics statistics,
+                                UniverseFingerprints fingerprints )
+    {
+        loadAll( universe, factsPerCommit, statistics, fingerprints, false );
+    }
+
+    /**
+     * Loads the data files as
+     * {@link #update(RecordSource, UniverseContext, int, CommitStatistics, UniverseFingerprints)} does.
+     */
+    public static void updateAll( UniverseContext universe, int factsPerCommit, CommitStatistics statistics,
+                                  UniverseFingerprints fingerprints )
+    {
+        loadAll( universe, factsPerCommit, statistics, fingerprints, true );
+    }
+
+    private static void loadAll( UniverseContext universe, int factsPerCommit, CommitStatistics statistics,
+                                 UniverseFingerprints fingerprints, boolean update )
+    {
+        for ( String dataFile : DATA_FILES )
+        {
+            load( UniverseDataReader.open( dataFile ), universe, factsPerCommit, statistics, fingerprints,
+                    update );
+        }
+    }
+
+    /**
+     * @param factsPerCommit how many records to load in each transaction, or {@link BatchingTransaction#UNBATCHED}
+     *                       to load the whole file in one
+     */
+    public static void load( String dataFile, UniverseContext universe, int factsPerCommit,
+                             CommitStatistics statistics )
+    {
+        load( UniverseDataReader.open( dataFile ), universe, factsPerCommit, statistics );
+    }
+
+    /**
+     * Loads every record from the source, closing it afterwards. No fingerprints are kept, so an update would
+     * load the records again.
+     */
+    public static void load( RecordSource reader, UniverseContext universe, int factsPerCommit,
+                             CommitStatistics statistics )
+    {
+        load( reader, universe, factsPerCommit, statistics, null, false );
+    }
+
+    /**
+     * Loads the records from the source whose fingerprints aren't among those given, closing it afterwards.
+     * The others are skipped without touching the graph, so updating an existing store only applies what is
+     * new. The fingerprints of the records loaded are added to the others.
+     */
+    public static void update( RecordSource reader, UniverseContext universe, int factsPerCommit,
+                               CommitStatistics statistics, UniverseFingerprints fingerprints )
+    {
+        load( reader, universe, factsPerCommit, statistics, fingerprints, true );
+    }
+
+    private static void load( RecordSource reader, UniverseContext universe, int factsPerCommit,
+                              CommitStatistics statistics, UniverseFingerprints fingerprints, boolean update )
+    {
+        try
+        {
+            BatchingTransaction tx = new BatchingTransaction( universe, factsPerCommit, statistics );
+            try
+            {
+                for ( Record record = reader.next(); record != null; record = reader.next() )
+                {
+                    if ( update && fingerprints.contains( record ) )
+                    {
+                        continue;
+                    }
+                    fact( reader, record, universe );
+                    if ( fingerprints != null )
+                    {
+                        fingerprints.add( record );
+                    }
+                    tx.factLoaded();
+                }
+                tx.success();
+            }
+            finally
+            {
+                tx.finish();
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+    static void fact( RecordSource reader, Record record, UniverseContext universe )
+    {
+        String builder = BUILDERS.get( record.getKind() );
+        long started = System.nanoTime();
+        try
+        {
+            build( reader, record, universe );
+        }
+        finally
+        {
+            if ( builder != null )
+            {
+                universe.getProfile().record( LoadProfile.Category.BUILDER, builder, System.nanoTime() - started );
+            }
+        }
+    }
+
+    private static void build( RecordSource reader, Record record, UniverseContext universe )
+    {
+        String kind = record.getKind();
+        String[] key = record.getKey();
+        if ( key.length != 1 || key[0] == null )
+        {
+            throw reader.error( record.getLineNumber(), "Expected a single key for " + kind );
+        }
+
+        if ( "actor".equals( kind ) )
+        {
+            actor( reader, record, key[0] ).fact( universe );
+        }
+        else if ( "episode".equals( kind ) )
+        {
+            episode( reader, record, key[0] ).fact( universe );
+        }
+        else if ( "character".equals( kind ) )
+        {
+            character( reader, record, key[0] ).fact( universe );
+        }
+        else if ( "species".equals( kind ) )
+        {
+            species( reader, record, key[0] ).fact( universe );
+        }
+        else if ( "planet".equals( kind ) )
+        {
+            if ( !record.getCalls().isEmpty() )
+            {
+                throw unknownCall( reader, record, record.getCalls().get( 0 ) );
+            }
+            PlanetBuilder.planet( key[0] ).fact( universe );
+        }
+        else if ( "dalekProps".equals( kind ) )
+        {
+            dalekProps( reader, record, key[0] ).fact( universe );
+        }
+        else
+        {
+            throw reader.error( record.getLineNumber(), "Unknown record kind " + kind );
+        }
+    }
+
+    private static ActorBuilder actor( RecordSource reader, Record record, String name )
+    {
+        ActorBuilder actor = ActorBuilder.actor( name );
+        for ( Call call : record.getCalls() )
+        {
+            String[] args = call.getArguments();
+            if ( "played".equals( call.getName() ) )
+            {
+                actor.played( args );
+            }
+            else if ( "wikipedia".equals( call.getName() ) && args.length == 1 )
+            {
+                actor.wikipedia( args[0] );
+            }
+            else if ( "salary".equals( call.getName() ) && args.length == 1 )
+            {
+                actor.salary( Integer.parseInt( args[0] ) );
+            }
+            else
+            {
+                throw unknownCall( reader, record, call );
+            }
+        }
+        return actor;
+    }
+
+    private static EpisodeBuilder episode( RecordSource reader, Record record, String number )
+    {
+        EpisodeBuilder episode = EpisodeBuilder.episode( number );
+        for ( Call call : record.getCalls() )
+        {
+            String[] args = call.getArguments();
+            if ( "title".equals( call.getName() ) && args.length == 1 )
+            {
+                episode.title( args[0] );
+            }
+            else if ( "doctor".equals( call.getName() ) && args.length == 1 )
+            {
+                episode.doctor( args[0] );
+            }
+            else if ( "companion".equals( call.getName() ) )
+            {
+                episode.companion( args );
+            }
+            else if ( "enemy".equals( call.getName() ) )
+            {
+                episode.enemy( args );
+            }
+            else if ( "enemySpecies".equals( call.getName() ) )
+            {
+                episode.enemySpecies( args );
+            }
+            else if ( "allies".equals( call.getName() ) )
+            {
+                episode.allies( args );
+            }
+            else if ( "alliedSpecies".equals( call.getName() ) )
+            {
+                episode.alliedSpecies( args );
+            }
+            else if ( "others".equals( call.getName() ) )
+            {
+                episode.others( args );
+            }
+            else
+            {
+                throw unknownCall( reader, record, call );
+            }
+        }
+        return episode;
+    }
+
+    private static CharacterBuilder character( RecordSource reader, Record record, String name )
+    {
+        CharacterBuilder character = CharacterBuilder.character( name );
+        for ( Call call : record.getCalls() )
+        {
+            String[] args = call.getArguments();
+            if ( "isA".equals( call.getName() ) && args.length == 1 )
+            {
+                character.isA( args[0] );
+            }
+            else if ( "isFrom".equals( call.getName() ) && args.length == 1 )
+            {
+                character.isFrom( args[0] );
+            }
+            else if ( "isCompanion".equals( call.getName() ) && args.length == 0 )
+            {
+                character.isCompanion();
+            }
+            else if ( "isEnemy".equals( call.getName() ) && args.length == 0 )
+            {
+                character.isEnemy();
+            }
+            else if ( "isAlly".equals( call.getName() ) && args.length == 0 )
+            {
+                character.isAlly();
+            }
+            else if ( "regeneration".equals( call.getName() ) )
+            {
+                regeneration( character, args );
+            }
+            else if ( "loves".equals( call.getName() ) )
+            {
+                character.loves( args );
+            }
+            else if ( "owns".equals( call.getName() ) )
+            {
+                character.owns( args );
+            }
+            else if ( "fatherOf".equals( call.getName() ) )
+            {
+                character.fatherOf( args );
+            }
+            else if ( "wikipedia".equals( call.getName() ) && args.length == 1 )
+            {
+                character.wikipedia( args[0] );
+            }
+            else if ( "firstAppearedIn".equals( call.getName() ) && args.length == 1 )
+            {
+                character.firstAppearedIn( args[0] );
+            }
+            else if ( "diedIn".equals( call.getName() ) && args.length == 1 )
+            {
+                character.diedIn( args[0] );
+            }
+            else
+            {
+                throw unknownCall( reader, record, call );
+            }
+        }
+        return character;
+    }
+
+    /**
+     * A regeneration is either a list of actors, or a single actor followed by the year they took over.
+     */
+    private static void regeneration( CharacterBuilder character, String[] args )
+    {
+        if ( args.length == 2 && isNumber( args[1] ) )
+        {
+            character.regeneration( args[0], Integer.parseInt( args[1] ) );
+        }
+        else
+        {
+            character.regeneration( args );
+        }
+    }
+
+    private static SpeciesBuilder species( RecordSource reader, Record record, String name )
+    {
+        SpeciesBuilder species = SpeciesBuilder.species( name );
+        for ( Call call : record.getCalls() )
+        {
+            String[] args = call.getArguments();
+            if ( "isFrom".equals( call.getName() ) && args.length == 1 )
+            {
+                species.isFrom( args[0] );
+            }
+            else if ( "isEnemyOf".equals( call.getName() ) )
+            {
+                species.isEnemyOf( args );
+            }
+            else if ( "isEnemyOfSpecies".equals( call.getName() ) )
+            {
+                species.isEnemyOfSpecies( args );
+            }
+            else
+            {
+                throw unknownCall( reader, record, call );
+            }
+        }
+        return species;
+    }
+
+    private static DalekPropBuilder dalekProps( RecordSource reader, Record record, String episode )
+    {
+        DalekPropBuilder props = DalekPropBuilder.dalekProps( episode );
+        for ( Call call : record.getCalls() )
+        {
+            String[] args = call.getArguments();
+            if ( "addProp".equals( call.getName() ) && args.length == 3 )
+            {
+                props.addProp( args[0], args[1], args[2] );
+            }
+            else
+            {
+                throw unknownCall( reader, record, call );
+            }
+        }
+        return props;
+    }
+
+    private static RuntimeException unknownCall( RecordSource reader, Record record, Call call )
+    {
+        return reader.error( record.getLineNumber(), "Unknown " + record.getKind() + " call " + call.getName()
+                + " with " + call.getArguments().length + " arguments" );
+    }
+
+    static boolean isNumber( String value )
+    {
+        if ( value == null || value.length() == 0 )
+        {
+            return false;
+        }
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            if ( !Character.isDigit( value.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package org.neo4j.tutorial;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the universe's data files one record at a time.
+ * <p>
+ * A data file is UTF-8 text. Lines starting with '#' are comments and blank lines are ignored. The first
+ * line is the header {@code universe-data<TAB>version}. Each record starts on an unindented line giving its
+ * kind and key, such as {@code episode<TAB>129}, followed by tab-indented lines which each name one builder
+ * call and its arguments, such as {@code <TAB>companion<TAB>Rose Tyler<TAB>Mickey Smith}. All fields are
+ * separated by single tabs, and an empty field stands for null.
+ */
+class UniverseDataReader implements RecordSource
+{
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String HEADER = "universe-data";
+    private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+    private final String source;
+    private final BufferedReader reader;
+    private String[] lookahead;
+    private int lineNumber = 0;
+    private int lookaheadLine;
+
+    UniverseDataReader( String source, Reader reader )
+    {
+        this.source = source;
+        this.reader = new BufferedReader( reader );
+        readHeader();
+    }
+
+    /**
+     * @param dataFile the name of one of the data files shipped alongside this class, without its extension
+     */
+    public static UniverseDataReader open( String dataFile )
+    {
+        String resource = resourceName( dataFile );
+        InputStream in = UniverseDataReader.class.getResourceAsStream( resource );
+        if ( in == null )
+        {
+            throw new RuntimeException( "Unable to find universe data file " + resource );
+        }
+        return new UniverseDataReader( resource, new InputStreamReader( in, UTF_8 ) );
+    }
+
+    static String resourceName( String dataFile )
+    {
+        return "data/" + dataFile + ".dat";
+    }
+
+    /**
+     * @return the next record, or null once the file is exhausted
+     */
+    public Record next()
+    {
+        if ( lookahead == null )
+        {
+            lookahead = readLine();
+            lookaheadLine = lineNumber;
+        }
+        if ( lookahead == null )
+        {
+            return null;
+        }
+        if ( lookahead[0].length() == 0 )
+        {
+            throw error( lookaheadLine, "Expected the start of a record" );
+        }
+
+        Record record = new Record( lookahead[0], fields( lookahead, 1 ), lookaheadLine );
+        lookahead = null;
+        for ( String[] line = readLine(); line != null; line = readLine() )
+        {
+            if ( line[0].length() != 0 )
+            {
+                lookahead = line;
+                lookaheadLine = lineNumber;
+                break;
+            }
+            if ( line.length < 2 || line[1].length() == 0 )
+            {
+                throw error( lineNumber, "Expected a builder call" );
+            }
+            record.add( new Call( line[1], fields( line, 2 ) ) );
+        }
+        return record;
+    }
+
+    public void close()
+    {
+        try
+        {
+            reader.close();
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    public RuntimeException error( int line, String message )
+    {
+        return new RuntimeException( message + " at " + source + ":" + line );
+    }
+
+    private void readHeader()
+    {
+        String[] header = readLine();
+        if ( header == null || header.length != 2 || !HEADER.equals( header[0] ) )
+        {
+            throw error( lineNumber, "Expected a " + HEADER + " header" );
+        }
+        if ( !String.valueOf( FORMAT_VERSION ).equals( header[1] ) )
+        {
+            throw error( lineNumber, "Unsupported " + HEADER + " version " + header[1] );
+        }
+    }
+
+    private String[] readLine()
+    {
+        try
+        {
+            String line;
+            do
+            {
+                line = reader.readLine();
+                lineNumber++;
+            }
+            while ( line != null && (line.length() == 0 || line.charAt( 0 ) == '#') );
+            return line == null ? null : line.split( "\t", -1 );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private static String[] fields( String[] line, int from )
+    {
+        String[] fields = new String[line.length - from];
+        for ( int i = from; i < line.length; i++ )
+        {
+            fields[i - from] = line[i].length() == 0 ? null : line[i];
+        }
+        return fields;
+    }
+
+    public static class Record
+    {
+        private final String kind;
+        private final String[] key;
+        private final int lineNumber;
+        private final List<Call> calls = new ArrayList<Call>();
+        private String fingerprint;
+
+        Record( String kind, String[] key, int lineNumber )
+        {
+            this.kind = kind;
+            this.key = key;
+            this.lineNumber = lineNumber;
+        }
+
+        public String getKind()
+        {
+            return kind;
+        }
+
+        public String[] getKey()
+        {
+            return key;
+        }
+
+        public int getLineNumber()
+        {
+            return lineNumber;
+        }
+
+        public List<Call> getCalls()
+        {
+            return Collections.unmodifiableList( calls );
+        }
+
+        /**
+         * @return a digest of everything in the record, which changes whenever the record does
+         */
+        public String fingerprint()
+        {
+            if ( fingerprint == null )
+            {
+                fingerprint = digest();
+            }
+            return fingerprint;
+        }
+
+        private String digest()
+        {
+            StringBuilder content = new StringBuilder( kind );
+            append( content, key );
+            for ( Call call : calls )
+            {
+                content.append( "\n\t" ).append( call.getName() );
+                append( content, call.getArguments() );
+            }
+
+            try
+            {
+                StringBuilder hex = new StringBuilder();
+                for ( byte b : MessageDigest.getInstance( "SHA-1" ).digest( content.toString().getBytes( UTF_8 ) ) )
+                {
+                    hex.append( String.format( "%02x", b ) );
+                }
+                return hex.toString();
+            }
+            catch ( NoSuchAlgorithmException e )
+            {
+                throw new RuntimeException( e );
+            }
+        }
+
+        private static void append( StringBuilder content, String[] fields )
+        {
+            for ( String field : fields )
+            {
+                content.append( '\t' ).append( field == null ? "" : field );
+            }
+        }
+
+        void add( Call call )
+        {
+            calls.add( call );
+            fingerprint = null;
+        }
+    }
+
+    public static class Call
+    {
+        private final String name;
+        private final String[] arguments;
+
+        Call( String name, String[] arguments )
+        {
+            this.name = name;
+            this.arguments = arguments;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String[] getArguments()
+        {
+            return arguments;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.neo4j.tutorial;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.tutorial.UniverseDataReader.Record;
+
+/**
+ * The fingerprints of the records loaded into a universe store, so that updating the store can skip the records
+ * it already has. They are kept in a file in the store directory rather than in the graph, which they would
+ * otherwise add a node or an index to. The file is only written once a load has finished, so a load which fails
+ * part way leaves the fingerprints of the last load that didn't.
+ * <p>
+ * A fingerprint only says that a record was loaded. Editing or removing a record in the data files isn't
+ * noticed: an edited record loads as a new one, on top of whatever its old version created.
+ */
+class UniverseFingerprints
+{
+    static final String FILE_NAME = "universe.fingerprints";
+
+    private final Set<String> fingerprints = new HashSet<String>();
+
+    /**
+     * @return the fingerprints written to the store, or none for a store which has none yet
+     */
+    static UniverseFingerprints readFrom( String dbDir )
+    {
+        UniverseFingerprints loaded = new UniverseFingerprints();
+        File file = new File( dbDir, FILE_NAME );
+        if ( !file.exists() )
+        {
+            return loaded;
+        }
+        try
+        {
+            BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( file ), "UTF-8" ) );
+            try
+            {
+                for ( String line = reader.readLine(); line != null; line = reader.readLine() )
+                {
+                    loaded.fingerprints.add( line );
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to read the universe fingerprints from " + file, e );
+        }
+        return loaded;
+    }
+
+    boolean contains( Record record )
+    {
+        return fingerprints.contains( record.fingerprint() );
+    }
+
+    void add( Record record )
+    {
+        fingerprints.add( record.fingerprint() );
+    }
+
+    int size()
+    {
+        return fingerprints.size();
+    }
+
+    /**
+     * Replaces the fingerprints kept in the store's directory.
+     */
+    void writeTo( String dbDir )
+    {
+        File file = new File( dbDir, FILE_NAME );
+        File written = new File( dbDir, FILE_NAME + ".tmp" );
+        try
+        {
+            Writer writer = new OutputStreamWriter( new FileOutputStream( written ), "UTF-8" );
+            try
+            {
+                for ( String fingerprint : fingerprints )
+                {
+                    writer.write( fingerprint );
+                    writer.write( '\n' );
+                }
+            }
+            finally
+            {
+                writer.close();
+            }
+            if ( file.exists() && !file.delete() || !written.renameTo( file ) )
+            {
+                throw new IOException( "Unable to replace " + file );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to write the universe fingerprints to " + file, e );
+        }
+    }
+}
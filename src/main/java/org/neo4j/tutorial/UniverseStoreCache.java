@@ -0,0 +1,365 @@
+package org.neo4j.tutorial;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+
+/**
+ * Builds the Doctor Who universe once and hands out private copies of the
+ * resulting store directory. The golden store lives in the temp directory under
+ * a name derived from the classes of this package and the data files, so forked JVMs in
+ * the same build share it and any change to the data or builders invalidates it.
+ * Superseded stores are never deleted here, since another JVM, or another checkout
+ * building at the same time, may still be copying from them.
+ */
+class UniverseStoreCache
+{
+    private static final String COMPLETE_MARKER = "universe.complete";
+    private static final String MESSAGES_LOG = "messages.log";
+    private static final String STORE_PREFIX = "neo4j-koans-universe-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static File goldenStore = null;
+    private static File goldenSnapshot = null;
+
+    private UniverseStoreCache()
+    {
+    }
+
+    public static void copyGoldenStoreTo( File targetDir )
+    {
+        try
+        {
+            copyDirectory( goldenStore(), targetDir );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to copy the Doctor Who universe to " + targetDir, e );
+        }
+    }
+
+    static synchronized File goldenStore()
+    {
+        if ( goldenStore == null )
+        {
+            goldenStore = locateOrBuildGoldenStore();
+        }
+        return goldenStore;
+    }
+
+    /**
+     * @return a {@link GraphSnapshot} of the golden store, taken from a copy of it the first time it is needed
+     */
+    static synchronized File goldenSnapshot()
+    {
+        if ( goldenSnapshot == null )
+        {
+            goldenSnapshot = locateOrWriteGoldenSnapshot();
+        }
+        return goldenSnapshot;
+    }
+
+    private static File locateOrWriteGoldenSnapshot()
+    {
+        File store = goldenStore();
+        File snapshot = new File( store.getPath() + SNAPSHOT_SUFFIX );
+        if ( snapshot.exists() )
+        {
+            return snapshot;
+        }
+
+        long suffix = System.nanoTime();
+        File workDir = new File( store.getPath() + "-" + suffix );
+        File workFile = new File( snapshot.getPath() + "-" + suffix );
+        try
+        {
+            copyDirectory( store, workDir );
+            GraphDatabaseService db = DatabaseHelper.createDatabase( workDir.getAbsolutePath() );
+            try
+            {
+                GraphSnapshot.write( db, workFile );
+            }
+            finally
+            {
+                db.shutdown();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to take a snapshot of the Doctor Who universe", e );
+        }
+        finally
+        {
+            deleteDirectory( workDir );
+        }
+
+        // As with the store, a snapshot another JVM published first is just as good
+        if ( !workFile.renameTo( snapshot ) )
+        {
+            workFile.delete();
+            if ( !snapshot.exists() )
+            {
+                throw new RuntimeException( "Unable to publish the universe snapshot at " + snapshot );
+            }
+        }
+        return snapshot;
+    }
+
+    private static File locateOrBuildGoldenStore()
+    {
+        File tempDir = new File( System.getProperty( "java.io.tmpdir" ) );
+        File storeDir = new File( tempDir, STORE_PREFIX + generatorFingerprint() + "-" + dataFingerprint() );
+        if ( isComplete( storeDir ) )
+        {
+            return storeDir;
+        }
+
+        File workDir = new File( storeDir.getPath() + "-" + System.nanoTime() );
+        try
+        {
+            // Always from scratch: an update only adds facts, so it can't follow edited or removed data
+            DoctorWhoUniverseGenerator.generate( workDir.getAbsolutePath(),
+                    DoctorWhoUniverseGenerator.Backend.BATCH_INSERTER, DoctorWhoUniverseGenerator.Indexing.DEFERRED,
+                    DoctorWhoUniverseGenerator.DEFAULT_FACTS_PER_COMMIT, new CommitStatistics(), new LoadProfile() );
+            new File( workDir, COMPLETE_MARKER ).createNewFile();
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+
+        // Another JVM may have won the race, in which case its store is just as good as ours
+        if ( !workDir.renameTo( storeDir ) )
+        {
+            deleteDirectory( workDir );
+            if ( !isComplete( storeDir ) )
+            {
+                throw new RuntimeException( "Unable to publish the golden universe store at " + storeDir );
+            }
+        }
+        return storeDir;
+    }
+
+    private static boolean isComplete( File storeDir )
+    {
+        return new File( storeDir, COMPLETE_MARKER ).exists();
+    }
+
+    /**
+     * Every class of the package goes into the fingerprint, nested and anonymous ones included, rather than a
+     * list of the classes which happen to take part in a load today.
+     */
+    private static String generatorFingerprint()
+    {
+        List<String> resources = new ArrayList<String>();
+        String packageDir = UniverseStoreCache.class.getPackage().getName().replace( '.', '/' ) + "/";
+        try
+        {
+            File classes = new File( UniverseStoreCache.class.getProtectionDomain().getCodeSource().getLocation()
+                    .toURI() );
+            if ( classes.isDirectory() )
+            {
+                String[] names = new File( classes, packageDir ).list();
+                for ( String name : names == null ? new String[0] : names )
+                {
+                    if ( name.endsWith( CLASS_SUFFIX ) )
+                    {
+                        resources.add( name );
+                    }
+                }
+            }
+            else
+            {
+                JarFile jar = new JarFile( classes );
+                try
+                {
+                    for ( Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); )
+                    {
+                        String name = entries.nextElement().getName();
+                        if ( name.startsWith( packageDir ) && name.endsWith( CLASS_SUFFIX )
+                                && name.indexOf( '/', packageDir.length() ) == -1 )
+                        {
+                            resources.add( name.substring( packageDir.length() ) );
+                        }
+                    }
+                }
+                finally
+                {
+                    jar.close();
+                }
+            }
+        }
+        catch ( URISyntaxException e )
+        {
+            throw new RuntimeException( e );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Unable to list the classes of " + packageDir, e );
+        }
+        if ( resources.isEmpty() )
+        {
+            throw new RuntimeException( "Found no classes in " + packageDir + " to fingerprint" );
+        }
+        Collections.sort( resources );
+        return fingerprint( resources.toArray( new String[resources.size()] ) );
+    }
+
+    private static String dataFingerprint()
+    {
+        String[] resources = new String[UniverseDataLoader.DATA_FILES.length];
+        for ( int i = 0; i < resources.length; i++ )
+        {
+            resources[i] = UniverseDataReader.resourceName( UniverseDataLoader.DATA_FILES[i] );
+        }
+        return fingerprint( resources );
+    }
+
+    /**
+     * @param resources resources alongside this class, which all the generator classes and data files are,
+     *                  whose names are digested along with their contents
+     */
+    private static String fingerprint( String[] resources )
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance( "MD5" );
+            for ( String resource : resources )
+            {
+                digest.update( resource.getBytes( "UTF-8" ) );
+                digest( digest, resource );
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for ( byte b : digest.digest() )
+            {
+                hex.append( String.format( "%02x", b ) );
+            }
+            return hex.toString();
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new RuntimeException( e );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private static void digest( MessageDigest digest, String resource ) throws IOException
+    {
+        InputStream in = UniverseStoreCache.class.getResourceAsStream( resource );
+        if ( in == null )
+        {
+            throw new RuntimeException( "Unable to read " + resource );
+        }
+        try
+        {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ( (read = in.read( buffer )) != -1 )
+            {
+                digest.update( buffer, 0, read );
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    private static void copyDirectory( File source, File target ) throws IOException
+    {
+        if ( !target.exists() && !target.mkdirs() )
+        {
+            throw new IOException( "Unable to create directory " + target );
+        }
+
+        File[] files = source.listFiles();
+        if ( files == null )
+        {
+            throw new IOException( "Unable to list directory " + source );
+        }
+
+        for ( File file : files )
+        {
+            String name = file.getName();
+            if ( name.equals( COMPLETE_MARKER ) || name.equals( MESSAGES_LOG ) )
+            {
+                continue;
+            }
+
+            if ( file.isDirectory() )
+            {
+                copyDirectory( file, new File( target, name ) );
+            }
+            else
+            {
+                copyFile( file, new File( target, name ) );
+            }
+        }
+    }
+
+    private static void copyFile( File source, File target ) throws IOException
+    {
+        FileChannel in = new FileInputStream( source ).getChannel();
+        try
+        {
+            FileChannel out = new FileOutputStream( target ).getChannel();
+            try
+            {
+                long size = in.size();
+                long position = 0;
+                while ( position < size )
+                {
+                    position += in.transferTo( position, size - position, out );
+                }
+            }
+            finally
+            {
+                out.close();
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    private static void deleteDirectory( File directory )
+    {
+        File[] files = directory.listFiles();
+        if ( files != null )
+        {
+            for ( File file : files )
+            {
+                if ( file.isDirectory() )
+                {
+                    deleteDirectory( file );
+                }
+                else
+                {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
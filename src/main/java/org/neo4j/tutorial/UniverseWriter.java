@@ -0,0 +1,43 @@
+package org.neo4j.tutorial;
+
+import java.util.Map;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * The write side of a universe load. The builders describe their facts in terms of
+ * node ids so that the same builder code can drive either a transactional
+ * {@link org.neo4j.graphdb.GraphDatabaseService} or a
+ * {@link org.neo4j.unsafe.batchinsert.BatchInserter}.
+ */
+public interface UniverseWriter
+{
+    long NO_NODE = -1;
+
+    Transaction beginTx();
+
+    long findNode( String indexName, String key, Object value );
+
+    /**
+     * @return some node indexed under the key, whatever its value, or {@link #NO_NODE} if there are none
+     */
+    long findAnyNode( String indexName, String key );
+
+    long createNode( Map<String, Object> properties );
+
+    void setNodeProperty( long node, String key, Object value );
+
+    Object getNodeProperty( long node, String key );
+
+    void index( String indexName, long node, String key, Object value );
+
+    long createRelationship( long startNode, RelationshipType type, long endNode, Map<String, Object> properties );
+
+    boolean relationshipExists( long startNode, RelationshipType type, long endNode );
+
+    Iterable<Long> relatedNodes( long node, RelationshipType type, Direction direction );
+
+    void shutdown();
+}
@@ -0,0 +1,126 @@
+package org.neo4j.tutorial.server.awesomeness;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.helpers.collection.ClosableIterator;
+import org.neo4j.helpers.collection.MapUtil;
+import org.neo4j.server.plugins.Description;
+import org.neo4j.server.plugins.Name;
+import org.neo4j.server.plugins.Parameter;
+import org.neo4j.server.plugins.PluginTarget;
+import org.neo4j.server.plugins.ServerPlugin;
+import org.neo4j.server.plugins.Source;
+import org.neo4j.server.rest.repr.ListRepresentation;
+import org.neo4j.server.rest.repr.MapRepresentation;
+import org.neo4j.server.rest.repr.Representation;
+import org.neo4j.tutorial.AwesomenessRatingEngine.Rating;
+import org.neo4j.tutorial.CachingAwesomenessRatingEngine;
+
+/**
+ * Rates the awesomeness of many nodes in one request, where the koans' plugin rates one node at a time. Ratings
+ * are kept in a {@link CachingAwesomenessRatingEngine}, whose counters can be read too.
+ * <p>
+ * The plugin is registered in src/plugin/resources rather than with the main classes, so the koans' servers
+ * don't load it. The tests have it on their classpath, and the package.plugin build target jars it up for
+ * a server's plugins directory.
+ */
+@Description("Rates the awesomeness of many nodes at once")
+public class BulkAwesomenessPlugin extends ServerPlugin
+{
+    private final CachingAwesomenessRatingEngine engine = new CachingAwesomenessRatingEngine();
+
+    @Name("bulk_awesomeness")
+    @Description("Rates the nodes with the given ids, answering with their ratings in the same order")
+    @PluginTarget(GraphDatabaseService.class)
+    public Representation rateAwesomeness( @Source GraphDatabaseService db,
+                                           @Description("The ids of the nodes to rate")
+                                           @Parameter(name = "nodes") Long[] nodes )
+    {
+        long[] ids = new long[nodes.length];
+        for ( int i = 0; i < nodes.length; i++ )
+        {
+            ids[i] = nodes[i];
+        }
+        return ListRepresentation.numbers( engine.rateAwesomeness( db, ids ) );
+    }
+
+    @Name("awesomeness_cache")
+    @Description("Counts the ratings answered from the cache, worked out, thrown out to make room, and the times "
+            + "a commit has cleared the cache")
+    @PluginTarget(GraphDatabaseService.class)
+    public Representation describeCache( @Source GraphDatabaseService db )
+    {
+        Map<String, Object> counters = MapUtil.map( "capacity", engine.getCapacity(), "hits", engine.getHits(),
+                "misses", engine.getMisses(), "evictions", engine.getEvictions(), "invalidations",
+                engine.getInvalidations() );
+        return new MapRepresentation( counters );
+    }
+
+    @Name("indexed_awesomeness")
+    @Description("Rates the nodes a node index query finds, answering with the id and rating of each, "
+            + "which are written out as they are rated")
+    @PluginTarget(GraphDatabaseService.class)
+    public Representation rateIndexedAwesomeness( @Source GraphDatabaseService db,
+                                                  @Description("The node index to query")
+                                                  @Parameter(name = "index") String index,
+                                                  @Description("The key to query")
+                                                  @Parameter(name = "key") String key,
+                                                  @Description("The Lucene query, such as *")
+                                                  @Parameter(name = "query") String query )
+    {
+        // The ratings close their index hits once iterated, and are closed here too if rating one fails
+        final ClosableIterator<Rating> ratings = engine.rateAwesomeness( db, index, key, query );
+        return new ListRepresentation( "rating", new Iterable<Representation>()
+        {
+            public Iterator<Representation> iterator()
+            {
+                return new Iterator<Representation>()
+                {
+                    public boolean hasNext()
+                    {
+                        boolean more = false;
+                        try
+                        {
+                            more = ratings.hasNext();
+                            return more;
+                        }
+                        finally
+                        {
+                            if ( !more )
+                            {
+                                ratings.close();
+                            }
+                        }
+                    }
+
+                    public Representation next()
+                    {
+                        boolean rated = false;
+                        try
+                        {
+                            Rating rating = ratings.next();
+                            Map<String, Object> entry = MapUtil.map( "id", rating.getNode().getId(),
+                                    "awesomeness", rating.getAwesomeness() );
+                            rated = true;
+                            return new MapRepresentation( entry );
+                        }
+                        finally
+                        {
+                            if ( !rated )
+                            {
+                                ratings.close();
+                            }
+                        }
+                    }
+
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        } );
+    }
+}
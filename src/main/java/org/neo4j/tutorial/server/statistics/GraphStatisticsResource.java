@@ -0,0 +1,49 @@
+package org.neo4j.tutorial.server.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.server.rest.domain.JsonHelper;
+import org.neo4j.tutorial.GraphStatistics;
+
+/**
+ * Serves the live {@link GraphStatistics} of the server's database as JSON. Mount it with
+ * {@code withThirdPartyJaxRsPackage( "org.neo4j.tutorial.server.statistics", "/statistics" )}.
+ */
+@Path("/")
+public class GraphStatisticsResource
+{
+    private final GraphDatabaseService db;
+
+    public GraphStatisticsResource( @Context GraphDatabaseService db )
+    {
+        this.db = db;
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response statistics()
+    {
+        return Response.ok( JsonHelper.createJsonFrom( describe( GraphStatistics.forDatabase( db ) ) ),
+                MediaType.APPLICATION_JSON ).build();
+    }
+
+    public static Map<String, Object> describe( GraphStatistics statistics )
+    {
+        Map<String, Object> description = new LinkedHashMap<String, Object>();
+        description.put( "nodes", statistics.getNodeCount() );
+        description.put( "relationships", statistics.getRelationshipCount() );
+        description.put( "nodesByKind", statistics.getNodeCounts() );
+        description.put( "relationshipsByType", statistics.getRelationshipCounts() );
+        description.put( "degreeHistogram", statistics.getDegreeHistogram() );
+        return description;
+    }
+}
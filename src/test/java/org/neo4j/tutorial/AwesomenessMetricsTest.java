@@ -0,0 +1,151 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.event.PropertyEntry;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventHandler;
+
+public class AwesomenessMetricsTest
+{
+    private GraphDatabaseService db;
+
+    @Before
+    public void createPath()
+    {
+        db = DatabaseHelper.createDatabase();
+        Transaction tx = db.beginTx();
+        try
+        {
+            Node previous = db.getNodeById( 0 );
+            for ( int i = 1; i < 5; i++ )
+            {
+                Node node = db.createNode();
+                previous.createRelationshipTo( node, DoctorWhoRelationships.NEXT );
+                previous = node;
+            }
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+
+    @After
+    public void shutdown()
+    {
+        db.shutdown();
+    }
+
+    @Test
+    public void shouldScoreEveryNodeOfAPath()
+    {
+        Map<String, double[]> scores = new AwesomenessMetrics( db, 2, 2 ).compute( new DegreeCentrality(),
+                new ApproximateBetweenness( 5, 0 ), new PageRank() );
+
+        assertArrayEquals( new double[]{ 0.25, 0.5, 0.5, 0.5, 0.25 }, scores.get( DegreeCentrality.PROPERTY_KEY ),
+                1e-9 );
+        assertArrayEquals( new double[]{ 0, 3, 4, 3, 0 }, scores.get( ApproximateBetweenness.PROPERTY_KEY ), 1e-9 );
+        double[] ranks = scores.get( PageRank.PROPERTY_KEY );
+        double total = 0;
+        for ( int node = 0; node < ranks.length; node++ )
+        {
+            total += ranks[node];
+            assertTrue( node == 0 || ranks[node] > ranks[node - 1] );
+        }
+        assertEquals( 1.0, total, 1e-9 );
+    }
+
+    @Test
+    public void shouldWriteTheScoresBackInBatches()
+    {
+        Map<String, double[]> scores = new AwesomenessMetrics( db, 2, 2 ).computeAndWrite(
+                AwesomenessMetrics.defaultMetrics() );
+
+        for ( int id = 0; id < 5; id++ )
+        {
+            Node node = db.getNodeById( id );
+            for ( Map.Entry<String, double[]> metric : scores.entrySet() )
+            {
+                assertEquals( metric.getValue()[id], (Double) node.getProperty( metric.getKey() ), 0 );
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyWriteTheScoresWhichHaveChanged()
+    {
+        AwesomenessMetrics metrics = new AwesomenessMetrics( db, 2, 2 );
+        Map<String, double[]> scores = metrics.computeAndWrite( AwesomenessMetrics.defaultMetrics() );
+        Transaction tx = db.beginTx();
+        try
+        {
+            db.getNodeById( 3 ).setProperty( PageRank.PROPERTY_KEY, -1.0 );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        final List<String> written = new ArrayList<String>();
+        db.registerTransactionEventHandler( new TransactionEventHandler.Adapter<Void>()
+        {
+            @Override
+            public Void beforeCommit( TransactionData data )
+            {
+                for ( PropertyEntry<Node> property : data.assignedNodeProperties() )
+                {
+                    written.add( property.entity().getId() + " " + property.key() );
+                }
+                return null;
+            }
+        } );
+        metrics.computeAndWrite( AwesomenessMetrics.defaultMetrics() );
+
+        assertEquals( Arrays.asList( "3 " + PageRank.PROPERTY_KEY ), written );
+        assertEquals( scores.get( PageRank.PROPERTY_KEY )[3],
+                (Double) db.getNodeById( 3 ).getProperty( PageRank.PROPERTY_KEY ), 0 );
+    }
+
+    @Test
+    public void shouldScoreTheUniverseTheSameOnOneThreadAsOnMany()
+    {
+        EmbeddedDoctorWhoUniverse universe = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+        try
+        {
+            Map<String, double[]> serial = new AwesomenessMetrics( universe.getDatabase(), 1,
+                    AwesomenessMetrics.DEFAULT_NODES_PER_COMMIT ).compute( AwesomenessMetrics.defaultMetrics() );
+            Map<String, double[]> parallel = new AwesomenessMetrics( universe.getDatabase(), 4,
+                    AwesomenessMetrics.DEFAULT_NODES_PER_COMMIT ).compute( AwesomenessMetrics.defaultMetrics() );
+
+            for ( String metric : serial.keySet() )
+            {
+                assertArrayEquals( metric, serial.get( metric ), parallel.get( metric ), 1e-6 );
+            }
+            double[] betweenness = serial.get( ApproximateBetweenness.PROPERTY_KEY );
+            for ( double score : betweenness )
+            {
+                assertTrue( score <= betweenness[(int) universe.theDoctor().getId()] );
+            }
+        }
+        finally
+        {
+            universe.stop();
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package org.neo4j.tutorial;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.neo4j.graphdb.Node;
+import org.neo4j.helpers.collection.ClosableIterator;
+import org.neo4j.tooling.GlobalGraphOperations;
 
 public class AwesomenessRatingEngineTest
 {
@@ -50,4 +60,109 @@ public class AwesomenessRatingEngineTest
         AwesomenessRatingEngine engine = new AwesomenessRatingEngine();
         assertEquals( 33.3, engine.rateAwesomeness( universe.getDatabase(), earth.getId() ), 0.3 );
     }
+
+    @Test
+    public void shouldPlanTheRatingQueryOnceForEachDatabase()
+    {
+        AwesomenessRatingEngine engine = new AwesomenessRatingEngine( AwesomenessRatingEngine.Search.CYPHER );
+        engine.rateAwesomeness( universe.getDatabase(), universe.theDoctor().getId() );
+
+        assertTrue( AwesomenessRatingEngine.engineFor( universe.getDatabase() )
+                .isPrepared( AwesomenessRatingEngine.HOPS_TO_THE_DOCTOR ) );
+        assertSame( AwesomenessRatingEngine.engineFor( universe.getDatabase() ),
+                AwesomenessRatingEngine.engineFor( universe.getDatabase() ) );
+    }
+
+    @Test
+    public void shouldRateWithTheShortestPathQueryUnlessAskedOtherwise()
+    {
+        assertEquals( AwesomenessRatingEngine.Search.CYPHER, new AwesomenessRatingEngine().getSearch() );
+    }
+
+    @Test
+    public void shouldRateFromHopDistancesAsTheShortestPathQueryDoes()
+    {
+        AwesomenessRatingEngine engine = new AwesomenessRatingEngine( AwesomenessRatingEngine.Search.KEPT_DISTANCES );
+        AwesomenessRatingEngine cypher = new AwesomenessRatingEngine();
+        double[] ratings = engine.rateEveryNode( universe.getDatabase() );
+        for ( Node character : universe.getDatabase().index().forNodes( "characters" ).query( "character", "*" ) )
+        {
+            double rating = cypher.rateAwesomeness( universe.getDatabase(), character.getId() );
+            assertEquals( rating, engine.rateAwesomeness( universe.getDatabase(), character.getId() ) );
+            assertEquals( rating, ratings[(int) character.getId()] );
+        }
+    }
+
+    @Test
+    public void shouldRateByBidirectionalSearchAsTheShortestPathQueryDoes()
+    {
+        AwesomenessRatingEngine engine = new AwesomenessRatingEngine( AwesomenessRatingEngine.Search.BIDIRECTIONAL );
+        AwesomenessRatingEngine cypher = new AwesomenessRatingEngine( AwesomenessRatingEngine.Search.CYPHER );
+        for ( Node node : GlobalGraphOperations.at( universe.getDatabase() ).getAllNodes() )
+        {
+            double expected;
+            try
+            {
+                expected = cypher.rateAwesomeness( universe.getDatabase(), node.getId() );
+            }
+            catch ( NoSuchElementException tooFarFromTheDoctor )
+            {
+                expected = 0;
+            }
+            assertEquals( expected, engine.rateAwesomeness( universe.getDatabase(), node.getId() ) );
+        }
+    }
+
+    @Test
+    public void shouldStopSearchingBothWaysAfterTheMostHopsAllowed()
+    {
+        Node rose = universe.getDatabase().index().forNodes( "characters" ).get( "character",
+                "Rose Tyler" ).getSingle();
+        Node earth = universe.getDatabase().index().forNodes( "planets" ).get( "planet", "Earth" ).getSingle();
+        BidirectionalHopSearch search = new BidirectionalHopSearch( universe.getDatabase() );
+
+        assertEquals( 0, search.hops( rose.getId(), rose.getId(), 0 ) );
+        assertEquals( 2, search.hops( earth.getId(), universe.theDoctor().getId(), 2 ) );
+        assertEquals( HopDistances.UNREACHABLE, search.hops( earth.getId(), universe.theDoctor().getId(), 1 ) );
+    }
+
+    @Test
+    public void shouldRateABatchOfNodesAsItRatesEachOne()
+    {
+        AwesomenessRatingEngine engine = new AwesomenessRatingEngine( AwesomenessRatingEngine.Search.KEPT_DISTANCES );
+        List<Long> characters = new ArrayList<Long>();
+        Iterator<AwesomenessRatingEngine.Rating> ratings = engine.rateAwesomeness( universe.getDatabase(),
+                "characters", "character", "*" );
+        while ( ratings.hasNext() )
+        {
+            AwesomenessRatingEngine.Rating rating = ratings.next();
+            assertEquals( engine.rateAwesomeness( universe.getDatabase(), rating.getNode().getId() ),
+                    rating.getAwesomeness() );
+            characters.add( rating.getNode().getId() );
+        }
+
+        long[] ids = new long[characters.size() + 1];
+        for ( int i = 0; i < characters.size(); i++ )
+        {
+            ids[i] = characters.get( i );
+        }
+        ids[characters.size()] = Long.MAX_VALUE;
+        double[] batch = engine.rateAwesomeness( universe.getDatabase(), ids );
+        for ( int i = 0; i < characters.size(); i++ )
+        {
+            assertEquals( engine.rateAwesomeness( universe.getDatabase(), ids[i] ), batch[i] );
+        }
+        assertEquals( 0.0, batch[characters.size()] );
+    }
+
+    @Test
+    public void ratingsClosedPartWayShouldStop()
+    {
+        ClosableIterator<AwesomenessRatingEngine.Rating> ratings = new AwesomenessRatingEngine().rateAwesomeness(
+                universe.getDatabase(), "characters", "character", "*" );
+        assertTrue( ratings.hasNext() );
+        ratings.next();
+        ratings.close();
+        assertFalse( ratings.hasNext() );
+    }
 }
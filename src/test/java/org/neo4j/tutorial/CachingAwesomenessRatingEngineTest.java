@@ -0,0 +1,119 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+
+public class CachingAwesomenessRatingEngineTest
+{
+    private GraphDatabaseService db;
+    private Node doctor;
+    private Node rose;
+    private Node earth;
+    private Relationship companion;
+
+    @Before
+    public void createGraph()
+    {
+        db = DatabaseHelper.createDatabase();
+        Transaction tx = db.beginTx();
+        try
+        {
+            doctor = db.createNode();
+            doctor.setProperty( "character", "Doctor" );
+            db.index().forNodes( "characters" ).add( doctor, "character", "Doctor" );
+            rose = db.createNode();
+            rose.setProperty( "character", "Rose Tyler" );
+            earth = db.createNode();
+            earth.setProperty( "planet", "Earth" );
+            companion = rose.createRelationshipTo( doctor, DoctorWhoRelationships.COMPANION_OF );
+            rose.createRelationshipTo( earth, DoctorWhoRelationships.COMES_FROM );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+
+    @After
+    public void shutdown()
+    {
+        db.shutdown();
+    }
+
+    @Test
+    public void shouldAnswerRepeatedRatingsFromTheCache()
+    {
+        CachingAwesomenessRatingEngine engine = new CachingAwesomenessRatingEngine();
+
+        assertEquals( 50.0, engine.rateAwesomeness( db, rose.getId() ), 0 );
+        assertEquals( 50.0, engine.rateAwesomeness( db, rose.getId() ), 0 );
+        assertArrayEquals( new double[]{ 50.0, 100 / 3.0, 100.0 },
+                engine.rateAwesomeness( db, new long[]{ rose.getId(), earth.getId(), doctor.getId() } ), 0 );
+
+        assertEquals( 2, engine.getHits() );
+        assertEquals( 3, engine.getMisses() );
+        assertEquals( 0, engine.getEvictions() );
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyRatedNodeOnceFull()
+    {
+        CachingAwesomenessRatingEngine engine = new CachingAwesomenessRatingEngine(
+                AwesomenessRatingEngine.Search.BIDIRECTIONAL, 2 );
+
+        engine.rateAwesomeness( db, rose.getId() );
+        engine.rateAwesomeness( db, earth.getId() );
+        engine.rateAwesomeness( db, rose.getId() );
+        engine.rateAwesomeness( db, doctor.getId() );
+        engine.rateAwesomeness( db, rose.getId() );
+        engine.rateAwesomeness( db, earth.getId() );
+
+        assertEquals( 2, engine.getHits() );
+        assertEquals( 4, engine.getMisses() );
+        assertEquals( 2, engine.getEvictions() );
+    }
+
+    @Test
+    public void shouldForgetRatingsWhenRelationshipsChange()
+    {
+        CachingAwesomenessRatingEngine engine = new CachingAwesomenessRatingEngine();
+        assertEquals( 100 / 3.0, engine.rateAwesomeness( db, earth.getId() ), 0 );
+
+        Transaction tx = db.beginTx();
+        try
+        {
+            earth.setProperty( "planet", "Terra" );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+        assertEquals( 0, engine.getInvalidations() );
+
+        tx = db.beginTx();
+        try
+        {
+            companion.delete();
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertEquals( 1, engine.getInvalidations() );
+        assertEquals( 0.0, engine.rateAwesomeness( db, earth.getId() ), 0 );
+        assertEquals( 0, engine.getHits() );
+        assertEquals( 2, engine.getMisses() );
+    }
+}
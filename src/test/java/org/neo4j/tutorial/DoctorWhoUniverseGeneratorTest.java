@@ -1,9 +1,13 @@
 package org.neo4j.tutorial;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.neo4j.tutorial.GraphDescription.describe;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.AfterClass;
@@ -16,6 +20,7 @@ import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Path;
 import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.index.Index;
 import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.graphdb.traversal.Evaluation;
@@ -524,4 +529,163 @@ public class DoctorWhoUniverseGeneratorTest
         }
         return false;
     }
+
+    @Test
+    public void eachGeneratorShouldGetItsOwnCopyOfTheUniverse()
+    {
+        DoctorWhoUniverseGenerator first = new DoctorWhoUniverseGenerator();
+        DoctorWhoUniverseGenerator second = new DoctorWhoUniverseGenerator();
+        assertFalse( first.getDatabaseDirectory().equals( second.getDatabaseDirectory() ) );
+
+        EmbeddedDoctorWhoUniverse firstUniverse = new EmbeddedDoctorWhoUniverse( first );
+        Transaction tx = firstUniverse.getDatabase().beginTx();
+        try
+        {
+            Node theMaster = firstUniverse.getDatabase().index().forNodes( "characters" )
+                    .get( "character", "Master" ).getSingle();
+            theMaster.delete();
+            firstUniverse.getDatabase().index().forNodes( "characters" ).remove( theMaster );
+            for ( Relationship r : theMaster.getRelationships() )
+            {
+                r.delete();
+            }
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+        firstUniverse.stop();
+
+        EmbeddedDoctorWhoUniverse secondUniverse = new EmbeddedDoctorWhoUniverse( second );
+        try
+        {
+            assertNotNull( secondUniverse.getDatabase().index().forNodes( "characters" )
+                    .get( "character", "Master" ).getSingle() );
+        }
+        finally
+        {
+            secondUniverse.stop();
+        }
+    }
+
+    @Test
+    public void batchInsertedUniverseShouldBeIdenticalToTransactionallyLoadedUniverse()
+    {
+        EmbeddedDoctorWhoUniverse transactional = new EmbeddedDoctorWhoUniverse(
+                new DoctorWhoUniverseGenerator( DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL ) );
+        EmbeddedDoctorWhoUniverse batchInserted = new EmbeddedDoctorWhoUniverse(
+                new DoctorWhoUniverseGenerator( DoctorWhoUniverseGenerator.Backend.BATCH_INSERTER ) );
+        try
+        {
+            assertEquals( describe( transactional.getDatabase() ), describe( batchInserted.getDatabase() ) );
+        }
+        finally
+        {
+            transactional.stop();
+            batchInserted.stop();
+        }
+    }
+
+    @Test
+    public void universeCommittedInSmallBatchesShouldBeIdenticalToUniverseCommittedAllAtOnce()
+    {
+        DoctorWhoUniverseGenerator batchedGenerator = new DoctorWhoUniverseGenerator(
+                DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL, 7 );
+        EmbeddedDoctorWhoUniverse batched = new EmbeddedDoctorWhoUniverse( batchedGenerator );
+        EmbeddedDoctorWhoUniverse unbatched = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator(
+                DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL, BatchingTransaction.UNBATCHED ) );
+        try
+        {
+            assertEquals( describe( unbatched.getDatabase() ), describe( batched.getDatabase() ) );
+
+            CommitStatistics statistics = batchedGenerator.getCommitStatistics();
+            assertTrue( statistics.getCommitCount() >= statistics.getFactCount() / 7 );
+            assertEquals( statistics.getCommitCount(), statistics.getBatchLatencies().size() );
+        }
+        finally
+        {
+            batched.stop();
+            unbatched.stop();
+        }
+    }
+
+    @Test
+    public void universeIndexedAtTheEndOfTheLoadShouldBeIdenticalToUniverseIndexedAsItLoads()
+    {
+        EmbeddedDoctorWhoUniverse deferred = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator(
+                DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL, 50,
+                DoctorWhoUniverseGenerator.Indexing.DEFERRED ) );
+        EmbeddedDoctorWhoUniverse immediate = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator(
+                DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL, 50 ) );
+        try
+        {
+            assertEquals( describe( immediate.getDatabase() ), describe( deferred.getDatabase() ) );
+        }
+        finally
+        {
+            deferred.stop();
+            immediate.stop();
+        }
+    }
+
+    @Test
+    public void generatorsRunningSideBySideShouldEachBuildTheWholeUniverse() throws Exception
+    {
+        final List<DoctorWhoUniverseGenerator> generators = Collections.synchronizedList(
+                new ArrayList<DoctorWhoUniverseGenerator>() );
+        final List<Throwable> failures = Collections.synchronizedList( new ArrayList<Throwable>() );
+        List<Thread> threads = new ArrayList<Thread>();
+        for ( int i = 0; i < 3; i++ )
+        {
+            threads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        generators.add( new DoctorWhoUniverseGenerator(
+                                DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL, 50 ) );
+                    }
+                    catch ( Throwable e )
+                    {
+                        failures.add( e );
+                    }
+                }
+            } );
+        }
+        for ( Thread thread : threads )
+        {
+            thread.start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+        assertEquals( Collections.<Throwable>emptyList(), failures );
+
+        EmbeddedDoctorWhoUniverse sequential = new EmbeddedDoctorWhoUniverse(
+                new DoctorWhoUniverseGenerator( DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL ) );
+        try
+        {
+            List<String> expected = describe( sequential.getDatabase() );
+            for ( DoctorWhoUniverseGenerator generator : generators )
+            {
+                EmbeddedDoctorWhoUniverse universe = new EmbeddedDoctorWhoUniverse( generator );
+                try
+                {
+                    assertEquals( expected, describe( universe.getDatabase() ) );
+                }
+                finally
+                {
+                    universe.stop();
+                }
+            }
+        }
+        finally
+        {
+            sequential.stop();
+        }
+    }
 }
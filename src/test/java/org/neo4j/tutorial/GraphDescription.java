@@ -0,0 +1,62 @@
+package org.neo4j.tutorial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.tooling.GlobalGraphOperations;
+
+/**
+ * Describes a universe store as a sorted list of its nodes, relationships and index entries, so that tests can
+ * check that two stores hold the same graph.
+ */
+class GraphDescription
+{
+    private GraphDescription()
+    {
+    }
+
+    static List<String> describe( GraphDatabaseService db )
+    {
+        List<String> description = new ArrayList<String>();
+        GlobalGraphOperations operations = GlobalGraphOperations.at( db );
+        for ( Node node : operations.getAllNodes() )
+        {
+            description.add( node.getId() + " " + properties( node ) );
+        }
+        for ( Relationship r : operations.getAllRelationships() )
+        {
+            description.add( r.getStartNode().getId() + "-" + r.getType().name() + "->" + r.getEndNode().getId()
+                    + " " + properties( r ) );
+        }
+
+        String[][] indexedKeys = { { "characters", "character" }, { "episodes", "title" }, { "episodes", "episode" },
+                { "actors", "actor" }, { "species", "species" }, { "planets", "planet" }, { "things", "thing" },
+                { "props", "prop" }, { "props", "shoulder" }, { "props", "skirt" } };
+        for ( String[] indexedKey : indexedKeys )
+        {
+            for ( Node node : db.index().forNodes( indexedKey[0] ).query( indexedKey[1], "*" ) )
+            {
+                description.add( indexedKey[0] + "/" + indexedKey[1] + " " + node.getId() );
+            }
+        }
+
+        Collections.sort( description );
+        return description;
+    }
+
+    static TreeMap<String, Object> properties( PropertyContainer propertyContainer )
+    {
+        TreeMap<String, Object> properties = new TreeMap<String, Object>();
+        for ( String key : propertyContainer.getPropertyKeys() )
+        {
+            properties.put( key, propertyContainer.getProperty( key ) );
+        }
+        return properties;
+    }
+}
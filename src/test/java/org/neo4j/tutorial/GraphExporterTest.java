@@ -0,0 +1,46 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.neo4j.tutorial.GraphDescription.describe;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+
+public class GraphExporterTest
+{
+    @Test
+    public void exportedUniverseShouldRebuildIntoAnIdenticalStore() throws Exception
+    {
+        EmbeddedDoctorWhoUniverse universe = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+        try
+        {
+            GraphDatabaseService database = universe.getDatabase();
+            List<String> description = describe( database );
+            for ( GraphExporter.Format format : GraphExporter.Format.values() )
+            {
+                File export = File.createTempFile( "universe", "." + format.name().toLowerCase() );
+                export.deleteOnExit();
+                new GraphExporter( database ).withIndexMemberships().export( export, format );
+
+                String storeDir = DatabaseHelper.createTempDatabaseDir().getAbsolutePath();
+                GraphImporter.rebuild( export, storeDir );
+                GraphDatabaseService rebuilt = DatabaseHelper.createDatabase( storeDir );
+                try
+                {
+                    assertEquals( format.name(), description, describe( rebuilt ) );
+                }
+                finally
+                {
+                    rebuilt.shutdown();
+                }
+            }
+        }
+        finally
+        {
+            universe.stop();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.tooling.GlobalGraphOperations;
+
+public class GraphScanTest
+{
+    private GraphDatabaseService db;
+
+    @Before
+    public void createGraph()
+    {
+        db = DatabaseHelper.createDatabase();
+        Transaction tx = db.beginTx();
+        try
+        {
+            Node previous = db.getNodeById( 0 );
+            for ( int i = 1; i <= 100; i++ )
+            {
+                Node node = db.createNode();
+                node.setProperty( "number", i );
+                if ( i % 3 == 0 )
+                {
+                    node.setProperty( "fizz", true );
+                }
+                previous.createRelationshipTo( node, DoctorWhoRelationships.NEXT );
+                previous = node;
+            }
+            for ( int i = 10; i <= 100; i += 10 )
+            {
+                Node node = db.getNodeById( i );
+                for ( Relationship relationship : node.getRelationships() )
+                {
+                    relationship.delete();
+                }
+                node.delete();
+            }
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+
+    @After
+    public void shutdown()
+    {
+        db.shutdown();
+    }
+
+    @Test
+    public void shouldCountTheSameHoweverTheIdsArePartitioned()
+    {
+        DatabaseHelper databaseHelper = new DatabaseHelper( db );
+        int fizzes = databaseHelper.countNodesWithAllGivenProperties( GlobalGraphOperations.at( db ).getAllNodes(),
+                "number", "fizz" );
+        long relationships = databaseHelper.destructivelyCountRelationships(
+                GlobalGraphOperations.at( db ).getAllRelationships() );
+
+        for ( int partitionSize : new int[] { 1, 7, 64, GraphScan.DEFAULT_PARTITION_SIZE } )
+        {
+            for ( int parallelism : new int[] { 1, 4 } )
+            {
+                GraphScan scan = new GraphScan( db, parallelism, partitionSize );
+                assertEquals( 90, scan.countNodes( hasProperty( "number" ) ) );
+                assertEquals( fizzes, scan.countNodes( hasProperty( "fizz" ) ) );
+                assertEquals( relationships, scan.countRelationships( new GraphScan.Predicate<Relationship>()
+                {
+                    public boolean accept( Relationship relationship )
+                    {
+                        return true;
+                    }
+                } ) );
+            }
+        }
+        assertEquals( fizzes, databaseHelper.countNodesWithAllGivenProperties( "number", "fizz" ) );
+        assertEquals( 91, databaseHelper.countAllNodes() );
+    }
+
+    @Test
+    public void shouldCombineRangesInIdOrder()
+    {
+        List<Long> ids = new GraphScan( db, 4, 3 ).reduceNodes( new GraphScan.Reducer<Node, List<Long>>()
+        {
+            public List<Long> newResult()
+            {
+                return new ArrayList<Long>();
+            }
+
+            public List<Long> accumulate( List<Long> ids, Node node )
+            {
+                ids.add( node.getId() );
+                return ids;
+            }
+
+            public List<Long> combine( List<Long> earlier, List<Long> later )
+            {
+                earlier.addAll( later );
+                return earlier;
+            }
+        } );
+
+        List<Long> expected = new ArrayList<Long>();
+        for ( Node node : GlobalGraphOperations.at( db ).getAllNodes() )
+        {
+            expected.add( node.getId() );
+        }
+        assertEquals( expected, ids );
+    }
+
+    private static GraphScan.Predicate<Node> hasProperty( final String key )
+    {
+        return new GraphScan.Predicate<Node>()
+        {
+            public boolean accept( Node node )
+            {
+                return node.hasProperty( key );
+            }
+        };
+    }
+}
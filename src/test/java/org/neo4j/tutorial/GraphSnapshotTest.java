@@ -0,0 +1,76 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.tutorial.GraphDescription.describe;
+import static org.neo4j.tutorial.GraphDescription.properties;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+
+public class GraphSnapshotTest
+{
+    private static EmbeddedDoctorWhoUniverse universe;
+    private static GraphDatabaseService database;
+    private static File file;
+
+    @BeforeClass
+    public static void writeSnapshot() throws Exception
+    {
+        universe = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+        database = universe.getDatabase();
+        file = File.createTempFile( "universe", ".snapshot" );
+        file.deleteOnExit();
+        GraphSnapshot.write( database, file );
+    }
+
+    @AfterClass
+    public static void stopDatabase()
+    {
+        universe.stop();
+    }
+
+    @Test
+    public void snapshotShouldReadLikeTheStore()
+    {
+        DatabaseHelper databaseHelper = new DatabaseHelper( database );
+        GraphSnapshot snapshot = GraphSnapshot.map( file );
+
+        Node doctor = universe.theDoctor();
+        assertTrue( Arrays.equals( new long[] { doctor.getId() },
+                snapshot.getNodes( "characters", "character", "Doctor" ) ) );
+        assertEquals( properties( doctor ),
+                new TreeMap<String, Object>( snapshot.getNodeProperties( doctor.getId() ) ) );
+        assertEquals( databaseHelper.destructivelyCountRelationships( doctor.getRelationships( Direction.INCOMING ) ),
+                snapshot.getRelationships( doctor.getId(), Direction.INCOMING ).length );
+        for ( long relationship : snapshot.getRelationships( doctor.getId(), Direction.OUTGOING ) )
+        {
+            assertEquals( doctor.getId(), snapshot.getStartNode( relationship ) );
+        }
+        assertEquals( databaseHelper.countAllRelationships(), snapshot.getRelationshipCount() );
+    }
+
+    @Test
+    public void snapshotShouldRestoreIntoAnIdenticalStore()
+    {
+        String restoredDir = DatabaseHelper.createTempDatabaseDir().getAbsolutePath();
+        GraphSnapshot.restore( file, restoredDir );
+        GraphDatabaseService restored = DatabaseHelper.createDatabase( restoredDir );
+        try
+        {
+            assertEquals( describe( database ), describe( restored ) );
+        }
+        finally
+        {
+            restored.shutdown();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.event.TransactionEventHandler;
+import org.neo4j.helpers.collection.IteratorUtil;
+import org.neo4j.tooling.GlobalGraphOperations;
+import org.neo4j.tutorial.server.statistics.GraphStatisticsResource;
+
+public class GraphStatisticsTest
+{
+    private GraphDatabaseService db;
+    private Node doctor;
+    private Node rose;
+
+    @Before
+    public void createGraph()
+    {
+        db = DatabaseHelper.createDatabase();
+        Transaction tx = db.beginTx();
+        try
+        {
+            doctor = db.createNode();
+            doctor.setProperty( "character", "Doctor" );
+            rose = db.createNode();
+            rose.setProperty( "character", "Rose Tyler" );
+            Node earth = db.createNode();
+            earth.setProperty( "planet", "Earth" );
+            doctor.createRelationshipTo( rose, DoctorWhoRelationships.COMPANION_OF );
+            rose.createRelationshipTo( earth, DoctorWhoRelationships.COMES_FROM );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+
+    @After
+    public void shutdown()
+    {
+        db.shutdown();
+    }
+
+    @Test
+    public void shouldStartFromTheCountsOfTheStore()
+    {
+        GraphStatistics statistics = GraphStatistics.forDatabase( db );
+
+        assertSame( statistics, GraphStatistics.forDatabase( db ) );
+        assertEquals( 4, statistics.getNodeCount() );
+        assertEquals( 2, statistics.getNodeCount( "character" ) );
+        assertEquals( 1, statistics.getNodeCount( "planet" ) );
+        assertEquals( 0, statistics.getNodeCount( "episode" ) );
+        assertEquals( 2, statistics.getRelationshipCount() );
+        assertEquals( 1, statistics.getRelationshipCount( DoctorWhoRelationships.COMPANION_OF ) );
+        assertEquals( 0, statistics.getRelationshipCount( DoctorWhoRelationships.ENEMY_OF ) );
+        assertEquals( 2, statistics.getDegree( rose ) );
+        // The reference node has no relationships, the Doctor and Earth one each, and Rose two
+        assertTrue( Arrays.equals( new long[] { 1, 2, 1 }, statistics.getDegreeHistogram() ) );
+    }
+
+    @Test
+    public void shouldFollowCommittedChangesAndIgnoreRolledBackOnes()
+    {
+        GraphStatistics statistics = GraphStatistics.forDatabase( db );
+
+        Transaction tx = db.beginTx();
+        try
+        {
+            Node dalek = db.createNode();
+            dalek.setProperty( "species", "Dalek" );
+            dalek.createRelationshipTo( doctor, DoctorWhoRelationships.ENEMY_OF );
+            doctor.createRelationshipTo( dalek, DoctorWhoRelationships.ENEMY_OF );
+            for ( Relationship relationship : rose.getRelationships() )
+            {
+                relationship.delete();
+            }
+            rose.delete();
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertEquals( 4, statistics.getNodeCount() );
+        assertEquals( 1, statistics.getNodeCount( "character" ) );
+        assertEquals( 1, statistics.getNodeCount( "species" ) );
+        assertEquals( 2, statistics.getRelationshipCount() );
+        assertEquals( 0, statistics.getRelationshipCount( DoctorWhoRelationships.COMPANION_OF ) );
+        assertEquals( 2, statistics.getRelationshipCount( DoctorWhoRelationships.ENEMY_OF ) );
+        assertEquals( 2, statistics.getDegree( doctor ) );
+        // The reference node and Earth have no relationships left, and the Doctor and the Dalek two each
+        assertTrue( Arrays.equals( new long[] { 2, 0, 2 }, statistics.getDegreeHistogram() ) );
+
+        tx = db.beginTx();
+        try
+        {
+            doctor.removeProperty( "character" );
+            db.createNode().setProperty( "character", "Mickey Smith" );
+            tx.failure();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertEquals( 4, statistics.getNodeCount() );
+        assertEquals( 1, statistics.getNodeCount( "character" ) );
+
+        Map<String, Object> description = GraphStatisticsResource.describe( statistics );
+        assertEquals( 4L, description.get( "nodes" ) );
+        assertEquals( 2L, ((Map<?, ?>) description.get( "relationshipsByType" )).get( "ENEMY_OF" ) );
+    }
+
+    @Test
+    public void shouldCountWhatCommitsDuringTheFirstScanOnce() throws Exception
+    {
+        for ( int batch = 0; batch < 20; batch++ )
+        {
+            Transaction tx = db.beginTx();
+            try
+            {
+                for ( int i = 0; i < 1000; i++ )
+                {
+                    db.createNode().setProperty( "planet", "Planet " + batch + "-" + i );
+                }
+                tx.success();
+            }
+            finally
+            {
+                tx.finish();
+            }
+        }
+        // The handler only hears about transactions begun while there was a handler to hear about them
+        db.registerTransactionEventHandler( new TransactionEventHandler.Adapter<Object>() );
+
+        final AtomicBoolean stop = new AtomicBoolean();
+        Thread companions = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                for ( int i = 0; !stop.get(); i++ )
+                {
+                    Transaction tx = db.beginTx();
+                    try
+                    {
+                        Node companion = db.createNode();
+                        companion.setProperty( "character", "Companion " + i );
+                        companion.createRelationshipTo( doctor, DoctorWhoRelationships.COMPANION_OF );
+                        tx.success();
+                    }
+                    finally
+                    {
+                        tx.finish();
+                    }
+                }
+            }
+        };
+        companions.start();
+        GraphStatistics statistics;
+        try
+        {
+            statistics = GraphStatistics.forDatabase( db );
+        }
+        finally
+        {
+            stop.set( true );
+            companions.join();
+        }
+
+        GlobalGraphOperations operations = GlobalGraphOperations.at( db );
+        assertEquals( IteratorUtil.count( operations.getAllNodes() ), statistics.getNodeCount() );
+        assertEquals( IteratorUtil.count( operations.getAllRelationships() ), statistics.getRelationshipCount() );
+        assertEquals( IteratorUtil.count( doctor.getRelationships() ), statistics.getDegree( doctor ) );
+    }
+
+    @Test
+    public void liveStatisticsShouldAgreeWithAFullCountOfTheUniverse()
+    {
+        EmbeddedDoctorWhoUniverse universe = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+        try
+        {
+            GraphDatabaseService database = universe.getDatabase();
+            DatabaseHelper databaseHelper = new DatabaseHelper( database );
+            GraphStatistics statistics = GraphStatistics.forDatabase( database );
+
+            assertEquals( databaseHelper.countAllNodes(), statistics.getNodeCount() );
+            assertEquals( databaseHelper.countAllRelationships(), statistics.getRelationshipCount() );
+            for ( String kind : GraphStatistics.KINDS )
+            {
+                assertEquals( databaseHelper.countNodesWithAllGivenProperties( kind ),
+                        statistics.getNodeCount( kind ) );
+            }
+            Node doctor = universe.theDoctor();
+            assertEquals( databaseHelper.destructivelyCountRelationships( doctor.getRelationships() ),
+                    statistics.getDegree( doctor ) );
+
+            long histogramTotal = 0;
+            for ( long nodes : statistics.getDegreeHistogram() )
+            {
+                histogramTotal += nodes;
+            }
+            assertEquals( statistics.getNodeCount(), histogramTotal );
+        }
+        finally
+        {
+            universe.stop();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+
+public class HopDistancesTest
+{
+    private GraphDatabaseService db;
+    private Node doctor;
+
+    @Before
+    public void createDoctor()
+    {
+        db = DatabaseHelper.createDatabase();
+        Transaction tx = db.beginTx();
+        try
+        {
+            doctor = db.createNode();
+            doctor.setProperty( "character", "Doctor" );
+            db.index().forNodes( "characters" ).add( doctor, "character", "Doctor" );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+    }
+
+    @After
+    public void shutdown()
+    {
+        db.shutdown();
+    }
+
+    @Test
+    public void shouldKeepTheDistancesASearchFromScratchWouldFind()
+    {
+        HopDistances distances = HopDistances.forDatabase( db );
+        Random random = new Random( 7 );
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add( doctor );
+        List<Relationship> relationships = new ArrayList<Relationship>();
+
+        for ( int round = 0; round < 60; round++ )
+        {
+            Transaction tx = db.beginTx();
+            try
+            {
+                for ( int i = 0; i < 5; i++ )
+                {
+                    nodes.add( db.createNode() );
+                }
+                for ( int i = 0; i < 8; i++ )
+                {
+                    Node start = nodes.get( random.nextInt( nodes.size() ) );
+                    Node end = nodes.get( random.nextInt( nodes.size() ) );
+                    relationships.add( start.createRelationshipTo( end, DoctorWhoRelationships.COMPANION_OF ) );
+                }
+                for ( int i = 0; i < 6 && !relationships.isEmpty(); i++ )
+                {
+                    relationships.remove( random.nextInt( relationships.size() ) ).delete();
+                }
+                if ( round % 10 == 9 )
+                {
+                    Node node = nodes.remove( 1 + random.nextInt( nodes.size() - 1 ) );
+                    for ( Relationship relationship : node.getRelationships() )
+                    {
+                        relationships.remove( relationship );
+                        relationship.delete();
+                    }
+                    node.delete();
+                }
+                tx.success();
+            }
+            finally
+            {
+                tx.finish();
+            }
+
+            // The kept distances may have grown further than a fresh search sizes them
+            int[] kept = distances.getAllHops();
+            distances.refresh();
+            int[] searched = distances.getAllHops();
+            for ( int node = 0; node < Math.max( kept.length, searched.length ); node++ )
+            {
+                assertEquals( "node " + node + " after round " + round, hops( searched, node ), hops( kept, node ) );
+            }
+        }
+        assertEquals( 0, distances.getHops( doctor.getId() ) );
+    }
+
+    @Test
+    public void shouldMoveTheNodesBeyondADeletedNode()
+    {
+        Node x;
+        Node b;
+        Node detour;
+        Transaction tx = db.beginTx();
+        try
+        {
+            x = db.createNode();
+            b = db.createNode();
+            Node y = db.createNode();
+            Node z = db.createNode();
+            detour = db.createNode();
+            doctor.createRelationshipTo( x, DoctorWhoRelationships.COMPANION_OF );
+            x.createRelationshipTo( b, DoctorWhoRelationships.COMPANION_OF );
+            doctor.createRelationshipTo( y, DoctorWhoRelationships.COMPANION_OF );
+            y.createRelationshipTo( z, DoctorWhoRelationships.COMPANION_OF );
+            z.createRelationshipTo( detour, DoctorWhoRelationships.COMPANION_OF );
+            x.createRelationshipTo( detour, DoctorWhoRelationships.COMPANION_OF );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+        HopDistances distances = HopDistances.forDatabase( db );
+        assertEquals( 2, distances.getHops( b.getId() ) );
+        assertEquals( 2, distances.getHops( detour.getId() ) );
+
+        tx = db.beginTx();
+        try
+        {
+            for ( Relationship relationship : x.getRelationships() )
+            {
+                relationship.delete();
+            }
+            x.delete();
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertEquals( HopDistances.UNREACHABLE, distances.getHops( x.getId() ) );
+        assertEquals( HopDistances.UNREACHABLE, distances.getHops( b.getId() ) );
+        assertEquals( 3, distances.getHops( detour.getId() ) );
+    }
+
+    private static int hops( int[] distances, int node )
+    {
+        return node < distances.length ? distances[node] : HopDistances.UNREACHABLE;
+    }
+}
@@ -0,0 +1,81 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+public class LoadProfileTest
+{
+    @Test
+    public void loadProfileShouldTimeEachBuilderAndPrimitive()
+    {
+        DoctorWhoUniverseGenerator generator = new DoctorWhoUniverseGenerator(
+                DoctorWhoUniverseGenerator.Backend.BATCH_INSERTER );
+        LoadProfile profile = generator.getLoadProfile();
+
+        EmbeddedDoctorWhoUniverse universe = new EmbeddedDoctorWhoUniverse( generator );
+        int episodes;
+        try
+        {
+            episodes = new DatabaseHelper( universe.getDatabase() ).count( universe.getDatabase().index()
+                    .forNodes( "episodes" ).query( "title", "*" ) );
+        }
+        finally
+        {
+            universe.stop();
+        }
+        assertEquals( episodes, profile.getOperation( "EpisodeBuilder.fact" ).getCount() );
+        for ( String operation : new String[] { "DalekPropBuilder.fact", "indexGet", "indexAdd", "createNode",
+                "createRelationship", "relationshipExists" } )
+        {
+            LoadProfile.Operation timed = profile.getOperation( operation );
+            assertTrue( operation, timed.getCount() > 0 );
+
+            long histogrammed = 0;
+            for ( long bucket : timed.getHistogram() )
+            {
+                histogrammed += bucket;
+            }
+            assertEquals( timed.getCount(), histogrammed );
+            assertTrue( timed.getPercentileNanos( 50 ) <= timed.getPercentileNanos( 99 ) );
+        }
+        assertTrue( profile.toJson().contains( "{\"name\":\"createNode\",\"category\":\"primitive\"" ) );
+    }
+
+    @Test
+    public void everyProfiledLoadShouldWriteTheLoadReport() throws Exception
+    {
+        File report = File.createTempFile( "universe-load-report", ".json" );
+        System.setProperty( DoctorWhoUniverseGenerator.LOAD_REPORT_PROPERTY, report.getPath() );
+        try
+        {
+            new DoctorWhoUniverseGenerator( DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL );
+            Scanner scanner = new Scanner( report, "UTF-8" );
+            String json;
+            try
+            {
+                json = scanner.useDelimiter( "\\A" ).next();
+            }
+            finally
+            {
+                scanner.close();
+            }
+            assertTrue( json.startsWith( "{\"profiled\":true," ) );
+            assertTrue( json.contains( "{\"name\":\"EpisodeBuilder.fact\"" ) );
+
+            LoadProfile copied = new DoctorWhoUniverseGenerator().getLoadProfile();
+            assertFalse( copied.isProfiled() );
+            assertTrue( copied.toJson().startsWith( "{\"profiled\":false,\"reason\":\"copied from" ) );
+        }
+        finally
+        {
+            System.clearProperty( DoctorWhoUniverseGenerator.LOAD_REPORT_PROPERTY );
+            report.delete();
+        }
+    }
+}
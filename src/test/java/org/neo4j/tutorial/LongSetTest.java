@@ -0,0 +1,115 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+
+public class LongSetTest
+{
+    @Test
+    public void shouldBehaveLikeAHashSetThroughAddsAndRemoves()
+    {
+        Random random = new Random( 42 );
+        LongSet ids = new LongSet();
+        Set<Long> expected = new HashSet<Long>();
+        for ( int i = 0; i < 100000; i++ )
+        {
+            long id = random.nextInt( 5000 );
+            if ( random.nextInt( 3 ) == 0 )
+            {
+                assertEquals( expected.remove( id ), ids.remove( id ) );
+            }
+            else
+            {
+                assertEquals( expected.add( id ), ids.add( id ) );
+            }
+        }
+
+        assertEquals( expected.size(), ids.size() );
+        for ( long id = 0; id < 5000; id++ )
+        {
+            assertEquals( expected.contains( id ), ids.contains( id ) );
+        }
+        Set<Long> iterated = new HashSet<Long>();
+        for ( LongSet.LongIterator iterator = ids.iterator(); iterator.hasNext(); )
+        {
+            assertTrue( iterated.add( iterator.next() ) );
+        }
+        assertEquals( expected, iterated );
+    }
+
+    @Test
+    public void shouldIntersectAndUniteOnIdsAlone()
+    {
+        LongSet evens = new LongSet();
+        LongSet threes = new LongSet();
+        for ( long id = 0; id < 30; id++ )
+        {
+            if ( id % 2 == 0 )
+            {
+                evens.add( id );
+            }
+            if ( id % 3 == 0 )
+            {
+                threes.add( id );
+            }
+        }
+
+        long[] intersection = evens.intersection( threes ).toArray();
+        Arrays.sort( intersection );
+        assertTrue( Arrays.equals( new long[] { 0, 6, 12, 18, 24 }, intersection ) );
+        assertEquals( 15 + 10 - 5, evens.union( threes ).size() );
+        assertEquals( 15, evens.size() );
+    }
+
+    @Test
+    public void idCollectionsShouldLookNodesUpOnlyWhenRead()
+    {
+        GraphDatabaseService db = DatabaseHelper.createDatabase();
+        try
+        {
+            Transaction tx = db.beginTx();
+            Node rose;
+            Node mickey;
+            try
+            {
+                rose = db.createNode();
+                rose.setProperty( "character", "Rose Tyler" );
+                mickey = db.createNode();
+                mickey.setProperty( "character", "Mickey Smith" );
+                tx.success();
+            }
+            finally
+            {
+                tx.finish();
+            }
+
+            DatabaseHelper databaseHelper = new DatabaseHelper( db );
+            List<Node> companions = databaseHelper.toListOfNodes( Arrays.asList( rose, mickey ) );
+            assertEquals( 2, companions.size() );
+            assertEquals( "Mickey Smith", companions.get( 1 ).getProperty( "character" ) );
+            assertTrue( companions.contains( rose ) );
+            assertFalse( companions.contains( db.getNodeById( 0 ) ) );
+
+            IdSet<Node> both = databaseHelper.toSetOfNodes( Arrays.asList( rose, mickey ) );
+            IdSet<Node> justRose = databaseHelper.toSetOfNodes( Arrays.asList( rose ) );
+            assertEquals( new HashSet<Node>( Arrays.asList( rose ) ), both.intersection( justRose ) );
+            assertEquals( both, justRose.union( both ) );
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+}
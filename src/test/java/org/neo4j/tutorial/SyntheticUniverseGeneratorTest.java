@@ -0,0 +1,73 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.neo4j.tutorial.GraphDescription.describe;
+
+import org.junit.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+
+public class SyntheticUniverseGeneratorTest
+{
+    @Test
+    public void syntheticUniverseAtScaleOneShouldBeTheRealUniverse()
+    {
+        EmbeddedDoctorWhoUniverse real = new EmbeddedDoctorWhoUniverse(
+                new DoctorWhoUniverseGenerator( DoctorWhoUniverseGenerator.Backend.BATCH_INSERTER ) );
+        EmbeddedDoctorWhoUniverse synthetic = new EmbeddedDoctorWhoUniverse( new SyntheticUniverseGenerator( 1, 42 ) );
+        try
+        {
+            assertEquals( describe( real.getDatabase() ), describe( synthetic.getDatabase() ) );
+        }
+        finally
+        {
+            real.stop();
+            synthetic.stop();
+        }
+    }
+
+    @Test
+    public void syntheticUniverseShouldScaleUpAroundASingleDoctor()
+    {
+        int scale = 3;
+        EmbeddedDoctorWhoUniverse real = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+        EmbeddedDoctorWhoUniverse synthetic = new EmbeddedDoctorWhoUniverse(
+                new SyntheticUniverseGenerator( scale, 42 ) );
+        try
+        {
+            GraphDatabaseService db = synthetic.getDatabase();
+            DatabaseHelper databaseHelper = new DatabaseHelper( db );
+            assertEquals( 1, db.index().forNodes( "characters" ).get( "character", "Doctor" ).size() );
+
+            int realEpisodes = databaseHelper.count( real.getDatabase().index().forNodes( "episodes" )
+                    .query( "episode", "*" ) );
+            assertEquals( scale * realEpisodes,
+                    databaseHelper.count( db.index().forNodes( "episodes" ).query( "episode", "*" ) ) );
+
+            Node episode = db.index().forNodes( "episodes" ).get( "episode", "1" ).getSingle();
+            int chain = 1;
+            while ( episode.hasRelationship( DoctorWhoRelationships.NEXT, Direction.OUTGOING ) )
+            {
+                episode = episode.getSingleRelationship( DoctorWhoRelationships.NEXT, Direction.OUTGOING ).getEndNode();
+                chain++;
+            }
+            assertEquals( scale * realEpisodes, chain );
+
+            Node actor = db.index().forNodes( "actors" ).get( "actor", "William Hartnell" ).getSingle();
+            int regenerations = 0;
+            while ( actor.hasRelationship( DoctorWhoRelationships.REGENERATED_TO, Direction.OUTGOING ) )
+            {
+                actor = actor.getSingleRelationship( DoctorWhoRelationships.REGENERATED_TO, Direction.OUTGOING )
+                        .getEndNode();
+                regenerations++;
+            }
+            assertEquals( scale * 11 - 1, regenerations );
+        }
+        finally
+        {
+            real.stop();
+            synthetic.stop();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.helpers.collection.MapUtil;
+
+public class TransactionalUniverseWriterTest
+{
+    private GraphDatabaseService db;
+    private UniverseWriter writer;
+
+    @Before
+    public void createWriter()
+    {
+        db = DatabaseHelper.createDatabase();
+        writer = new TransactionalUniverseWriter( db, true );
+    }
+
+    @After
+    public void shutdown()
+    {
+        writer.shutdown();
+    }
+
+    @Test
+    public void shouldForgetEntitiesCreatedInARolledBackTransaction()
+    {
+        Transaction tx = writer.beginTx();
+        try
+        {
+            long rose = writer.createNode( MapUtil.map( "character", "Rose Tyler" ) );
+            writer.index( "characters", rose, "character", "Rose Tyler" );
+            tx.failure();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertEquals( UniverseWriter.NO_NODE, writer.findNode( "characters", "character", "Rose Tyler" ) );
+        assertNull( db.index().forNodes( "characters" ).get( "character", "Rose Tyler" ).getSingle() );
+    }
+
+    @Test
+    public void shouldFindEntitiesCreatedInACommittedTransaction()
+    {
+        long rose;
+        Transaction tx = writer.beginTx();
+        try
+        {
+            rose = writer.createNode( MapUtil.map( "character", "Rose Tyler" ) );
+            writer.index( "characters", rose, "character", "Rose Tyler" );
+            assertEquals( rose, writer.findNode( "characters", "character", "Rose Tyler" ) );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertEquals( rose, writer.findNode( "characters", "character", "Rose Tyler" ) );
+        assertEquals( rose, db.index().forNodes( "characters" ).get( "character", "Rose Tyler" ).getSingle()
+                .getId() );
+    }
+
+    @Test
+    public void shouldFallBackToTheIndexForEntitiesLoadedElsewhere()
+    {
+        long rose;
+        Transaction tx = db.beginTx();
+        try
+        {
+            rose = db.createNode().getId();
+            db.index().forNodes( "characters" ).add( db.getNodeById( rose ), "character", "Rose Tyler" );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        UniverseWriter existingStoreWriter = new TransactionalUniverseWriter( db );
+        assertEquals( rose, existingStoreWriter.findNode( "characters", "character", "Rose Tyler" ) );
+    }
+
+    @Test
+    public void shouldForgetRelationshipsCreatedInARolledBackTransaction()
+    {
+        long doctor;
+        long rose;
+        Transaction tx = writer.beginTx();
+        try
+        {
+            doctor = writer.createNode( MapUtil.map( "character", "Doctor" ) );
+            rose = writer.createNode( MapUtil.map( "character", "Rose Tyler" ) );
+            tx.success();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        tx = writer.beginTx();
+        try
+        {
+            writer.createRelationship( rose, DoctorWhoRelationships.COMPANION_OF, doctor, MapUtil.map() );
+            assertTrue( writer.relationshipExists( rose, DoctorWhoRelationships.COMPANION_OF, doctor ) );
+            tx.failure();
+        }
+        finally
+        {
+            tx.finish();
+        }
+
+        assertFalse( writer.relationshipExists( rose, DoctorWhoRelationships.COMPANION_OF, doctor ) );
+        assertFalse( writer.relationshipExists( doctor, DoctorWhoRelationships.COMPANION_OF, rose ) );
+    }
+}
@@ -0,0 +1,81 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.neo4j.tutorial.GraphDescription.describe;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+
+public class UniverseDataLoaderTest
+{
+    @Test
+    public void updatingAnUpToDateUniverseShouldChangeNothing()
+    {
+        DoctorWhoUniverseGenerator generator = new DoctorWhoUniverseGenerator(
+                DoctorWhoUniverseGenerator.Backend.TRANSACTIONAL );
+        EmbeddedDoctorWhoUniverse before = new EmbeddedDoctorWhoUniverse( generator );
+        List<String> description = describe( before.getDatabase() );
+        before.stop();
+
+        CommitStatistics statistics = DoctorWhoUniverseGenerator.update( generator.getDatabaseDirectory(),
+                DoctorWhoUniverseGenerator.DEFAULT_FACTS_PER_COMMIT );
+        assertEquals( 0, statistics.getFactCount() );
+
+        EmbeddedDoctorWhoUniverse after = new EmbeddedDoctorWhoUniverse( generator );
+        try
+        {
+            assertEquals( description, describe( after.getDatabase() ) );
+        }
+        finally
+        {
+            after.stop();
+        }
+    }
+
+    @Test
+    public void newEpisodesShouldExtendTheChainFromTheLastEpisodeInTheStore()
+    {
+        EmbeddedDoctorWhoUniverse existing = new EmbeddedDoctorWhoUniverse( new DoctorWhoUniverseGenerator() );
+        try
+        {
+            GraphDatabaseService db = existing.getDatabase();
+            Node lastEpisode = db.index().forNodes( "episodes" ).get( "title", "An Unearthly Child" ).getSingle();
+            while ( lastEpisode.hasRelationship( DoctorWhoRelationships.NEXT, Direction.OUTGOING ) )
+            {
+                lastEpisode = lastEpisode.getSingleRelationship( DoctorWhoRelationships.NEXT, Direction.OUTGOING )
+                        .getEndNode();
+            }
+
+            String newSeason = "universe-data\t1\n" +
+                    "episode\t1000\n\ttitle\tThe New Season\n\tdoctor\tMatt Smith\n\tcompanion\tAmy Pond\n" +
+                    "episode\t1001\n\ttitle\tThe Season Continues\n\tdoctor\tMatt Smith\n";
+            UniverseContext universe = new UniverseContext( new TransactionalUniverseWriter( db ) );
+            CommitStatistics statistics = new CommitStatistics();
+            UniverseFingerprints fingerprints = new UniverseFingerprints();
+            UniverseDataLoader.update( new UniverseDataReader( "new season", new StringReader( newSeason ) ),
+                    universe, DoctorWhoUniverseGenerator.DEFAULT_FACTS_PER_COMMIT, statistics, fingerprints );
+            UniverseDataLoader.update( new UniverseDataReader( "new season", new StringReader( newSeason ) ),
+                    universe, DoctorWhoUniverseGenerator.DEFAULT_FACTS_PER_COMMIT, statistics, fingerprints );
+            assertEquals( 2, statistics.getFactCount() );
+
+            Node first = db.index().forNodes( "episodes" ).get( "title", "The New Season" ).getSingle();
+            Node second = db.index().forNodes( "episodes" ).get( "title", "The Season Continues" ).getSingle();
+            assertEquals( lastEpisode, first.getSingleRelationship( DoctorWhoRelationships.PREVIOUS,
+                    Direction.OUTGOING ).getEndNode() );
+            assertEquals( second, first.getSingleRelationship( DoctorWhoRelationships.NEXT,
+                    Direction.OUTGOING ).getEndNode() );
+            assertFalse( second.hasRelationship( DoctorWhoRelationships.NEXT, Direction.OUTGOING ) );
+            assertEquals( 1, db.index().forNodes( "actors" ).get( "actor", "Matt Smith" ).size() );
+        }
+        finally
+        {
+            existing.stop();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.neo4j.tutorial;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.neo4j.tutorial.UniverseDataReader.Record;
+
+public class UniverseDataReaderTest
+{
+    @Test
+    public void shouldReadRecordsOneAtATime()
+    {
+        UniverseDataReader reader = reader( "# Dalek props\n" +
+                "universe-data\t1\n" +
+                "dalekProps\tThe Evil of the Daleks\n" +
+                "\taddProp\tDalek 2\tDalek 1\tDalek Two-1\n" +
+                "\taddProp\t\tDalek 2\t\n" +
+                "\n" +
+                "dalekProps\tThe War Games\n" );
+
+        Record first = reader.next();
+        assertEquals( "dalekProps", first.getKind() );
+        assertArrayEquals( new String[] { "The Evil of the Daleks" }, first.getKey() );
+        assertEquals( 2, first.getCalls().size() );
+        assertEquals( "addProp", first.getCalls().get( 1 ).getName() );
+        assertArrayEquals( new String[] { null, "Dalek 2", null }, first.getCalls().get( 1 ).getArguments() );
+
+        Record second = reader.next();
+        assertArrayEquals( new String[] { "The War Games" }, second.getKey() );
+        assertEquals( 7, second.getLineNumber() );
+        assertEquals( 0, second.getCalls().size() );
+
+        assertNull( reader.next() );
+    }
+
+    @Test( expected = RuntimeException.class )
+    public void shouldRejectAnUnsupportedFormatVersion()
+    {
+        reader( "universe-data\t" + (UniverseDataReader.FORMAT_VERSION + 1) + "\n" );
+    }
+
+    @Test
+    public void shouldShipEveryDataFile()
+    {
+        for ( String dataFile : UniverseDataLoader.DATA_FILES )
+        {
+            UniverseDataReader reader = UniverseDataReader.open( dataFile );
+            try
+            {
+                while ( reader.next() != null )
+                {
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+    }
+
+    private static UniverseDataReader reader( String data )
+    {
+        return new UniverseDataReader( "test", new StringReader( data ) );
+    }
+}
@@ -0,0 +1,107 @@
+package org.neo4j.tutorial.server.awesomeness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.config.DefaultClientConfig;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.helpers.collection.MapUtil;
+import org.neo4j.server.CommunityNeoServer;
+import org.neo4j.server.rest.domain.JsonHelper;
+import org.neo4j.tutorial.CachingAwesomenessRatingEngine;
+import org.neo4j.tutorial.DoctorWhoUniverseGenerator;
+import org.neo4j.tutorial.server.ServerBuilder;
+import org.neo4j.tutorial.server.rest.FunctionalTestHelper;
+
+public class BulkAwesomenessPluginTest
+{
+    private static CommunityNeoServer server;
+    private static FunctionalTestHelper helper;
+    private static Client client;
+
+    @BeforeClass
+    public static void startServer() throws Exception
+    {
+        server = ServerBuilder.server()
+                .usingDatabaseDir( new DoctorWhoUniverseGenerator().getDatabaseDirectory() )
+                .build();
+        server.start();
+        helper = new FunctionalTestHelper( server );
+        client = Client.create( new DefaultClientConfig() );
+    }
+
+    @AfterClass
+    public static void stopServer()
+    {
+        server.stop();
+    }
+
+    @Test
+    public void shouldRateManyNodesInTheOrderTheyWereAskedFor() throws Exception
+    {
+        String json = invoke( "bulk_awesomeness", MapUtil.map( "nodes",
+                Arrays.asList( nodeId( "Rose Tyler" ), nodeId( "Doctor" ) ) ) );
+
+        assertEquals( Arrays.asList( 50.0, 100.0 ), JsonHelper.readJson( json ) );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRateTheNodesAnIndexQueryFinds() throws Exception
+    {
+        String json = invoke( "indexed_awesomeness", MapUtil.map( "index", "characters", "key", "character",
+                "query", "Doctor" ) );
+
+        List<Map<String, Object>> ratings = (List<Map<String, Object>>) JsonHelper.readJson( json );
+        assertEquals( 1, ratings.size() );
+        assertEquals( nodeId( "Doctor" ), ((Number) ratings.get( 0 ).get( "id" )).longValue() );
+        assertEquals( 100.0, ratings.get( 0 ).get( "awesomeness" ) );
+    }
+
+    @Test
+    public void shouldCountRatingsAnsweredFromTheCache() throws Exception
+    {
+        Map<String, Object> before = JsonHelper.jsonToMap( invoke( "awesomeness_cache", MapUtil.map() ) );
+        invoke( "bulk_awesomeness", MapUtil.map( "nodes", Arrays.asList( nodeId( "Doctor" ) ) ) );
+        invoke( "bulk_awesomeness", MapUtil.map( "nodes", Arrays.asList( nodeId( "Doctor" ) ) ) );
+        Map<String, Object> after = JsonHelper.jsonToMap( invoke( "awesomeness_cache", MapUtil.map() ) );
+
+        assertEquals( CachingAwesomenessRatingEngine.DEFAULT_CAPACITY, after.get( "capacity" ) );
+        assertTrue( count( after, "hits" ) > count( before, "hits" ) );
+        assertEquals( count( before, "invalidations" ), count( after, "invalidations" ) );
+    }
+
+    private static String invoke( String extension, Map<String, Object> parameters )
+    {
+        ClientResponse response = client.resource( helper.dataUri() + "ext/BulkAwesomenessPlugin/graphdb/"
+                + extension )
+                .accept( MediaType.APPLICATION_JSON )
+                .type( MediaType.APPLICATION_JSON )
+                .post( ClientResponse.class, JsonHelper.createJsonFrom( parameters ) );
+        String entity = response.getEntity( String.class );
+        assertEquals( entity, 200, response.getStatus() );
+        return entity;
+    }
+
+    private static long nodeId( String character )
+    {
+        GraphDatabaseService db = helper.getDatabase();
+        return db.index().forNodes( "characters" ).get( "character", character ).getSingle().getId();
+    }
+
+    private static long count( Map<String, Object> counters, String counter )
+    {
+        return ((Number) counters.get( counter )).longValue();
+    }
+}